@@ -0,0 +1,241 @@
+package Collections.Graphs;
+
+import Collections.Lists.ArrayUnorderedList;
+
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * All pairs shortest path table computed with a cache blocked Floyd–Warshall algorithm.
+ * <p>
+ * Distances and next hops are kept in two flat row major arrays of V² entries. The matrix is split into square
+ * tiles and each round over a block of intermediate vertices runs in three phases: the diagonal tile, then the
+ * tiles sharing its row or column, then every other tile. The tiles of the last two phases are independent and
+ * run in parallel on a {@link ForkJoinPool}, each touching only three tiles that fit in cache. Building the
+ * table is O(V³); afterwards a distance is read in O(1) and a path in time proportional to its length.
+ * </p>
+ */
+public class AllPairsShortestPaths {
+
+    /**
+     * The side of the square tiles, chosen so that the three tiles of an update fit in the L1/L2 cache.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    private final int size;
+    private final int blockSize;
+    private final double[] distance;
+    private final int[] next;
+
+    /**
+     * Computes the table of the given network on the common pool.
+     *
+     * @param network the network, with non negative weights
+     */
+    public AllPairsShortestPaths(CSRNetwork<?> network) {
+        this(network, DEFAULT_BLOCK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the table of the given network.
+     *
+     * @param network   the network, with non negative weights
+     * @param blockSize the side of the tiles
+     * @param pool      the pool running the tiles
+     * @throws IllegalArgumentException if the block size is not positive
+     */
+    public AllPairsShortestPaths(CSRNetwork<?> network, int blockSize, ForkJoinPool pool)
+            throws IllegalArgumentException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive.");
+        }
+        int n = network.size();
+        this.size = n;
+        this.blockSize = blockSize;
+        this.distance = new double[n * n];
+        this.next = new int[n * n];
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                distance[i * n + j] = i == j ? 0 : Double.POSITIVE_INFINITY;
+                next[i * n + j] = i == j ? i : -1;
+            }
+            for (int e = network.edgeBegin(i); e < network.edgeEnd(i); e++) {
+                int j = network.edgeTarget(e);
+                if (network.edgeWeight(e) < distance[i * n + j]) {
+                    distance[i * n + j] = network.edgeWeight(e);
+                    next[i * n + j] = j;
+                }
+            }
+        }
+
+        if (n > 0) {
+            pool.invoke(new Rounds());
+        }
+    }
+
+    /**
+     * Returns the number of vertices covered by the table.
+     *
+     * @return the number of vertices
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the weight of the shortest path between two vertices.
+     *
+     * @param startIndex  the index of the starting vertex
+     * @param targetIndex the index of the target vertex
+     * @return the path weight, or {@code Double.POSITIVE_INFINITY} if there is no path
+     */
+    public double distance(int startIndex, int targetIndex) {
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return distance[startIndex * size + targetIndex];
+    }
+
+    /**
+     * Returns true if there is a path between two vertices.
+     *
+     * @param startIndex  the index of the starting vertex
+     * @param targetIndex the index of the target vertex
+     * @return true if the target can be reached from the start
+     */
+    public boolean hasPath(int startIndex, int targetIndex) {
+        return distance(startIndex, targetIndex) < Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the vertex that follows the start on a shortest path to the target.
+     *
+     * @param startIndex  the index of the starting vertex
+     * @param targetIndex the index of the target vertex
+     * @return the index of the next vertex, the start itself if both are equal, or -1 if there is no path
+     */
+    public int getNextHop(int startIndex, int targetIndex) {
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex)) {
+            return -1;
+        }
+        return next[startIndex * size + targetIndex];
+    }
+
+    /**
+     * Returns the indices of a shortest path between two vertices, start first.
+     * Like {@link Network#iteratorShortestPath(int, int)}, the path is empty when the target is the start.
+     *
+     * @param startIndex  the index of the starting vertex
+     * @param targetIndex the index of the target vertex
+     * @return an iterator over the indices of the path, empty if there is none
+     */
+    public Iterator<Integer> iteratorPathIndices(int startIndex, int targetIndex) {
+        ArrayUnorderedList<Integer> resultList = new ArrayUnorderedList<>();
+        if (!hasPath(startIndex, targetIndex) || startIndex == targetIndex) {
+            return resultList.iterator();
+        }
+
+        int index = startIndex;
+        resultList.addToRear(index);
+        while (index != targetIndex) {
+            index = next[index * size + targetIndex];
+            resultList.addToRear(index);
+        }
+        return resultList.iterator();
+    }
+
+    private boolean indexIsValid(int index) {
+        return index >= 0 && index < size;
+    }
+
+    /**
+     * Relaxes the tile of rows [rowBlock] and columns [columnBlock] through the intermediate vertices of
+     * [kBlock], where each block is given by its first index.
+     */
+    private void relaxTile(int kBlock, int rowBlock, int columnBlock) {
+        int n = size;
+        int kEnd = Math.min(kBlock + blockSize, n);
+        int rowEnd = Math.min(rowBlock + blockSize, n);
+        int columnEnd = Math.min(columnBlock + blockSize, n);
+
+        for (int k = kBlock; k < kEnd; k++) {
+            int kRow = k * n;
+            for (int i = rowBlock; i < rowEnd; i++) {
+                int iRow = i * n;
+                double throughK = distance[iRow + k];
+                if (throughK == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                int hop = next[iRow + k];
+                for (int j = columnBlock; j < columnEnd; j++) {
+                    double candidate = throughK + distance[kRow + j];
+                    if (candidate < distance[iRow + j]) {
+                        distance[iRow + j] = candidate;
+                        next[iRow + j] = hop;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the rounds of the algorithm, one per block of intermediate vertices.
+     */
+    private class Rounds extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void compute() {
+            int numBlocks = (size + blockSize - 1) / blockSize;
+
+            for (int kb = 0; kb < numBlocks; kb++) {
+                int k = kb * blockSize;
+                relaxTile(k, k, k);
+
+                Tile[] crossTiles = new Tile[2 * (numBlocks - 1)];
+                int count = 0;
+                for (int b = 0; b < numBlocks; b++) {
+                    if (b != kb) {
+                        crossTiles[count++] = new Tile(k, k, b * blockSize);
+                        crossTiles[count++] = new Tile(k, b * blockSize, k);
+                    }
+                }
+                invokeAll(crossTiles);
+
+                Tile[] otherTiles = new Tile[(numBlocks - 1) * (numBlocks - 1)];
+                count = 0;
+                for (int rb = 0; rb < numBlocks; rb++) {
+                    for (int cb = 0; cb < numBlocks; cb++) {
+                        if (rb != kb && cb != kb) {
+                            otherTiles[count++] = new Tile(k, rb * blockSize, cb * blockSize);
+                        }
+                    }
+                }
+                invokeAll(otherTiles);
+            }
+        }
+    }
+
+    /**
+     * Relaxes one tile.
+     */
+    private class Tile extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int kBlock;
+        private final int rowBlock;
+        private final int columnBlock;
+
+        Tile(int kBlock, int rowBlock, int columnBlock) {
+            this.kBlock = kBlock;
+            this.rowBlock = rowBlock;
+            this.columnBlock = columnBlock;
+        }
+
+        @Override
+        protected void compute() {
+            relaxTile(kBlock, rowBlock, columnBlock);
+        }
+    }
+}
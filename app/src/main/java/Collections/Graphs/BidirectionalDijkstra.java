@@ -0,0 +1,188 @@
+package Collections.Graphs;
+
+import Collections.Lists.ArrayUnorderedList;
+import Collections.Stacks.LinkedStack;
+import Collections.Trees.IndexedMinHeap;
+
+import java.util.Iterator;
+
+/**
+ * Bidirectional Dijkstra for point to point shortest paths.
+ * <p>
+ * A forward search grows from the start vertex and a backward search grows from the target over the reversed
+ * network, so directed networks are handled as well. The side with the lighter frontier is expanded each step.
+ * Whenever an edge joins both searches the weight of the path through it is recorded, and the search stops as
+ * soon as the two frontiers together weigh at least the best recorded path. Each side only settles the
+ * vertices around its endpoint, roughly half the radius a one sided search needs.
+ * </p>
+ */
+public class BidirectionalDijkstra {
+    private final CSRNetwork<?> forward;
+    private final CSRNetwork<?> backward;
+    private final double[] forwardDistance;
+    private final double[] backwardDistance;
+    private final int[] predecessor;
+    private final int[] successor;
+    private final boolean[] forwardSettled;
+    private final boolean[] backwardSettled;
+    private final IndexedMinHeap forwardHeap;
+    private final IndexedMinHeap backwardHeap;
+    private final int[] touched;
+    private int numTouched;
+    private int startIndex;
+    private int targetIndex;
+    private int meeting;
+    private double distance;
+
+    /**
+     * Prepares searches over the given network.
+     *
+     * @param network the network to search, with non negative weights
+     */
+    public BidirectionalDijkstra(CSRNetwork<?> network) {
+        int n = network.size();
+        this.forward = network;
+        this.backward = network.reverse();
+        this.forwardDistance = new double[n];
+        this.backwardDistance = new double[n];
+        this.predecessor = new int[n];
+        this.successor = new int[n];
+        this.forwardSettled = new boolean[n];
+        this.backwardSettled = new boolean[n];
+        this.forwardHeap = new IndexedMinHeap(n);
+        this.backwardHeap = new IndexedMinHeap(n);
+        this.touched = new int[n];
+        for (int i = 0; i < n; i++) {
+            forwardDistance[i] = Double.POSITIVE_INFINITY;
+            backwardDistance[i] = Double.POSITIVE_INFINITY;
+            predecessor[i] = -1;
+            successor[i] = -1;
+        }
+        this.meeting = -1;
+        this.distance = Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Searches for the shortest path between two vertices.
+     *
+     * @param startIndex  the index of the starting vertex
+     * @param targetIndex the index of the target vertex
+     * @return true if the target can be reached from the start
+     */
+    public boolean search(int startIndex, int targetIndex) {
+        reset();
+        this.startIndex = startIndex;
+        this.targetIndex = targetIndex;
+
+        touch(startIndex);
+        forwardDistance[startIndex] = 0;
+        touch(targetIndex);
+        backwardDistance[targetIndex] = 0;
+        forwardHeap.insert(startIndex, 0);
+        backwardHeap.insert(targetIndex, 0);
+        meeting = startIndex == targetIndex ? startIndex : -1;
+        distance = startIndex == targetIndex ? 0 : Double.POSITIVE_INFINITY;
+
+        while (!forwardHeap.isEmpty() && !backwardHeap.isEmpty()
+                && forwardHeap.findMinPriority() + backwardHeap.findMinPriority() < distance) {
+            if (forwardHeap.findMinPriority() <= backwardHeap.findMinPriority()) {
+                expand(forward, forwardHeap, forwardDistance, backwardDistance, predecessor, forwardSettled);
+            } else {
+                expand(backward, backwardHeap, backwardDistance, forwardDistance, successor, backwardSettled);
+            }
+        }
+        return meeting != -1;
+    }
+
+    /**
+     * Settles the lightest vertex of one side and relaxes its edges, recording the paths that join the other side.
+     */
+    private void expand(CSRNetwork<?> network, IndexedMinHeap heap, double[] ownDistance, double[] otherDistance,
+                        int[] parent, boolean[] settled) {
+        int index = heap.removeMin();
+        settled[index] = true;
+
+        for (int e = network.edgeBegin(index); e < network.edgeEnd(index); e++) {
+            int i = network.edgeTarget(e);
+            double candidate = ownDistance[index] + network.edgeWeight(e);
+            if (!settled[i] && candidate < ownDistance[i]) {
+                touch(i);
+                ownDistance[i] = candidate;
+                parent[i] = index;
+                heap.insertOrDecrease(i, candidate);
+            }
+            if (ownDistance[i] + otherDistance[i] < distance) {
+                distance = ownDistance[i] + otherDistance[i];
+                meeting = i;
+            }
+        }
+    }
+
+    /**
+     * Restores the vertices reached by the previous search, so a search costs time proportional to the part of
+     * the network it explores rather than to the whole network.
+     */
+    private void reset() {
+        for (int k = 0; k < numTouched; k++) {
+            int i = touched[k];
+            forwardDistance[i] = Double.POSITIVE_INFINITY;
+            backwardDistance[i] = Double.POSITIVE_INFINITY;
+            predecessor[i] = -1;
+            successor[i] = -1;
+            forwardSettled[i] = false;
+            backwardSettled[i] = false;
+        }
+        numTouched = 0;
+        forwardHeap.clear();
+        backwardHeap.clear();
+    }
+
+    /**
+     * Records a vertex the first time the current search reaches it from either side.
+     */
+    private void touch(int index) {
+        if (forwardDistance[index] == Double.POSITIVE_INFINITY && backwardDistance[index] == Double.POSITIVE_INFINITY) {
+            touched[numTouched++] = index;
+        }
+    }
+
+    /**
+     * Returns the weight of the shortest path found by the last search.
+     *
+     * @return the path weight, or {@code Double.POSITIVE_INFINITY} if there is no path
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    /**
+     * Returns the indices of the shortest path found by the last search, start first.
+     * Like {@link Network#iteratorShortestPath(int, int)}, the path is empty when the target is the start.
+     *
+     * @return an iterator over the indices of the path, empty if there is none
+     */
+    public Iterator<Integer> iteratorPathIndices() {
+        ArrayUnorderedList<Integer> resultList = new ArrayUnorderedList<>();
+        if (meeting == -1 || startIndex == targetIndex) {
+            return resultList.iterator();
+        }
+
+        LinkedStack<Integer> stack = new LinkedStack<>();
+        int index = meeting;
+        stack.push(index);
+        while (index != startIndex) {
+            index = predecessor[index];
+            stack.push(index);
+        }
+        while (!stack.isEmpty()) {
+            resultList.addToRear(stack.pop());
+        }
+
+        index = meeting;
+        while (index != targetIndex) {
+            index = successor[index];
+            resultList.addToRear(index);
+        }
+        return resultList.iterator();
+    }
+}
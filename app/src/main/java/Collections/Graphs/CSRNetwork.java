@@ -0,0 +1,1091 @@
+package Collections.Graphs;
+
+import Collections.Lists.ArrayUnorderedList;
+import Collections.Stacks.LinkedStack;
+import Collections.Trees.IndexedMinHeap;
+
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+/**
+ * A network stored in compressed sparse row (CSR) form.
+ * <p>
+ * The outgoing edges of vertex {@code v} are kept contiguously in {@code targets} and {@code weights}
+ * between {@code offsets[v]} (inclusive) and {@code offsets[v + 1]} (exclusive). Memory is O(V + E) instead
+ * of the O(V²) of the adjacency matrix used by {@link Network}, and every traversal only visits the edges
+ * that actually exist, so BFS and DFS cost O(V + E).
+ * </p>
+ * <p>
+ * The representation is tuned for read-mostly graphs such as game maps: edge insertions and removals are
+ * supported but shift the edge arrays, so bulk construction should go through
+ * {@link #CSRNetwork(Network)} or {@link #CSRNetwork(Object[], int[], int[], double[])}.
+ * </p>
+ *
+ * @param <T> the generic type of data in the network
+ */
+public class CSRNetwork<T> implements NetworkADT<T> {
+    protected final int DEFAULT_CAPACITY = 10;
+    protected int numVertices;
+    protected int numEdges;
+    protected T[] vertices;
+    protected int[] offsets;
+    protected int[] targets;
+    protected double[] weights;
+    private int weightBound = UNKNOWN_WEIGHT_BOUND;
+    private CSRNetwork<T> reversed;
+    private BidirectionalDijkstra bidirectionalSearch;
+    private SplittableRandom random;
+
+    private static final int UNKNOWN_WEIGHT_BOUND = -2;
+    private static final int GENERAL_WEIGHTS = -1;
+
+    /**
+     * Creates an empty network.
+     */
+    public CSRNetwork() {
+        this.numVertices = 0;
+        this.numEdges = 0;
+        this.vertices = newArray(DEFAULT_CAPACITY);
+        this.offsets = new int[DEFAULT_CAPACITY + 1];
+        this.targets = new int[DEFAULT_CAPACITY];
+        this.weights = new double[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Creates a compressed copy of an adjacency matrix network. Vertex indices are preserved.
+     *
+     * @param network the network to compress
+     */
+    public CSRNetwork(Network<T> network) {
+        if (network.adjMatrix.isSymmetric()) {
+            initSymmetric(network);
+            return;
+        }
+        int n = network.numVertices;
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (network.adjMatrix.hasEdge(i, j)) {
+                    count++;
+                }
+            }
+        }
+
+        allocate(n, count);
+        int e = 0;
+        for (int i = 0; i < n; i++) {
+            this.vertices[i] = network.vertices[i];
+            this.offsets[i] = e;
+            for (int j = 0; j < n; j++) {
+                if (network.adjMatrix.hasEdge(i, j)) {
+                    this.targets[e] = j;
+                    this.weights[e] = network.adjMatrix.get(i, j);
+                    e++;
+                }
+            }
+        }
+        this.offsets[n] = e;
+    }
+
+    /**
+     * Compresses a network whose matrix keeps one triangle, reading each stored cell once, in order, and adding
+     * it to both rows. Every row still lists its targets in increasing order.
+     */
+    private void initSymmetric(Network<T> network) {
+        WeightMatrix matrix = network.adjMatrix;
+        int n = network.numVertices;
+        int[] degree = new int[n + 1];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                if (matrix.hasEdge(i, j)) {
+                    degree[i]++;
+                    degree[j]++;
+                    count += 2;
+                }
+            }
+            if (matrix.hasEdge(i, i)) {
+                degree[i]++;
+                count++;
+            }
+        }
+
+        allocate(n, count);
+        int[] next = new int[n];
+        int e = 0;
+        for (int i = 0; i < n; i++) {
+            this.vertices[i] = network.vertices[i];
+            this.offsets[i] = e;
+            next[i] = e;
+            e += degree[i];
+        }
+        this.offsets[n] = e;
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                if (matrix.hasEdge(i, j)) {
+                    double weight = matrix.get(i, j);
+                    this.targets[next[i]] = j;
+                    this.weights[next[i]++] = weight;
+                    if (j != i) {
+                        this.targets[next[j]] = i;
+                        this.weights[next[j]++] = weight;
+                    }
+                }
+            }
+        }
+    }
+
+    private void allocate(int n, int count) {
+        this.numVertices = n;
+        this.numEdges = count;
+        this.vertices = newArray(Math.max(n, 1));
+        this.offsets = new int[Math.max(n, 1) + 1];
+        this.targets = new int[Math.max(count, 1)];
+        this.weights = new double[Math.max(count, 1)];
+    }
+
+    /**
+     * Creates a network from an edge list in O(V + E) using a counting sort on the edge sources.
+     * Edges keep their relative order inside each row. The edge list must not contain duplicates.
+     *
+     * @param vertices    the vertex values, indexed by vertex index
+     * @param edgeSources the source index of each edge
+     * @param edgeTargets the target index of each edge
+     * @param edgeWeights the weight of each edge
+     * @throws IllegalArgumentException if the edge arrays have different lengths or reference invalid vertices
+     */
+    public CSRNetwork(T[] vertices, int[] edgeSources, int[] edgeTargets, double[] edgeWeights) throws IllegalArgumentException {
+        if (edgeSources.length != edgeTargets.length || edgeSources.length != edgeWeights.length) {
+            throw new IllegalArgumentException("Edge arrays must have the same length.");
+        }
+        int n = vertices.length;
+        int m = edgeSources.length;
+
+        this.numVertices = n;
+        this.numEdges = m;
+        this.vertices = newArray(Math.max(n, 1));
+        this.offsets = new int[Math.max(n, 1) + 1];
+        this.targets = new int[Math.max(m, 1)];
+        this.weights = new double[Math.max(m, 1)];
+
+        for (int i = 0; i < n; i++) {
+            this.vertices[i] = vertices[i];
+        }
+        for (int e = 0; e < m; e++) {
+            if (edgeSources[e] < 0 || edgeSources[e] >= n || edgeTargets[e] < 0 || edgeTargets[e] >= n) {
+                throw new IllegalArgumentException("Edge " + e + " references an invalid vertex.");
+            }
+            this.offsets[edgeSources[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            this.offsets[i + 1] += this.offsets[i];
+        }
+
+        int[] next = new int[Math.max(n, 1)];
+        for (int i = 0; i < n; i++) {
+            next[i] = this.offsets[i];
+        }
+        for (int e = 0; e < m; e++) {
+            int position = next[edgeSources[e]]++;
+            this.targets[position] = edgeTargets[e];
+            this.weights[position] = edgeWeights[e];
+        }
+    }
+
+    //Read access to the compressed rows
+
+    /**
+     * Returns the position of the first outgoing edge of the given vertex.
+     *
+     * @param index the vertex index
+     * @return the first edge position of the vertex
+     */
+    public int edgeBegin(int index) {
+        return offsets[index];
+    }
+
+    /**
+     * Returns the position after the last outgoing edge of the given vertex.
+     *
+     * @param index the vertex index
+     * @return the end edge position of the vertex
+     */
+    public int edgeEnd(int index) {
+        return offsets[index + 1];
+    }
+
+    /**
+     * Returns the target vertex of the edge at the given position.
+     *
+     * @param edge the edge position
+     * @return the target vertex index
+     */
+    public int edgeTarget(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the weight of the edge at the given position.
+     *
+     * @param edge the edge position
+     * @return the edge weight
+     */
+    public double edgeWeight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Returns the number of outgoing edges of the given vertex.
+     *
+     * @param index the vertex index
+     * @return the out degree of the vertex
+     */
+    public int outDegree(int index) {
+        return edgeEnd(index) - edgeBegin(index);
+    }
+
+    /**
+     * Returns the number of directed edges in this network.
+     *
+     * @return the number of edges
+     */
+    public int numEdges() {
+        return numEdges;
+    }
+
+    /**
+     * Returns the largest edge weight when every weight is an integer between 0 and
+     * {@link DialShortestPath#MAX_WEIGHT}. The edges are scanned once and the result is kept until the next
+     * modification.
+     *
+     * @return the largest edge weight, or -1 if some weight is fractional, negative or too large
+     */
+    public int getIntegerWeightBound() {
+        if (weightBound == UNKNOWN_WEIGHT_BOUND) {
+            int bound = 0;
+            for (int e = 0; e < numEdges && bound != GENERAL_WEIGHTS; e++) {
+                double weight = edgeWeight(e);
+                if (weight < 0 || weight > DialShortestPath.MAX_WEIGHT || weight != Math.rint(weight)) {
+                    bound = GENERAL_WEIGHTS;
+                } else if (weight > bound) {
+                    bound = (int) weight;
+                }
+            }
+            weightBound = bound;
+        }
+        return weightBound;
+    }
+
+    /**
+     * Returns true if shortest paths in this network can be found with {@link DialShortestPath}.
+     *
+     * @return true if every edge weight is a small non negative integer
+     */
+    public boolean hasSmallIntegerWeights() {
+        return getIntegerWeightBound() != GENERAL_WEIGHTS;
+    }
+
+    /**
+     * Returns the network with every edge reversed, built in O(V + E) and kept until the next modification.
+     * The vertices and their indices are shared, so a search from a vertex of the reversed network finds the
+     * paths that lead to it in this one. The reversed network must not be modified.
+     *
+     * @return the transposed network
+     */
+    public CSRNetwork<T> reverse() {
+        if (reversed == null) {
+            reversed = buildReverse();
+        }
+        return reversed;
+    }
+
+    private CSRNetwork<T> buildReverse() {
+        int[] edgeSources = new int[numEdges];
+        int[] edgeTargets = new int[numEdges];
+        double[] edgeWeights = new double[numEdges];
+
+        for (int i = 0; i < numVertices; i++) {
+            for (int e = edgeBegin(i); e < edgeEnd(i); e++) {
+                edgeSources[e] = edgeTarget(e);
+                edgeTargets[e] = i;
+                edgeWeights[e] = edgeWeight(e);
+            }
+        }
+        return new CSRNetwork<>(getVertices(), edgeSources, edgeTargets, edgeWeights);
+    }
+
+    /**
+     * Returns the weight of the edge between two vertices.
+     *
+     * @param index1 the source vertex index
+     * @param index2 the target vertex index
+     * @return the weight of the edge, or {@code Double.POSITIVE_INFINITY} if there is none
+     */
+    public double getEdgeWeight(int index1, int index2) {
+        if (indexIsValid(index1) && indexIsValid(index2)) {
+            for (int e = edgeBegin(index1); e < edgeEnd(index1); e++) {
+                if (edgeTarget(e) == index2) {
+                    return edgeWeight(e);
+                }
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the vertex stored at the given index.
+     *
+     * @param index the vertex index
+     * @return the vertex, or null if the index is not valid
+     */
+    public T getVertex(int index) {
+        if (!indexIsValid(index)) {
+            return null;
+        }
+        return vertices[index];
+    }
+
+    public T[] getVertices() {
+        T[] result = newArray(numVertices);
+        for (int i = 0; i < numVertices; i++) {
+            result[i] = vertices[i];
+        }
+        return result;
+    }
+
+    /**
+     * Creates an array of vertices. A generic array cannot be created, so this is an {@code Object[]} seen as
+     * {@code T[]}, like the vertex arrays of {@link Graph} and {@link Network}; it only ever holds values of type T.
+     *
+     * @param length the length of the array
+     * @param <T>    the type of the vertices
+     * @return the new array
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T[] newArray(int length) {
+        return (T[]) new Object[length];
+    }
+
+    public int getIndex(T vertex) {
+        for (int i = 0; i < numVertices; i++) {
+            if (vertices[i].equals(vertex)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean indexIsValid(int index) {
+        return ((index < numVertices) && (index >= 0));
+    }
+
+    //Mutation
+
+    @Override
+    public void addVertex(T vertex) {
+        if (numVertices == vertices.length) {
+            expandVertexCapacity();
+        }
+        vertices[numVertices] = vertex;
+        offsets[numVertices + 1] = offsets[numVertices];
+        numVertices++;
+        modified();
+    }
+
+    @Override
+    public void removeVertex(T vertex) {
+        removeVertex(getIndex(vertex));
+    }
+
+    /**
+     * Removes the vertex at the given index together with all edges touching it.
+     * Indices of the following vertices are shifted down by one, like in {@link Network}.
+     *
+     * @param index the index of the vertex to remove
+     */
+    public void removeVertex(int index) {
+        if (!indexIsValid(index)) {
+            return;
+        }
+        int e = 0;
+        int row = 0;
+        for (int i = 0; i < numVertices; i++) {
+            int begin = offsets[i];
+            int end = offsets[i + 1];
+            if (i == index) {
+                continue;
+            }
+            offsets[row] = e;
+            for (int k = begin; k < end; k++) {
+                int target = targets[k];
+                if (target != index) {
+                    targets[e] = (target > index) ? target - 1 : target;
+                    weights[e] = weights[k];
+                    e++;
+                }
+            }
+            vertices[row] = vertices[i];
+            row++;
+        }
+        offsets[row] = e;
+        vertices[row] = null;
+        numVertices--;
+        numEdges = e;
+        modified();
+    }
+
+    @Override
+    public void addEdge(T vertex1, T vertex2) {
+        addEdge(getIndex(vertex1), getIndex(vertex2), 0);
+    }
+
+    @Override
+    public void addEdge(T vertex1, T vertex2, double weight) {
+        addEdge(getIndex(vertex1), getIndex(vertex2), weight);
+    }
+
+    /**
+     * Inserts a directed edge, or updates its weight if it already exists.
+     *
+     * @param index1 the source vertex index
+     * @param index2 the target vertex index
+     * @param weight the weight of the edge
+     */
+    public void addEdge(int index1, int index2, double weight) {
+        if (!indexIsValid(index1) || !indexIsValid(index2)) {
+            return;
+        }
+        modified();
+        for (int e = offsets[index1]; e < offsets[index1 + 1]; e++) {
+            if (targets[e] == index2) {
+                weights[e] = weight;
+                return;
+            }
+        }
+        if (numEdges == targets.length) {
+            expandEdgeCapacity();
+        }
+        int position = offsets[index1 + 1];
+        for (int e = numEdges; e > position; e--) {
+            targets[e] = targets[e - 1];
+            weights[e] = weights[e - 1];
+        }
+        targets[position] = index2;
+        weights[position] = weight;
+        for (int i = index1 + 1; i <= numVertices; i++) {
+            offsets[i]++;
+        }
+        numEdges++;
+    }
+
+    @Override
+    public void removeEdge(T vertex1, T vertex2) {
+        removeEdge(getIndex(vertex1), getIndex(vertex2));
+    }
+
+    /**
+     * Removes the edges between two vertices in both directions, matching {@link Network#removeEdge(int, int)}.
+     *
+     * @param index1 the first vertex index
+     * @param index2 the second vertex index
+     */
+    public void removeEdge(int index1, int index2) {
+        if (indexIsValid(index1) && indexIsValid(index2)) {
+            removeDirectedEdge(index1, index2);
+            removeDirectedEdge(index2, index1);
+        }
+    }
+
+    private void removeDirectedEdge(int index1, int index2) {
+        for (int e = offsets[index1]; e < offsets[index1 + 1]; e++) {
+            if (targets[e] == index2) {
+                for (int k = e; k < numEdges - 1; k++) {
+                    targets[k] = targets[k + 1];
+                    weights[k] = weights[k + 1];
+                }
+                for (int i = index1 + 1; i <= numVertices; i++) {
+                    offsets[i]--;
+                }
+                numEdges--;
+                modified();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops the results derived from the edges, which are recomputed on demand.
+     */
+    private void modified() {
+        weightBound = UNKNOWN_WEIGHT_BOUND;
+        reversed = null;
+        bidirectionalSearch = null;
+    }
+
+    private void expandVertexCapacity() {
+        T[] largerVertices = newArray(vertices.length * 2);
+        int[] largerOffsets = new int[vertices.length * 2 + 1];
+        for (int i = 0; i < numVertices; i++) {
+            largerVertices[i] = vertices[i];
+        }
+        for (int i = 0; i <= numVertices; i++) {
+            largerOffsets[i] = offsets[i];
+        }
+        vertices = largerVertices;
+        offsets = largerOffsets;
+    }
+
+    private void expandEdgeCapacity() {
+        int[] largerTargets = new int[targets.length * 2];
+        double[] largerWeights = new double[weights.length * 2];
+        for (int e = 0; e < numEdges; e++) {
+            largerTargets[e] = targets[e];
+            largerWeights[e] = weights[e];
+        }
+        targets = largerTargets;
+        weights = largerWeights;
+    }
+
+    //Traversals
+
+    @Override
+    public Iterator<T> iteratorBFS(T startVertex) {
+        return iteratorBFS(getIndex(startVertex));
+    }
+
+    public Iterator<T> iteratorBFS(int startIndex) {
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+        if (!indexIsValid(startIndex)) {
+            return resultList.iterator();
+        }
+
+        int[] queue = new int[numVertices];
+        int head = 0;
+        int tail = 0;
+        boolean[] visited = new boolean[numVertices];
+
+        queue[tail++] = startIndex;
+        visited[startIndex] = true;
+
+        while (head < tail) {
+            int x = queue[head++];
+            resultList.addToRear(getVertex(x));
+
+            for (int e = edgeBegin(x); e < edgeEnd(x); e++) {
+                int i = edgeTarget(e);
+                if (!visited[i]) {
+                    queue[tail++] = i;
+                    visited[i] = true;
+                }
+            }
+        }
+        return resultList.iterator();
+    }
+
+    @Override
+    public Iterator<T> iteratorDFS(T startVertex) {
+        return iteratorDFS(getIndex(startVertex));
+    }
+
+    public Iterator<T> iteratorDFS(int startIndex) {
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+        if (!indexIsValid(startIndex)) {
+            return resultList.iterator();
+        }
+
+        int[] stack = new int[numVertices];
+        int[] nextEdge = new int[numVertices];
+        int top = 0;
+        boolean[] visited = new boolean[numVertices];
+
+        stack[top++] = startIndex;
+        nextEdge[startIndex] = edgeBegin(startIndex);
+        resultList.addToRear(getVertex(startIndex));
+        visited[startIndex] = true;
+
+        while (top > 0) {
+            int x = stack[top - 1];
+            boolean found = false;
+
+            //Resume the scan of x where it stopped last time, so each edge is looked at once
+            while (nextEdge[x] < edgeEnd(x) && !found) {
+                int i = edgeTarget(nextEdge[x]++);
+                if (!visited[i]) {
+                    stack[top++] = i;
+                    nextEdge[i] = edgeBegin(i);
+                    resultList.addToRear(getVertex(i));
+                    visited[i] = true;
+                    found = true;
+                }
+            }
+            if (!found) {
+                top--;
+            }
+        }
+        return resultList.iterator();
+    }
+
+    @Override
+    public Iterator<T> iteratorShortestPath(T startVertex, T targetVertex) {
+        return iteratorShortestPath(getIndex(startVertex), getIndex(targetVertex));
+    }
+
+    public Iterator<T> iteratorShortestPath(int startIndex, int targetIndex) {
+        return toVertices(iteratorShortestPathIndices(startIndex, targetIndex));
+    }
+
+    /**
+     * Finds the shortest path between two vertices. When every weight is a small integer the search uses the
+     * bucket queue of {@link DialShortestPath}, otherwise a {@link BidirectionalDijkstra} that meets in the middle.
+     *
+     * @param startIndex  the index of the starting vertex
+     * @param targetIndex the index of the target vertex
+     * @return an iterator over the indices of the shortest path, empty if there is none
+     */
+    protected Iterator<Integer> iteratorShortestPathIndices(int startIndex, int targetIndex) {
+        ArrayUnorderedList<Integer> resultList = new ArrayUnorderedList<>();
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex) || (startIndex == targetIndex)) {
+            return resultList.iterator();
+        }
+        if (hasSmallIntegerWeights()) {
+            return iteratorBucketShortestPathIndices(startIndex, targetIndex);
+        }
+        return iteratorBidirectionalShortestPathIndices(startIndex, targetIndex);
+    }
+
+    private Iterator<Integer> iteratorBucketShortestPathIndices(int startIndex, int targetIndex) {
+        DialShortestPath search = new DialShortestPath(this, getIntegerWeightBound());
+        boolean reached = search.search(startIndex, targetIndex);
+        return buildPath(search.predecessors(), startIndex, targetIndex, reached);
+    }
+
+    /**
+     * Finds the shortest path between two distinct valid vertices when the weights are not small integers. The
+     * search meets in the middle over this network and its {@link #reverse() reverse}; a network that cannot be
+     * reversed overrides this with {@link #iteratorHeapShortestPathIndices(int, int)}.
+     *
+     * @param startIndex  the index of the starting vertex
+     * @param targetIndex the index of the target vertex
+     * @return an iterator over the indices of the shortest path, empty if there is none
+     */
+    protected Iterator<Integer> iteratorBidirectionalShortestPathIndices(int startIndex, int targetIndex) {
+        if (bidirectionalSearch == null) {
+            bidirectionalSearch = new BidirectionalDijkstra(this);
+        }
+        bidirectionalSearch.search(startIndex, targetIndex);
+        return bidirectionalSearch.iteratorPathIndices();
+    }
+
+    /**
+     * Finds the shortest path between two vertices with a one sided search over an indexed heap, which only
+     * follows the edges out of each vertex.
+     *
+     * @param startIndex  the index of the starting vertex
+     * @param targetIndex the index of the target vertex
+     * @return an iterator over the indices of the shortest path, empty if there is none
+     */
+    protected Iterator<Integer> iteratorHeapShortestPathIndices(int startIndex, int targetIndex) {
+        int[] predecessor = new int[numVertices];
+        double[] pathWeight = new double[numVertices];
+        boolean reached = heapSearch(startIndex, targetIndex, predecessor, pathWeight);
+        return buildPath(predecessor, startIndex, targetIndex, reached);
+    }
+
+    /**
+     * Dijkstra's algorithm with an {@link IndexedMinHeap}, stopping once the target is settled.
+     * A target of -1 settles every reachable vertex.
+     *
+     * @return true if the target was reached (always true when the target is -1)
+     */
+    private boolean heapSearch(int startIndex, int targetIndex, int[] predecessor, double[] pathWeight) {
+        boolean[] visited = new boolean[numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            pathWeight[i] = Double.POSITIVE_INFINITY;
+            predecessor[i] = -1;
+        }
+
+        IndexedMinHeap heap = new IndexedMinHeap(numVertices);
+        pathWeight[startIndex] = 0;
+        heap.insert(startIndex, 0);
+
+        while (!heap.isEmpty()) {
+            int index = heap.removeMin();
+            visited[index] = true;
+            if (index == targetIndex) {
+                return true;
+            }
+
+            for (int e = edgeBegin(index); e < edgeEnd(index); e++) {
+                int i = edgeTarget(e);
+                double candidate = pathWeight[index] + edgeWeight(e);
+                if (!visited[i] && candidate < pathWeight[i]) {
+                    pathWeight[i] = candidate;
+                    predecessor[i] = index;
+                    heap.insertOrDecrease(i, candidate);
+                }
+            }
+        }
+        return targetIndex == -1;
+    }
+
+    /**
+     * Computes the shortest paths from one vertex to every other vertex, with the bucket queue when the weights
+     * allow it and with the indexed heap otherwise.
+     *
+     * @param startIndex the index of the source vertex
+     * @return the shortest path tree rooted at the source
+     * @throws IllegalArgumentException if the index is not valid
+     */
+    public ShortestPathTree shortestPathTree(int startIndex) throws IllegalArgumentException {
+        if (!indexIsValid(startIndex)) {
+            throw new IllegalArgumentException("Invalid start index " + startIndex + ".");
+        }
+        double[] pathWeight = new double[numVertices];
+
+        if (hasSmallIntegerWeights()) {
+            DialShortestPath search = new DialShortestPath(this, getIntegerWeightBound());
+            search.search(startIndex, -1);
+            for (int i = 0; i < numVertices; i++) {
+                int distance = search.getDistance(i);
+                pathWeight[i] = (distance == DialShortestPath.UNREACHABLE) ? Double.POSITIVE_INFINITY : distance;
+            }
+            return new ShortestPathTree(startIndex, search.predecessors(), pathWeight);
+        }
+
+        int[] predecessor = new int[numVertices];
+        heapSearch(startIndex, -1, predecessor, pathWeight);
+        return new ShortestPathTree(startIndex, predecessor, pathWeight);
+    }
+
+    @Override
+    public double shortestPathWeight(T startVertex, T targetVertex) {
+        return shortestPathWeight(getIndex(startVertex), getIndex(targetVertex));
+    }
+
+    public double shortestPathWeight(int startIndex, int targetIndex) {
+        return pathWeight(iteratorShortestPathIndices(startIndex, targetIndex));
+    }
+
+    public Iterator<T> iteratorAStarPath(T startVertex, T targetVertex, Heuristic heuristic) {
+        return iteratorAStarPath(getIndex(startVertex), getIndex(targetVertex), heuristic);
+    }
+
+    public Iterator<T> iteratorAStarPath(int startIndex, int targetIndex, Heuristic heuristic) {
+        return toVertices(iteratorAStarPathIndices(startIndex, targetIndex, heuristic));
+    }
+
+    /**
+     * A* search: vertices are expanded in order of their path weight plus the heuristic estimate to the target,
+     * so the search is steered towards the target and settles fewer vertices than Dijkstra. A vertex whose path
+     * weight improves after being expanded is queued again, which keeps the result exact for heuristics that
+     * are admissible but not consistent.
+     *
+     * @param startIndex  the index of the starting vertex
+     * @param targetIndex the index of the target vertex
+     * @param heuristic   an admissible estimate of the remaining path weight
+     * @return an iterator over the indices of the shortest path, empty if there is none
+     */
+    protected Iterator<Integer> iteratorAStarPathIndices(int startIndex, int targetIndex, Heuristic heuristic) {
+        ArrayUnorderedList<Integer> resultList = new ArrayUnorderedList<>();
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex) || (startIndex == targetIndex)) {
+            return resultList.iterator();
+        }
+
+        int[] predecessor = new int[numVertices];
+        double[] pathWeight = new double[numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            pathWeight[i] = Double.POSITIVE_INFINITY;
+            predecessor[i] = -1;
+        }
+
+        IndexedMinHeap heap = new IndexedMinHeap(numVertices);
+        boolean reached = false;
+        pathWeight[startIndex] = 0;
+        heap.insert(startIndex, heuristic.estimate(startIndex, targetIndex));
+
+        while (!heap.isEmpty() && !reached) {
+            int index = heap.removeMin();
+            if (index == targetIndex) {
+                reached = true;
+            } else {
+                for (int e = edgeBegin(index); e < edgeEnd(index); e++) {
+                    int i = edgeTarget(e);
+                    double candidate = pathWeight[index] + edgeWeight(e);
+                    if (candidate < pathWeight[i]) {
+                        pathWeight[i] = candidate;
+                        predecessor[i] = index;
+                        heap.insertOrDecrease(i, candidate + heuristic.estimate(i, targetIndex));
+                    }
+                }
+            }
+        }
+
+        return buildPath(predecessor, startIndex, targetIndex, reached);
+    }
+
+    public Iterator<T> iteratorLongestPath(T startVertex, T targetVertex) {
+        return iteratorLongestPath(getIndex(startVertex), getIndex(targetVertex));
+    }
+
+    public Iterator<T> iteratorLongestPath(int startIndex, int targetIndex) {
+        return toVertices(iteratorLongestPathIndices(startIndex, targetIndex));
+    }
+
+    /**
+     * Greedy longest path: the same label setting strategy as {@link Network#iteratorLongestPath(int, int)},
+     * always expanding the reached vertex with the heaviest path so far.
+     *
+     * @param startIndex  the index of the starting vertex
+     * @param targetIndex the index of the target vertex
+     * @return an iterator over the indices of the path, empty if there is none
+     */
+    protected Iterator<Integer> iteratorLongestPathIndices(int startIndex, int targetIndex) {
+        ArrayUnorderedList<Integer> resultList = new ArrayUnorderedList<>();
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex) || (startIndex == targetIndex)) {
+            return resultList.iterator();
+        }
+
+        int[] predecessor = new int[numVertices];
+        double[] pathWeight = new double[numVertices];
+        boolean[] visited = new boolean[numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            pathWeight[i] = Double.NEGATIVE_INFINITY;
+            predecessor[i] = -1;
+        }
+
+        //Handles are keyed by the negated weight so the min heap yields the heaviest path first
+        IndexedMinHeap heap = new IndexedMinHeap(numVertices);
+        pathWeight[startIndex] = 0;
+        heap.insert(startIndex, 0);
+
+        while (!heap.isEmpty() && !visited[targetIndex]) {
+            int index = heap.removeMin();
+            visited[index] = true;
+
+            for (int e = edgeBegin(index); e < edgeEnd(index); e++) {
+                int i = edgeTarget(e);
+                double candidate = pathWeight[index] + edgeWeight(e);
+                if (!visited[i] && candidate > pathWeight[i]) {
+                    pathWeight[i] = candidate;
+                    predecessor[i] = index;
+                    heap.insertOrDecrease(i, -candidate);
+                }
+            }
+        }
+
+        return buildPath(predecessor, startIndex, targetIndex, visited[targetIndex]);
+    }
+
+    /**
+     * Returns the random generator of the random paths, created with a random seed on first use unless one was
+     * set.
+     *
+     * @return the random generator of this network
+     */
+    public SplittableRandom getRandom() {
+        if (random == null) {
+            random = new SplittableRandom();
+        }
+        return random;
+    }
+
+    /**
+     * Sets the random generator of the random paths. The paths are then the same for the same seed.
+     *
+     * @param random the random generator
+     * @throws IllegalArgumentException if the random generator is null
+     */
+    public void setRandom(SplittableRandom random) throws IllegalArgumentException {
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator cannot be null.");
+        }
+        this.random = random;
+    }
+
+    public Iterator<T> iteratorRandomPath(T startVertex, T targetVertex) {
+        return iteratorRandomPath(getIndex(startVertex), getIndex(targetVertex));
+    }
+
+    public Iterator<T> iteratorRandomPath(int startIndex, int targetIndex) {
+        return toVertices(iteratorRandomPathIndices(startIndex, targetIndex));
+    }
+
+    /**
+     * Returns a random path between two vertices drawn from the given random generator instead of the one of this
+     * network, so several users of a shared network each keep their own sequence of paths.
+     *
+     * @param startIndex  the index of the starting vertex
+     * @param targetIndex the index of the target vertex
+     * @param random      the random generator of the path
+     * @return an iterator over the vertices of the path, empty if there is none
+     */
+    public Iterator<T> iteratorRandomPath(int startIndex, int targetIndex, SplittableRandom random) {
+        return toVertices(iteratorRandomPathIndices(startIndex, targetIndex, random));
+    }
+
+    /**
+     * Random path: like {@link Network#iteratorRandomPath(int, int)}, the next vertex to settle is drawn at
+     * random among the reached but unvisited vertices. The frontier is kept in an array with O(1) removal.
+     *
+     * @param startIndex  the index of the starting vertex
+     * @param targetIndex the index of the target vertex
+     * @return an iterator over the indices of the path, empty if there is none
+     */
+    protected Iterator<Integer> iteratorRandomPathIndices(int startIndex, int targetIndex) {
+        return iteratorRandomPathIndices(startIndex, targetIndex, getRandom());
+    }
+
+    private Iterator<Integer> iteratorRandomPathIndices(int startIndex, int targetIndex, SplittableRandom random) {
+        ArrayUnorderedList<Integer> resultList = new ArrayUnorderedList<>();
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex) || (startIndex == targetIndex)) {
+            return resultList.iterator();
+        }
+
+        int[] predecessor = new int[numVertices];
+        double[] pathWeight = new double[numVertices];
+        boolean[] visited = new boolean[numVertices];
+        int[] frontier = new int[numVertices];
+        int[] frontierPosition = new int[numVertices];
+        int frontierSize = 0;
+        for (int i = 0; i < numVertices; i++) {
+            pathWeight[i] = Double.POSITIVE_INFINITY;
+            predecessor[i] = -1;
+            frontierPosition[i] = -1;
+        }
+
+        pathWeight[startIndex] = 0;
+        frontier[frontierSize] = startIndex;
+        frontierPosition[startIndex] = frontierSize++;
+
+        while (frontierSize > 0 && !visited[targetIndex]) {
+            int index = frontier[random.nextInt(frontierSize)];
+
+            //Swap the chosen vertex with the last one of the frontier and drop it
+            int last = frontier[--frontierSize];
+            frontier[frontierPosition[index]] = last;
+            frontierPosition[last] = frontierPosition[index];
+            frontierPosition[index] = -1;
+            visited[index] = true;
+
+            for (int e = edgeBegin(index); e < edgeEnd(index); e++) {
+                int i = edgeTarget(e);
+                double candidate = pathWeight[index] + edgeWeight(e);
+                if (!visited[i] && candidate < pathWeight[i]) {
+                    pathWeight[i] = candidate;
+                    predecessor[i] = index;
+                    if (frontierPosition[i] == -1) {
+                        frontier[frontierSize] = i;
+                        frontierPosition[i] = frontierSize++;
+                    }
+                }
+            }
+        }
+
+        return buildPath(predecessor, startIndex, targetIndex, visited[targetIndex]);
+    }
+
+    //Others functions
+
+    private Iterator<Integer> buildPath(int[] predecessor, int startIndex, int targetIndex, boolean reached) {
+        ArrayUnorderedList<Integer> resultList = new ArrayUnorderedList<>();
+        if (!reached) {
+            return resultList.iterator();
+        }
+
+        LinkedStack<Integer> stack = new LinkedStack<>();
+        int index = targetIndex;
+        stack.push(index);
+        do {
+            index = predecessor[index];
+            stack.push(index);
+        } while (index != startIndex);
+
+        while (!stack.isEmpty()) {
+            resultList.addToRear(stack.pop());
+        }
+        return resultList.iterator();
+    }
+
+    private Iterator<T> toVertices(Iterator<Integer> indices) {
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+        while (indices.hasNext()) {
+            resultList.addToRear(getVertex(indices.next()));
+        }
+        return resultList.iterator();
+    }
+
+    private double pathWeight(Iterator<Integer> it) {
+        if (!it.hasNext()) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double result = 0;
+        int index1 = it.next();
+        while (it.hasNext()) {
+            int index2 = it.next();
+            result += getEdgeWeight(index1, index2);
+            index1 = index2;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return (numVertices == 0);
+    }
+
+    @Override
+    public boolean isConnected() {
+        if (isEmpty()) {
+            return false;
+        }
+
+        Iterator<T> it = iteratorBFS(0);
+        int count = 0;
+        while (it.hasNext()) {
+            it.next();
+            count++;
+        }
+        return (count == numVertices);
+    }
+
+    @Override
+    public int size() {
+        return numVertices;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < numVertices; i++) {
+            vertices[i] = null;
+            offsets[i + 1] = 0;
+        }
+        numVertices = 0;
+        numEdges = 0;
+        modified();
+    }
+
+    public String toString() {
+        if (numVertices == 0) {
+            return "Graph is empty";
+        }
+        String result = "";
+
+        result += "Adjacency Lists\n";
+        result += "---------------\n";
+        result += "index\tvalue\tedges (target:weight)\n\n";
+
+        for (int i = 0; i < numVertices; i++) {
+            result += "" + i + "\t" + getVertex(i) + "\t";
+            for (int e = edgeBegin(i); e < edgeEnd(i); e++) {
+                result += edgeTarget(e) + ":" + edgeWeight(e) + " ";
+            }
+            result += "\n";
+        }
+        result += "\n";
+
+        return result;
+    }
+
+}
@@ -0,0 +1,670 @@
+package Collections.Graphs;
+
+import Collections.Lists.ArrayUnorderedList;
+import Collections.Stacks.LinkedStack;
+import Collections.Trees.IndexedMinHeap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Contraction hierarchy for fast point to point shortest paths on large networks.
+ * <p>
+ * Preprocessing contracts the vertices one by one, least important first. Contracting a vertex removes it from
+ * the remaining network and adds a shortcut u → w for every path u → v → w that a local witness search cannot
+ * match, so distances between the remaining vertices are preserved. The importance of a vertex is the number of
+ * shortcuts its contraction adds minus the edges it removes, plus its contracted neighbours; it is recomputed
+ * lazily when the vertex reaches the top of the queue.
+ * </p>
+ * <p>
+ * The order of contraction ranks the vertices. A query runs a bidirectional Dijkstra that only climbs: forwards
+ * along the edges to higher ranked vertices and backwards along the edges coming from higher ranked vertices.
+ * Both searches settle a few hundred vertices even on networks with tens of thousands, and the path is recovered
+ * by unpacking every shortcut into the two edges it replaced.
+ * </p>
+ * <p>
+ * The upward and downward edges are stored in compressed sparse rows and can be saved to a binary file,
+ * together with a fingerprint of the network they were computed for.
+ * </p>
+ */
+public class ContractionHierarchy {
+
+    /**
+     * The number of vertices a witness search may settle before giving up and adding the shortcut.
+     */
+    public static final int DEFAULT_WITNESS_LIMIT = 500;
+
+    private static final int MAGIC = 0x43480001;
+
+    private int size;
+    private long fingerprint;
+    private int[] rank;
+    private int[] upOffsets;
+    private int[] upTargets;
+    private double[] upWeights;
+    private int[] upMiddles;
+    private int[] downOffsets;
+    private int[] downTargets;
+    private double[] downWeights;
+    private int[] downMiddles;
+
+    // dynamic adjacency of the remaining network during preprocessing
+    private int[][] outNeighbour;
+    private double[][] outWeight;
+    private int[][] outMiddle;
+    private int[] outCount;
+    private int[][] inNeighbour;
+    private double[][] inWeight;
+    private int[][] inMiddle;
+    private int[] inCount;
+    private boolean[] contracted;
+    private int witnessLimit;
+
+    // search state, shared by the witness searches and the queries
+    private double[] forwardDistance;
+    private double[] backwardDistance;
+    private int[] forwardParent;
+    private int[] forwardParentMiddle;
+    private int[] backwardParent;
+    private int[] backwardParentMiddle;
+    private IndexedMinHeap forwardHeap;
+    private IndexedMinHeap backwardHeap;
+    private int[] touched;
+    private int numTouched;
+    private int meeting;
+    private double distance;
+
+    /**
+     * Preprocesses the given network with the default witness search limit.
+     *
+     * @param network the network, with non negative weights
+     */
+    public ContractionHierarchy(CSRNetwork<?> network) {
+        this(network, DEFAULT_WITNESS_LIMIT);
+    }
+
+    /**
+     * Preprocesses the given network.
+     *
+     * @param network      the network, with non negative weights
+     * @param witnessLimit the number of vertices a witness search may settle
+     * @throws IllegalArgumentException if the witness limit is not positive
+     */
+    public ContractionHierarchy(CSRNetwork<?> network, int witnessLimit) throws IllegalArgumentException {
+        if (witnessLimit <= 0) {
+            throw new IllegalArgumentException("Witness limit must be positive.");
+        }
+        this.size = network.size();
+        this.fingerprint = fingerprint(network);
+        this.witnessLimit = witnessLimit;
+        prepareSearch();
+        loadRemainingNetwork(network);
+        contractAll();
+        storeHierarchy();
+
+        outNeighbour = null;
+        outWeight = null;
+        outMiddle = null;
+        inNeighbour = null;
+        inWeight = null;
+        inMiddle = null;
+        contracted = null;
+    }
+
+    private ContractionHierarchy() {
+    }
+
+    /**
+     * Computes a fingerprint of the vertices count and the edges of a network, used to check that a saved
+     * hierarchy still describes it.
+     *
+     * @param network the network
+     * @return the fingerprint of the network
+     */
+    public static long fingerprint(CSRNetwork<?> network) {
+        long hash = network.size();
+        for (int i = 0; i < network.size(); i++) {
+            for (int e = network.edgeBegin(i); e < network.edgeEnd(i); e++) {
+                hash = hash * 31 + i;
+                hash = hash * 31 + network.edgeTarget(e);
+                hash = hash * 31 + Double.doubleToLongBits(network.edgeWeight(e));
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the number of vertices of the hierarchy.
+     *
+     * @return the number of vertices
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the fingerprint of the network the hierarchy was computed for.
+     *
+     * @return the network fingerprint
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns true if the hierarchy was computed for a network with the same vertices count and edges.
+     *
+     * @param network the network to check
+     * @return true if the hierarchy answers the queries of the network
+     */
+    public boolean matches(CSRNetwork<?> network) {
+        return network.size() == size && fingerprint(network) == fingerprint;
+    }
+
+    /**
+     * Returns the position of a vertex in the contraction order.
+     *
+     * @param index the vertex index
+     * @return the rank of the vertex, 0 for the first contracted
+     */
+    public int getRank(int index) {
+        return rank[index];
+    }
+
+    /**
+     * Returns the number of upward and downward edges, shortcuts included.
+     *
+     * @return the number of edges of the hierarchy
+     */
+    public int numEdges() {
+        return upOffsets[size] + downOffsets[size];
+    }
+
+    /**
+     * Returns the weight of the shortest path between two vertices.
+     *
+     * @param startIndex  the index of the starting vertex
+     * @param targetIndex the index of the target vertex
+     * @return the path weight, or {@code Double.POSITIVE_INFINITY} if there is no path
+     */
+    public double distance(int startIndex, int targetIndex) {
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        query(startIndex, targetIndex);
+        return distance;
+    }
+
+    /**
+     * Returns the indices of the shortest path between two vertices, start first, with every shortcut unpacked.
+     * Like {@link Network#iteratorShortestPath(int, int)}, the path is empty when the target is the start.
+     *
+     * @param startIndex  the index of the starting vertex
+     * @param targetIndex the index of the target vertex
+     * @return an iterator over the indices of the path, empty if there is none
+     */
+    public Iterator<Integer> iteratorPathIndices(int startIndex, int targetIndex) {
+        ArrayUnorderedList<Integer> resultList = new ArrayUnorderedList<>();
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex) || startIndex == targetIndex) {
+            return resultList.iterator();
+        }
+        query(startIndex, targetIndex);
+        if (meeting == -1) {
+            return resultList.iterator();
+        }
+
+        LinkedStack<Integer> stack = new LinkedStack<>();
+        for (int v = meeting; v != startIndex; v = forwardParent[v]) {
+            stack.push(v);
+        }
+        resultList.addToRear(startIndex);
+        int from = startIndex;
+        while (!stack.isEmpty()) {
+            int to = stack.pop();
+            unpack(from, to, forwardParentMiddle[to], resultList);
+            from = to;
+        }
+        for (int v = meeting; v != targetIndex; v = backwardParent[v]) {
+            unpack(v, backwardParent[v], backwardParentMiddle[v], resultList);
+        }
+        return resultList.iterator();
+    }
+
+    /**
+     * Saves the hierarchy to a binary file.
+     *
+     * @param filePath the path of the file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(String filePath) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(filePath)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(size);
+            out.writeLong(fingerprint);
+            for (int i = 0; i < size; i++) {
+                out.writeInt(rank[i]);
+            }
+            writeEdges(out, upOffsets, upTargets, upWeights, upMiddles);
+            writeEdges(out, downOffsets, downTargets, downWeights, downMiddles);
+        }
+    }
+
+    /**
+     * Loads a hierarchy saved by {@link #save(String)}.
+     *
+     * @param filePath the path of the file
+     * @return the loaded hierarchy
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file does not contain a hierarchy
+     */
+    public static ContractionHierarchy load(String filePath) throws IOException, IllegalArgumentException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(filePath)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalArgumentException("The file " + filePath + " does not contain a contraction hierarchy.");
+            }
+            ContractionHierarchy hierarchy = new ContractionHierarchy();
+            hierarchy.size = in.readInt();
+            hierarchy.fingerprint = in.readLong();
+            hierarchy.rank = new int[hierarchy.size];
+            for (int i = 0; i < hierarchy.size; i++) {
+                hierarchy.rank[i] = in.readInt();
+            }
+
+            hierarchy.upOffsets = readOffsets(in, hierarchy.size);
+            int m = hierarchy.upOffsets[hierarchy.size];
+            hierarchy.upTargets = new int[m];
+            hierarchy.upWeights = new double[m];
+            hierarchy.upMiddles = new int[m];
+            readEdges(in, hierarchy.upTargets, hierarchy.upWeights, hierarchy.upMiddles);
+
+            hierarchy.downOffsets = readOffsets(in, hierarchy.size);
+            m = hierarchy.downOffsets[hierarchy.size];
+            hierarchy.downTargets = new int[m];
+            hierarchy.downWeights = new double[m];
+            hierarchy.downMiddles = new int[m];
+            readEdges(in, hierarchy.downTargets, hierarchy.downWeights, hierarchy.downMiddles);
+
+            hierarchy.prepareSearch();
+            return hierarchy;
+        }
+    }
+
+    //Preprocessing
+
+    private void loadRemainingNetwork(CSRNetwork<?> network) {
+        outNeighbour = new int[size][];
+        outWeight = new double[size][];
+        outMiddle = new int[size][];
+        outCount = new int[size];
+        inNeighbour = new int[size][];
+        inWeight = new double[size][];
+        inMiddle = new int[size][];
+        inCount = new int[size];
+        contracted = new boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            int degree = Math.max(1, network.outDegree(i));
+            outNeighbour[i] = new int[degree];
+            outWeight[i] = new double[degree];
+            outMiddle[i] = new int[degree];
+            inNeighbour[i] = new int[2];
+            inWeight[i] = new double[2];
+            inMiddle[i] = new int[2];
+        }
+        for (int i = 0; i < size; i++) {
+            for (int e = network.edgeBegin(i); e < network.edgeEnd(i); e++) {
+                if (network.edgeTarget(e) != i) {
+                    addArc(i, network.edgeTarget(e), network.edgeWeight(e), -1);
+                }
+            }
+        }
+    }
+
+    private void contractAll() {
+        rank = new int[size];
+        int[] contractedNeighbours = new int[size];
+        IndexedMinHeap queue = new IndexedMinHeap(size);
+        for (int v = 0; v < size; v++) {
+            queue.insert(v, priority(v, contractedNeighbours));
+        }
+
+        int order = 0;
+        while (!queue.isEmpty()) {
+            int v = queue.removeMin();
+            double priority = priority(v, contractedNeighbours);
+            if (!queue.isEmpty() && priority > queue.findMinPriority()) {
+                queue.insert(v, priority);
+                continue;
+            }
+
+            contract(v, false);
+            contracted[v] = true;
+            rank[v] = order++;
+            for (int k = 0; k < outCount[v]; k++) {
+                contractedNeighbours[outNeighbour[v][k]]++;
+            }
+            for (int k = 0; k < inCount[v]; k++) {
+                contractedNeighbours[inNeighbour[v][k]]++;
+            }
+        }
+    }
+
+    private double priority(int v, int[] contractedNeighbours) {
+        int removed = 0;
+        for (int k = 0; k < outCount[v]; k++) {
+            if (!contracted[outNeighbour[v][k]]) {
+                removed++;
+            }
+        }
+        for (int k = 0; k < inCount[v]; k++) {
+            if (!contracted[inNeighbour[v][k]]) {
+                removed++;
+            }
+        }
+        return contract(v, true) - removed + contractedNeighbours[v];
+    }
+
+    /**
+     * Finds the shortcuts needed to contract a vertex, adding them unless simulating.
+     *
+     * @return the number of shortcuts
+     */
+    private int contract(int v, boolean simulate) {
+        double maxOut = 0;
+        for (int k = 0; k < outCount[v]; k++) {
+            if (!contracted[outNeighbour[v][k]]) {
+                maxOut = Math.max(maxOut, outWeight[v][k]);
+            }
+        }
+
+        int shortcuts = 0;
+        for (int a = 0; a < inCount[v]; a++) {
+            int u = inNeighbour[v][a];
+            if (contracted[u]) {
+                continue;
+            }
+            double throughV = inWeight[v][a];
+            witnessSearch(u, v, throughV + maxOut);
+            for (int b = 0; b < outCount[v]; b++) {
+                int w = outNeighbour[v][b];
+                if (contracted[w] || w == u) {
+                    continue;
+                }
+                double candidate = throughV + outWeight[v][b];
+                if (forwardDistance[w] > candidate) {
+                    shortcuts++;
+                    if (!simulate) {
+                        addArc(u, w, candidate, v);
+                    }
+                }
+            }
+        }
+        return shortcuts;
+    }
+
+    /**
+     * Dijkstra from a vertex over the remaining network without the excluded vertex, settling at most the witness
+     * limit and nothing heavier than the bound. The distances are left in the forward distance array.
+     */
+    private void witnessSearch(int source, int excluded, double bound) {
+        reset();
+        touch(source);
+        forwardDistance[source] = 0;
+        forwardHeap.insert(source, 0);
+
+        int settled = 0;
+        while (!forwardHeap.isEmpty() && settled < witnessLimit && forwardHeap.findMinPriority() <= bound) {
+            int index = forwardHeap.removeMin();
+            settled++;
+            for (int k = 0; k < outCount[index]; k++) {
+                int i = outNeighbour[index][k];
+                if (contracted[i] || i == excluded) {
+                    continue;
+                }
+                double candidate = forwardDistance[index] + outWeight[index][k];
+                if (candidate < forwardDistance[i]) {
+                    touch(i);
+                    forwardDistance[i] = candidate;
+                    forwardHeap.insertOrDecrease(i, candidate);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the edge u → w to the remaining network, or lowers its weight if it already exists.
+     */
+    private void addArc(int u, int w, double weight, int middle) {
+        for (int k = 0; k < outCount[u]; k++) {
+            if (outNeighbour[u][k] == w) {
+                if (weight < outWeight[u][k]) {
+                    outWeight[u][k] = weight;
+                    outMiddle[u][k] = middle;
+                    for (int l = 0; l < inCount[w]; l++) {
+                        if (inNeighbour[w][l] == u) {
+                            inWeight[w][l] = weight;
+                            inMiddle[w][l] = middle;
+                        }
+                    }
+                }
+                return;
+            }
+        }
+
+        if (outCount[u] == outNeighbour[u].length) {
+            outNeighbour[u] = Arrays.copyOf(outNeighbour[u], outCount[u] * 2);
+            outWeight[u] = Arrays.copyOf(outWeight[u], outCount[u] * 2);
+            outMiddle[u] = Arrays.copyOf(outMiddle[u], outCount[u] * 2);
+        }
+        outNeighbour[u][outCount[u]] = w;
+        outWeight[u][outCount[u]] = weight;
+        outMiddle[u][outCount[u]] = middle;
+        outCount[u]++;
+
+        if (inCount[w] == inNeighbour[w].length) {
+            inNeighbour[w] = Arrays.copyOf(inNeighbour[w], inCount[w] * 2);
+            inWeight[w] = Arrays.copyOf(inWeight[w], inCount[w] * 2);
+            inMiddle[w] = Arrays.copyOf(inMiddle[w], inCount[w] * 2);
+        }
+        inNeighbour[w][inCount[w]] = u;
+        inWeight[w][inCount[w]] = weight;
+        inMiddle[w][inCount[w]] = middle;
+        inCount[w]++;
+    }
+
+    /**
+     * Splits the final edges into the upward rows, edges u → w with w ranked above u stored at u, and the
+     * downward rows, edges u → w with u ranked above w stored at w.
+     */
+    private void storeHierarchy() {
+        upOffsets = new int[size + 1];
+        downOffsets = new int[size + 1];
+        for (int u = 0; u < size; u++) {
+            for (int k = 0; k < outCount[u]; k++) {
+                int w = outNeighbour[u][k];
+                if (rank[w] > rank[u]) {
+                    upOffsets[u + 1]++;
+                } else {
+                    downOffsets[w + 1]++;
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            upOffsets[i + 1] += upOffsets[i];
+            downOffsets[i + 1] += downOffsets[i];
+        }
+
+        upTargets = new int[upOffsets[size]];
+        upWeights = new double[upOffsets[size]];
+        upMiddles = new int[upOffsets[size]];
+        downTargets = new int[downOffsets[size]];
+        downWeights = new double[downOffsets[size]];
+        downMiddles = new int[downOffsets[size]];
+        int[] upNext = Arrays.copyOf(upOffsets, size);
+        int[] downNext = Arrays.copyOf(downOffsets, size);
+        for (int u = 0; u < size; u++) {
+            for (int k = 0; k < outCount[u]; k++) {
+                int w = outNeighbour[u][k];
+                if (rank[w] > rank[u]) {
+                    int e = upNext[u]++;
+                    upTargets[e] = w;
+                    upWeights[e] = outWeight[u][k];
+                    upMiddles[e] = outMiddle[u][k];
+                } else {
+                    int e = downNext[w]++;
+                    downTargets[e] = u;
+                    downWeights[e] = outWeight[u][k];
+                    downMiddles[e] = outMiddle[u][k];
+                }
+            }
+        }
+    }
+
+    //Queries
+
+    private void query(int startIndex, int targetIndex) {
+        reset();
+        touch(startIndex);
+        forwardDistance[startIndex] = 0;
+        touch(targetIndex);
+        backwardDistance[targetIndex] = 0;
+        forwardHeap.insert(startIndex, 0);
+        backwardHeap.insert(targetIndex, 0);
+        meeting = startIndex == targetIndex ? startIndex : -1;
+        distance = startIndex == targetIndex ? 0 : Double.POSITIVE_INFINITY;
+
+        while (true) {
+            boolean forwardActive = !forwardHeap.isEmpty() && forwardHeap.findMinPriority() < distance;
+            boolean backwardActive = !backwardHeap.isEmpty() && backwardHeap.findMinPriority() < distance;
+            if (!forwardActive && !backwardActive) {
+                return;
+            }
+            if (forwardActive && (!backwardActive || forwardHeap.findMinPriority() <= backwardHeap.findMinPriority())) {
+                climb(forwardHeap, upOffsets, upTargets, upWeights, upMiddles,
+                        forwardDistance, backwardDistance, forwardParent, forwardParentMiddle);
+            } else {
+                climb(backwardHeap, downOffsets, downTargets, downWeights, downMiddles,
+                        backwardDistance, forwardDistance, backwardParent, backwardParentMiddle);
+            }
+        }
+    }
+
+    /**
+     * Settles the lightest vertex of one side and relaxes its edges to higher ranked vertices.
+     */
+    private void climb(IndexedMinHeap heap, int[] offsets, int[] targets, double[] weights, int[] middles,
+                       double[] ownDistance, double[] otherDistance, int[] parent, int[] parentMiddle) {
+        int index = heap.removeMin();
+        for (int e = offsets[index]; e < offsets[index + 1]; e++) {
+            int i = targets[e];
+            double candidate = ownDistance[index] + weights[e];
+            if (candidate < ownDistance[i]) {
+                touch(i);
+                ownDistance[i] = candidate;
+                parent[i] = index;
+                parentMiddle[i] = middles[e];
+                heap.insertOrDecrease(i, candidate);
+                if (candidate + otherDistance[i] < distance) {
+                    distance = candidate + otherDistance[i];
+                    meeting = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends the vertices of the edge from → to after {@code from}, replacing a shortcut by the two edges
+     * through its middle vertex. Both edges are stored at the middle vertex, which was contracted first.
+     */
+    private void unpack(int from, int to, int middle, ArrayUnorderedList<Integer> resultList) {
+        if (middle == -1) {
+            resultList.addToRear(to);
+            return;
+        }
+        unpack(from, middle, findMiddle(downOffsets, downTargets, downMiddles, middle, from), resultList);
+        unpack(middle, to, findMiddle(upOffsets, upTargets, upMiddles, middle, to), resultList);
+    }
+
+    private int findMiddle(int[] offsets, int[] targets, int[] middles, int row, int target) {
+        for (int e = offsets[row]; e < offsets[row + 1]; e++) {
+            if (targets[e] == target) {
+                return middles[e];
+            }
+        }
+        throw new IllegalStateException("Missing edge between " + row + " and " + target + ".");
+    }
+
+    private void prepareSearch() {
+        forwardDistance = new double[size];
+        backwardDistance = new double[size];
+        forwardParent = new int[size];
+        forwardParentMiddle = new int[size];
+        backwardParent = new int[size];
+        backwardParentMiddle = new int[size];
+        forwardHeap = new IndexedMinHeap(size);
+        backwardHeap = new IndexedMinHeap(size);
+        touched = new int[size];
+        for (int i = 0; i < size; i++) {
+            forwardDistance[i] = Double.POSITIVE_INFINITY;
+            backwardDistance[i] = Double.POSITIVE_INFINITY;
+        }
+    }
+
+    private void reset() {
+        for (int k = 0; k < numTouched; k++) {
+            forwardDistance[touched[k]] = Double.POSITIVE_INFINITY;
+            backwardDistance[touched[k]] = Double.POSITIVE_INFINITY;
+        }
+        numTouched = 0;
+        forwardHeap.clear();
+        backwardHeap.clear();
+    }
+
+    private void touch(int index) {
+        if (forwardDistance[index] == Double.POSITIVE_INFINITY && backwardDistance[index] == Double.POSITIVE_INFINITY) {
+            touched[numTouched++] = index;
+        }
+    }
+
+    private boolean indexIsValid(int index) {
+        return index >= 0 && index < size;
+    }
+
+    //Persistence
+
+    private static void writeEdges(DataOutputStream out, int[] offsets, int[] targets, double[] weights,
+                                   int[] middles) throws IOException {
+        for (int offset : offsets) {
+            out.writeInt(offset);
+        }
+        for (int e = 0; e < targets.length; e++) {
+            out.writeInt(targets[e]);
+            out.writeDouble(weights[e]);
+            out.writeInt(middles[e]);
+        }
+    }
+
+    private static int[] readOffsets(DataInputStream in, int size) throws IOException {
+        int[] offsets = new int[size + 1];
+        for (int i = 0; i <= size; i++) {
+            offsets[i] = in.readInt();
+        }
+        return offsets;
+    }
+
+    private static void readEdges(DataInputStream in, int[] targets, double[] weights, int[] middles)
+            throws IOException {
+        for (int e = 0; e < targets.length; e++) {
+            targets[e] = in.readInt();
+            weights[e] = in.readDouble();
+            middles[e] = in.readInt();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package Collections.Graphs;
+
+/**
+ * Dial's single source shortest path algorithm for networks whose edge weights are small non negative integers.
+ * <p>
+ * Instead of a heap, tentative distances are kept in a circular array of {@code maxWeight + 1} buckets: every
+ * vertex waiting to be settled has a distance between the one being scanned and {@code maxWeight} above it, so
+ * the distance modulo the number of buckets identifies its bucket uniquely. Buckets are intrusive doubly linked
+ * lists over primitive arrays, giving O(1) insertion, decrease-key and removal and O(V + E + D) total work,
+ * where D is the distance of the farthest settled vertex.
+ * </p>
+ */
+public class DialShortestPath {
+
+    /**
+     * The largest edge weight for which bucket queues are used. Heavier or fractional weights fall back to a heap.
+     */
+    public static final int MAX_WEIGHT = 255;
+
+    /**
+     * Distance reported for vertices that were not reached.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final CSRNetwork<?> network;
+    private final int numBuckets;
+    private final int[] distance;
+    private final int[] predecessor;
+    private final boolean[] settled;
+    private final int[] bucketHead;
+    private final int[] nextInBucket;
+    private final int[] previousInBucket;
+    private int queued;
+
+    /**
+     * Prepares a search over the given network.
+     *
+     * @param network   the network to search, with integer weights between 0 and {@code maxWeight}
+     * @param maxWeight the largest edge weight in the network
+     * @throws IllegalArgumentException if the maximum weight is negative
+     */
+    public DialShortestPath(CSRNetwork<?> network, int maxWeight) throws IllegalArgumentException {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("Maximum weight cannot be negative.");
+        }
+        int n = network.size();
+        this.network = network;
+        this.numBuckets = maxWeight + 1;
+        this.distance = new int[n];
+        this.predecessor = new int[n];
+        this.settled = new boolean[n];
+        this.bucketHead = new int[numBuckets];
+        this.nextInBucket = new int[n];
+        this.previousInBucket = new int[n];
+    }
+
+    /**
+     * Runs the search from a start vertex, stopping as soon as the target is settled.
+     * A target of -1 settles every reachable vertex, building the full shortest path tree.
+     *
+     * @param startIndex  the index of the starting vertex
+     * @param targetIndex the index of the target vertex, or -1
+     * @return true if the target was reached (always true when the target is -1)
+     */
+    public boolean search(int startIndex, int targetIndex) {
+        for (int i = 0; i < distance.length; i++) {
+            distance[i] = UNREACHABLE;
+            predecessor[i] = -1;
+            settled[i] = false;
+        }
+        for (int b = 0; b < numBuckets; b++) {
+            bucketHead[b] = -1;
+        }
+        queued = 0;
+
+        distance[startIndex] = 0;
+        link(startIndex);
+
+        int current = 0;
+        while (queued > 0) {
+            int bucket = current % numBuckets;
+            while (bucketHead[bucket] != -1) {
+                int index = bucketHead[bucket];
+                unlink(index);
+                settled[index] = true;
+                if (index == targetIndex) {
+                    return true;
+                }
+
+                for (int e = network.edgeBegin(index); e < network.edgeEnd(index); e++) {
+                    int i = network.edgeTarget(e);
+                    int candidate = distance[index] + (int) network.edgeWeight(e);
+                    if (!settled[i] && candidate < distance[i]) {
+                        if (distance[i] != UNREACHABLE) {
+                            unlink(i);
+                        }
+                        distance[i] = candidate;
+                        predecessor[i] = index;
+                        link(i);
+                    }
+                }
+            }
+            current++;
+        }
+        return targetIndex == -1;
+    }
+
+    /**
+     * Returns the distance found for a vertex by the last search.
+     *
+     * @param index the vertex index
+     * @return the distance, or {@link #UNREACHABLE}
+     */
+    public int getDistance(int index) {
+        return distance[index];
+    }
+
+    /**
+     * Returns the predecessor of a vertex in the shortest path tree of the last search.
+     *
+     * @param index the vertex index
+     * @return the predecessor index, or -1 for the start vertex and unreached vertices
+     */
+    public int getPredecessor(int index) {
+        return predecessor[index];
+    }
+
+    /**
+     * Gives the searches of this package direct access to the predecessor array, without copying it.
+     */
+    int[] predecessors() {
+        return predecessor;
+    }
+
+    /**
+     * Returns true if the vertex was settled by the last search.
+     *
+     * @param index the vertex index
+     * @return true if the final distance of the vertex is known
+     */
+    public boolean isSettled(int index) {
+        return settled[index];
+    }
+
+    private void link(int index) {
+        int bucket = distance[index] % numBuckets;
+        previousInBucket[index] = -1;
+        nextInBucket[index] = bucketHead[bucket];
+        if (bucketHead[bucket] != -1) {
+            previousInBucket[bucketHead[bucket]] = index;
+        }
+        bucketHead[bucket] = index;
+        queued++;
+    }
+
+    private void unlink(int index) {
+        int bucket = distance[index] % numBuckets;
+        if (previousInBucket[index] != -1) {
+            nextInBucket[previousInBucket[index]] = nextInBucket[index];
+        } else {
+            bucketHead[bucket] = nextInBucket[index];
+        }
+        if (nextInBucket[index] != -1) {
+            previousInBucket[nextInBucket[index]] = previousInBucket[index];
+        }
+        queued--;
+    }
+}
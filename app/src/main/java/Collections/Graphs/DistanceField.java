@@ -0,0 +1,76 @@
+package Collections.Graphs;
+
+/**
+ * The shortest distance from every vertex of a network to one target vertex, together with the next vertex to
+ * visit on a shortest path towards it.
+ * <p>
+ * The field is computed with a single search from the target over the reversed network, so its cost does not
+ * depend on how many walkers use it. Afterwards each step towards the target is an O(1) array lookup.
+ * </p>
+ */
+public class DistanceField {
+    private final int target;
+    private final int[] nextHop;
+    private final double[] distance;
+
+    /**
+     * Computes the field of the given target.
+     *
+     * @param network     the network the walkers move on
+     * @param targetIndex the index of the target vertex
+     * @throws IllegalArgumentException      if the target index is not valid
+     * @throws UnsupportedOperationException if the network cannot be reversed
+     */
+    public DistanceField(CSRNetwork<?> network, int targetIndex) throws IllegalArgumentException, UnsupportedOperationException {
+        ShortestPathTree tree = network.reverse().shortestPathTree(targetIndex);
+        int n = tree.size();
+
+        //The predecessor of a vertex in the reversed tree is its successor towards the target
+        this.target = targetIndex;
+        this.nextHop = new int[n];
+        this.distance = new double[n];
+        for (int i = 0; i < n; i++) {
+            this.nextHop[i] = tree.getPredecessor(i);
+            this.distance[i] = tree.distanceTo(i);
+        }
+    }
+
+    /**
+     * Returns the index of the target vertex of this field.
+     *
+     * @return the target index
+     */
+    public int getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns the next vertex on a shortest path from the given vertex to the target.
+     *
+     * @param index the current vertex index
+     * @return the next vertex index, or -1 at the target and at vertices that cannot reach it
+     */
+    public int getNextHop(int index) {
+        return nextHop[index];
+    }
+
+    /**
+     * Returns the weight of the shortest path from the given vertex to the target.
+     *
+     * @param index the vertex index
+     * @return the distance to the target, or {@code Double.POSITIVE_INFINITY} if it cannot be reached
+     */
+    public double getDistance(int index) {
+        return distance[index];
+    }
+
+    /**
+     * Returns true if the target can be reached from the given vertex.
+     *
+     * @param index the vertex index
+     * @return true if there is a path to the target
+     */
+    public boolean canReachTarget(int index) {
+        return distance[index] < Double.POSITIVE_INFINITY;
+    }
+}
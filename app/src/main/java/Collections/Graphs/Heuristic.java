@@ -0,0 +1,25 @@
+package Collections.Graphs;
+
+/**
+ * Heuristic defines the estimate used by an A* search of the remaining cost from a vertex to the target.
+ * <p>
+ * To obtain shortest paths the estimate must be admissible: never greater than the weight of the shortest path
+ * between the two vertices. The zero heuristic is always admissible and makes A* behave like Dijkstra.
+ * </p>
+ */
+public interface Heuristic {
+
+    /**
+     * A heuristic that always estimates zero.
+     */
+    Heuristic ZERO = (fromIndex, targetIndex) -> 0;
+
+    /**
+     * Estimates the weight of the shortest path between two vertices.
+     *
+     * @param fromIndex   the index of the current vertex
+     * @param targetIndex the index of the target vertex
+     * @return a lower bound of the remaining path weight
+     */
+    double estimate(int fromIndex, int targetIndex);
+}
@@ -12,7 +12,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Iterator;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import capturetheflag.Local;
 import org.json.simple.JSONArray;
@@ -27,14 +27,120 @@ import org.json.simple.parser.ParseException;
 
 public class Network<T> extends Graph<T> implements NetworkADT<T> {
 
-    protected double[][] adjMatrix;
+    protected WeightMatrix adjMatrix;
+    private CSRNetwork<T> compressed;
+    private long version;
+    private SplittableRandom random;
 
     public Network() {
         numVertices = 0;
-        this.adjMatrix = new double[DEFAULT_CAPACITY][DEFAULT_CAPACITY];
+        this.adjMatrix = WeightMatrix.create(DEFAULT_CAPACITY);
         this.vertices = (T[]) (new Object[DEFAULT_CAPACITY]);
     }
 
+    /**
+     * Returns a compressed sparse row copy of this network, built on first use and kept until the network is
+     * modified. Vertex indices are the same in both representations.
+     *
+     * @return the compressed view of this network
+     */
+    public CSRNetwork<T> getCompressedNetwork() {
+        if (compressed == null) {
+            compressed = new CSRNetwork<>(this);
+            compressed.setRandom(getRandom());
+        }
+        return compressed;
+    }
+
+    /**
+     * Returns the random generator of the random paths, created with a random seed on first use unless one was
+     * set. The compressed view shares it.
+     *
+     * @return the random generator of this network
+     */
+    public SplittableRandom getRandom() {
+        if (random == null) {
+            random = new SplittableRandom();
+        }
+        return random;
+    }
+
+    /**
+     * Sets the random generator of the random paths, of this network and of its compressed view. The paths are
+     * then the same for the same seed.
+     *
+     * @param random the random generator
+     * @throws IllegalArgumentException if the random generator is null
+     */
+    public void setRandom(SplittableRandom random) throws IllegalArgumentException {
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator cannot be null.");
+        }
+        this.random = random;
+        if (compressed != null) {
+            compressed.setRandom(random);
+        }
+    }
+
+    /**
+     * Discards the compressed view. Called through {@link #modified()} whenever vertices or edges change;
+     * subclasses override it to drop the other results derived from the edges.
+     */
+    protected void invalidateCompressedNetwork() {
+        compressed = null;
+    }
+
+    /**
+     * Returns the mutation version of this network. It starts at 0 and increases every time a vertex or an edge
+     * is added, removed or changed, so results computed at one version are still valid while it is unchanged.
+     *
+     * @return the current version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of bytes used by each cell of the adjacency matrix: 1 while every weight is a whole
+     * number up to 254, 2 while every weight is a whole number up to 65534, and 8 otherwise.
+     *
+     * @return the width of the stored weights
+     */
+    public int getWeightBytes() {
+        return adjMatrix.getWeightBytes();
+    }
+
+    /**
+     * Checks whether the network keeps a single weight for both directions of each edge.
+     *
+     * @return true if the adjacency matrix is symmetric
+     */
+    public boolean isSymmetric() {
+        return adjMatrix.isSymmetric();
+    }
+
+    /**
+     * Chooses whether the adjacency matrix keeps only one triangle, which halves its memory. While it does, adding
+     * an edge also adds the edge in the opposite direction with the same weight.
+     *
+     * @param symmetric true to keep one triangle, false to keep both directions separately
+     * @throws IllegalStateException if some edge does not have the weight of the edge in the opposite direction
+     */
+    public void setSymmetric(boolean symmetric) throws IllegalStateException {
+        if (symmetric && !adjMatrix.hasSymmetricWeights(numVertices)) {
+            throw new IllegalStateException("The edges of the network are not symmetric.");
+        }
+        adjMatrix = adjMatrix.withLayout(symmetric, numVertices);
+    }
+
+    /**
+     * Records a change of vertices or edges. Must be called by every method that modifies the network.
+     */
+    protected void modified() {
+        version++;
+        invalidateCompressedNetwork();
+    }
+
     @Override
     public void addEdge(T vertex1, T vertex2) {
         addEdge(getIndex(vertex1), getIndex(vertex2), 0);
@@ -47,7 +153,9 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
 
     public void addEdge(int index1, int index2, double weight) {
         if (indexIsValid(index1) && indexIsValid(index2)) {
-            adjMatrix[index1][index2] = weight;
+            adjMatrix = adjMatrix.fitting(weight);
+            adjMatrix.set(index1, index2, weight);
+            modified();
         }
     }
 
@@ -59,8 +167,9 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
     @Override
     public void removeEdge(int index1, int index2) {
         if (indexIsValid(index1) && indexIsValid(index2)) {
-            adjMatrix[index1][index2] = Double.POSITIVE_INFINITY;
-            adjMatrix[index2][index1] = Double.POSITIVE_INFINITY;
+            adjMatrix.set(index1, index2, Double.POSITIVE_INFINITY);
+            adjMatrix.set(index2, index1, Double.POSITIVE_INFINITY);
+            modified();
         }
     }
 
@@ -70,12 +179,10 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
             expandCapacity();
         }
 
+        // The row and the column of a new vertex are already empty: cells outside the vertices are never left set.
         vertices[numVertices] = vertex;
-        for (int i = 0; i <= numVertices; i++) {
-            adjMatrix[numVertices][i] = Double.POSITIVE_INFINITY;
-            adjMatrix[i][numVertices] = Double.POSITIVE_INFINITY;
-        }
         numVertices++;
+        modified();
     }
 
     public void addVertex() {
@@ -84,11 +191,8 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
         }
 
         vertices[numVertices] = null;
-        for (int i = 0; i <= numVertices; i++) {
-            adjMatrix[numVertices][i] = Double.POSITIVE_INFINITY;
-            adjMatrix[i][numVertices] = Double.POSITIVE_INFINITY;
-        }
         numVertices++;
+        modified();
     }
 
     @Override
@@ -110,18 +214,19 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
                 vertices[i] = vertices[i + 1];
             }
 
-            for (int i = index; i < numVertices; i++) {
-                for (int j = 0; j <= numVertices; j++) {
-                    adjMatrix[i][j] = adjMatrix[i + 1][j];
-                }
-            }
+            adjMatrix.removeVertex(index, numVertices + 1);
+            modified();
+        }
+    }
 
-            for (int i = index; i < numVertices; i++) {
-                for (int j = 0; j < numVertices; j++) {
-                    adjMatrix[j][i] = adjMatrix[j][i + 1];
-                }
-            }
+    @Override
+    public void clear() {
+        for (int i = 0; i < numVertices; i++) {
+            vertices[i] = null;
         }
+        numVertices = 0;
+        adjMatrix = adjMatrix.resize(adjMatrix.getCapacity(), 0);
+        modified();
     }
 
     @Override
@@ -155,7 +260,7 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
             //Find a vertex adjacent to x that has not been visited and push it
             //on the stack
             for (int i = 0; (i < numVertices) && !found; i++) {
-                if ((adjMatrix[x][i] < Double.POSITIVE_INFINITY) && !visited[i]) {
+                if (adjMatrix.hasEdge(x, i) && !visited[i]) {
                     traversalStack.push(i);
                     resultList.addToRear(vertices[i]);
                     visited[i] = true;
@@ -199,7 +304,7 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
             //Find all vertices adjacent to x that have not been visited and
             //queue them up
             for (int i = 0; i < numVertices; i++) {
-                if ((adjMatrix[x][i] < Double.POSITIVE_INFINITY) && !visited[i]) {
+                if (adjMatrix.hasEdge(x, i) && !visited[i]) {
                     traversalQueue.enqueue(i);
                     visited[i] = true;
                 }
@@ -208,90 +313,18 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
         return resultList.iterator();
     }
 
+    /**
+     * Finds the shortest path between two vertices on the compressed view of this network. When every edge
+     * weight is a small integer the search uses the bucket queue of {@link DialShortestPath}, otherwise a
+     * {@link BidirectionalDijkstra} that grows from both endpoints, the backward side over the reversed edges.
+     *
+     * @param startIndex  the index of the starting vertex
+     * @param targetIndex the index of the target vertex
+     * @return an iterator over the indices of the shortest path, empty if there is none
+     */
     @Override
     protected Iterator<Integer> iteratorShortestPathIndices(int startIndex, int targetIndex) {
-        int index = 0;
-        double weight = 0;
-        int[] predecessor = new int[numVertices];
-        LinkedHeap<Double> traversalMinHeap = new LinkedHeap<>();
-        ArrayUnorderedList<Integer> resultList = new ArrayUnorderedList<>();
-        LinkedStack<Integer> stack = new LinkedStack<>();
-
-        int[] pathIndex = new int[numVertices];
-        double[] pathWeight = new double[numVertices];
-        for (int i = 0; i < numVertices; i++) {
-            pathWeight[i] = Double.POSITIVE_INFINITY;
-        }
-
-        boolean[] visited = new boolean[numVertices];
-        for (int i = 0; i < numVertices; i++) {
-            visited[i] = false;
-        }
-
-        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex) || (startIndex == targetIndex) || isEmpty()) {
-            return resultList.iterator();
-        }
-
-        pathWeight[startIndex] = 0;
-        predecessor[startIndex] = -1;
-        visited[startIndex] = true;
-        weight = 0;
-
-        //Update the pathWeight for each vertex except the startVertex. Notice
-        //that all vertices not adjacent to the startVertex will have a
-        //pathWeight of infinity for now
-        for (int i = 0; i < numVertices; i++) {
-            if (!visited[i]) {
-                pathWeight[i] = pathWeight[startIndex] + adjMatrix[startIndex][i];
-                predecessor[i] = startIndex;
-                traversalMinHeap.addElement(pathWeight[i]);
-            }
-        }
-
-        do {
-            do {
-                if (!traversalMinHeap.isEmpty()) {
-                    weight = traversalMinHeap.removeMin();
-                    index = getIndexOfAdjVertexWithWeightOf(visited, pathWeight, weight);
-                } else {
-                    break;
-                }
-            } while (index == -1);
-
-            traversalMinHeap.removeAllElements();
-
-            if (weight == Double.POSITIVE_INFINITY) { // no possible path
-                return resultList.iterator();
-            }
-
-            visited[index] = true;
-
-            //Update the pathWeight for each vertex that has not been
-            //visited and is adjacent to the last vertex that was visited.
-            //Also, add each unvisited vertex to the heap
-            for (int i = 0; i < numVertices; i++) {
-                if (!visited[i]) {
-                    if ((adjMatrix[index][i] < Double.POSITIVE_INFINITY) && (pathWeight[index] + adjMatrix[index][i]) < pathWeight[i]) {
-                        pathWeight[i] = pathWeight[index] + adjMatrix[index][i];
-                        predecessor[i] = index;
-                    }
-                    traversalMinHeap.addElement(pathWeight[i]);
-                }
-            }
-        } while (!traversalMinHeap.isEmpty() && !visited[targetIndex]);
-
-        index = targetIndex;
-        stack.push(index);
-        do {
-            index = predecessor[index];
-            stack.push(index);
-        } while (index != startIndex);
-
-        while (!stack.isEmpty()) {
-            resultList.addToRear((stack.pop()));
-        }
-
-        return resultList.iterator();
+        return getCompressedNetwork().iteratorShortestPathIndices(startIndex, targetIndex);
     }
 
     @Override
@@ -313,6 +346,23 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
         return iteratorShortestPath(getIndex(startVertex), getIndex(targetVertex));
     }
 
+    /**
+     * Returns the shortest path found by an A* search guided by the given heuristic.
+     * The search runs on the compressed view of this network.
+     *
+     * @param startIndex  the index of the starting vertex
+     * @param targetIndex the index of the target vertex
+     * @param heuristic   an admissible estimate of the remaining path weight
+     * @return an iterator over the vertices of the path, empty if there is none
+     */
+    public Iterator<T> iteratorAStarPath(int startIndex, int targetIndex, Heuristic heuristic) {
+        return getCompressedNetwork().iteratorAStarPath(startIndex, targetIndex, heuristic);
+    }
+
+    public Iterator<T> iteratorAStarPath(T startVertex, T targetVertex, Heuristic heuristic) {
+        return iteratorAStarPath(getIndex(startVertex), getIndex(targetVertex), heuristic);
+    }
+
     public Iterator<T> iteratorLongestPath(int startIndex, int targetIndex) {
         ArrayUnorderedList<T> templist = new ArrayUnorderedList<>();
         if (!indexIsValid(startIndex) || !indexIsValid(targetIndex)) {
@@ -362,7 +412,7 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
         //pathWeight of infinity for now
         for (int i = 0; i < numVertices; i++) {
             if (!visited[i]) {
-                pathWeight[i] = pathWeight[startIndex] + adjMatrix[startIndex][i];
+                pathWeight[i] = pathWeight[startIndex] + adjMatrix.get(startIndex, i);
                 if (pathWeight[i] == Double.POSITIVE_INFINITY) {
                     pathWeight[i] = Double.NEGATIVE_INFINITY;
                 }
@@ -399,8 +449,8 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
             //Also, add each unvisited vertex to the heap
             for (int i = 0; i < numVertices; i++) {
                 if (!visited[i]) {
-                    if ((adjMatrix[index][i] < Double.POSITIVE_INFINITY) && (pathWeight[index] + adjMatrix[index][i]) > pathWeight[i]) {
-                        pathWeight[i] = pathWeight[index] + adjMatrix[index][i];
+                    if (adjMatrix.hasEdge(index, i) && (pathWeight[index] + adjMatrix.get(index, i)) > pathWeight[i]) {
+                        pathWeight[i] = pathWeight[index] + adjMatrix.get(index, i);
                         predecessor[i] = index;
                     }
                     traversalMaxHeap.addElement(pathWeight[i]);
@@ -472,7 +522,7 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
         //pathWeight of infinity for now
         for (int i = 0; i < numVertices; i++) {
             if (!visited[i]) {
-                pathWeight[i] = pathWeight[startIndex] + adjMatrix[startIndex][i];
+                pathWeight[i] = pathWeight[startIndex] + adjMatrix.get(startIndex, i);
                 predecessor[i] = startIndex;
                 traversalMinHeap.addElement(pathWeight[i]);
             }
@@ -502,8 +552,8 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
 
             for (int i = 0; i < numVertices; i++) {
                 if (!visited[i]) {
-                    if ((adjMatrix[index][i] < Double.POSITIVE_INFINITY) && (pathWeight[index] + adjMatrix[index][i]) < pathWeight[i]) {
-                        pathWeight[i] = pathWeight[index] + adjMatrix[index][i];
+                    if (adjMatrix.hasEdge(index, i) && (pathWeight[index] + adjMatrix.get(index, i)) < pathWeight[i]) {
+                        pathWeight[i] = pathWeight[index] + adjMatrix.get(index, i);
                         predecessor[i] = index;
                     }
                     traversalMinHeap.addElement(pathWeight[i]);
@@ -538,7 +588,7 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
             return Double.POSITIVE_INFINITY;
         }
 
-        Random random = new Random();
+        SplittableRandom random = getRandom();
         double result;
 
         do {
@@ -552,7 +602,7 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
         for (int i = 0; i < numVertices; i++) {
             if ((pathWeight[i] == weight) && !visited[i]) {
                 for (int j = 0; j < numVertices; j++) {
-                    if ((adjMatrix[i][j] < Double.POSITIVE_INFINITY) && visited[j]) {
+                    if (adjMatrix.hasEdge(i, j) && visited[j]) {
                         return i;
                     }
                 }
@@ -567,7 +617,7 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
         int[] edge = new int[2];
         for (int i = 0; i < numVertices; i++) {
             for (int j = 0; j < numVertices; j++) {
-                if ((adjMatrix[i][j] == weight) && (visited[i] ^ visited[j])) {
+                if ((adjMatrix.get(i, j) == weight) && (visited[i] ^ visited[j])) {
                     edge[0] = i;
                     edge[1] = j;
                     return edge;
@@ -600,7 +650,7 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
 
         while (it.hasNext()) {
             index2 = it.next();
-            result += adjMatrix[index1][index2];
+            result += adjMatrix.get(index1, index2);
             index1 = index2;
         }
 
@@ -612,46 +662,51 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
         return shortestPathWeight(getIndex(startVertex), getIndex(targetVertex));
     }
 
+    /**
+     * Returns true if every vertex can reach every other vertex, following the direction of the edges.
+     * The strongly connected components are found on the compressed view in O(V + E).
+     *
+     * @return true if the network is not empty and strongly connected
+     */
     public boolean isConnected_Network() {
         if (isEmpty()) {
             return false;
         }
-
-        for (int i = 0; i < numVertices; i++) {
-            if (!isReachableFromAllVertices(i)) {
-                return false;
-            }
-        }
-
-        return true;
+        return new StronglyConnectedComponents(getCompressedNetwork()).isStronglyConnected();
     }
 
-    private boolean isReachableFromAllVertices(int startIndex) {
-        Iterator<T> it = iteratorBFS(startIndex);
-        int count = 0;
-
-        while (it.hasNext()) {
-            it.next();
-            count++;
+    /**
+     * Makes room for at least the given number of vertices, so that adding them does not grow the adjacency
+     * matrix again. Loaders that know the final number of vertices call it before adding them. The room is
+     * limited to the largest capacity of the layout of the matrix (see {@link WeightMatrix#getMaxCapacity()}).
+     *
+     * @param capacity the number of vertices to make room for
+     */
+    public void ensureCapacity(int capacity) {
+        capacity = Math.min(capacity, adjMatrix.getMaxCapacity());
+        if (capacity <= vertices.length) {
+            return;
         }
+        T[] largerVertices = (T[]) (new Object[capacity]);
+        System.arraycopy(vertices, 0, largerVertices, 0, numVertices);
 
-        return (count == numVertices);
+        vertices = largerVertices;
+        adjMatrix = adjMatrix.resize(capacity, numVertices);
     }
 
+    /**
+     * Doubles the room for vertices, up to the largest capacity of the layout of the matrix.
+     *
+     * @throws IllegalStateException if the network already holds as many vertices as its matrix can
+     */
     @Override
-    protected void expandCapacity() {
-        T[] largerVertices = (T[]) (new Object[vertices.length * 2]);
-        double[][] largerAdjMatrix = new double[vertices.length * 2][vertices.length * 2];
-
-        for (int i = 0; i < numVertices; i++) {
-            for (int j = 0; j < numVertices; j++) {
-                largerAdjMatrix[i][j] = adjMatrix[i][j];
-            }
-            largerVertices[i] = vertices[i];
+    protected void expandCapacity() throws IllegalStateException {
+        int max = adjMatrix.getMaxCapacity();
+        if (vertices.length >= max) {
+            throw new IllegalStateException("A network with a " + (adjMatrix.isSymmetric() ? "symmetric" : "full")
+                    + " adjacency matrix cannot hold more than " + max + " vertices.");
         }
-
-        vertices = largerVertices;
-        adjMatrix = largerAdjMatrix;
+        ensureCapacity(Math.min(2 * vertices.length, max));
     }
 
     public String toString() {
@@ -677,7 +732,7 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
             result += "" + i + "\t";
 
             for (int j = 0; j < numVertices; j++) {
-                if (adjMatrix[i][j] < Double.POSITIVE_INFINITY) {
+                if (adjMatrix.hasEdge(i, j)) {
                     result += "1 ";
                 } else {
                     result += "0 ";
@@ -703,9 +758,9 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
 
         for (int i = 0; i < numVertices; i++) {
             for (int j = numVertices - 1; j > i; j--) {
-                if (adjMatrix[i][j] < Double.POSITIVE_INFINITY) {
+                if (adjMatrix.hasEdge(i, j)) {
                     result += i + " to " + j + "\t";
-                    result += adjMatrix[i][j] + "\n";
+                    result += adjMatrix.get(i, j) + "\n";
                 }
             }
         }
@@ -728,7 +783,7 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
         for (int i = 0; i < numVertices; i++) {
             JSONArray rowArray = new JSONArray();
             for (int j = 0; j < numVertices; j++) {
-                rowArray.add(adjMatrix[i][j] < Double.POSITIVE_INFINITY ? adjMatrix[i][j] : null);
+                rowArray.add(adjMatrix.hasEdge(i, j) ? adjMatrix.get(i, j) : null);
             }
             adjacencyMatrixArray.add(rowArray);
         }
@@ -748,10 +803,10 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
         JSONArray edgeWeightsArray = new JSONArray();
         for (int i = 0; i < numVertices; i++) {
             for (int j = numVertices - 1; j > i; j--) {
-                if (adjMatrix[i][j] < Double.POSITIVE_INFINITY) {
+                if (adjMatrix.hasEdge(i, j)) {
                     JSONObject edgeObject = new JSONObject();
                     edgeObject.put("index", i + " to " + j);
-                    edgeObject.put("weight", adjMatrix[i][j]);
+                    edgeObject.put("weight", adjMatrix.get(i, j));
                     edgeWeightsArray.add(edgeObject);
                 }
             }
@@ -838,8 +893,10 @@ public class Network<T> extends Graph<T> implements NetworkADT<T> {
         int index2 = getIndex(vertex2);
 
         if (indexIsValid(index1) && indexIsValid(index2)) {
-            adjMatrix[index1][index2] = weight;
-            adjMatrix[index2][index1] = weight;
+            adjMatrix = adjMatrix.fitting(weight);
+            adjMatrix.set(index1, index2, weight);
+            adjMatrix.set(index2, index1, weight);
+            modified();
         }
     }
 }
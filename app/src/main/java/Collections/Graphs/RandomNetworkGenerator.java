@@ -0,0 +1,705 @@
+package Collections.Graphs;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates random connected networks in O(V + E).
+ * <p>
+ * A random spanning tree is built first: the vertices are visited in a random order and each one is linked, in
+ * both directions, to a random vertex visited before it, so every vertex can reach every other one whatever the
+ * density. The missing pairs are then chosen among the other pairs {@code (i, j)} with {@code i < j}, in the
+ * order of their linear index, by selection sampling (Knuth's algorithm S): each pair is chosen with probability
+ * needed / remaining, so exactly the number of pairs asked for by the density is connected and every set of
+ * pairs of that size is equally likely. The gap to the next chosen pair is drawn directly with Vitter's method D
+ * instead of testing every pair, so the work depends on the number of edges and not on the V² pairs.
+ * </p>
+ * <p>
+ * In a directed network each sampled pair gets one edge in a random direction or an edge in both directions.
+ * In a bidirectional network every pair gets both edges with the same weight. Weights are integers between 1
+ * and {@code maxWeight}.
+ * </p>
+ * <p>
+ * {@link #generateParallel(long, ForkJoinPool)} splits the pair index into chunks of {@link #CHUNK_PAIRS} pairs
+ * sampled by independent tasks with geometric skips, each with its own {@link SplittableRandom} split from the seed in chunk order.
+ * The chunks do not depend on the number of threads, and their edges are copied into disjoint ranges of the
+ * result without locking, so a seed always gives the same network.
+ * </p>
+ */
+public class RandomNetworkGenerator {
+    /**
+     * The largest edge weight used by default.
+     */
+    public static final int DEFAULT_MAX_WEIGHT = 15;
+
+    /**
+     * The number of pairs sampled by each task of the parallel generation.
+     */
+    public static final long CHUNK_PAIRS = 1L << 20;
+
+    private final int numVertices;
+    private final boolean bidirectional;
+    private final double density;
+    private final int maxWeight;
+
+    private int[] sources;
+    private int[] targets;
+    private double[] weights;
+    private int numEdges;
+    private int numPairs;
+
+    /**
+     * Creates a generator with the default maximum weight.
+     *
+     * @param numVertices   the number of vertices
+     * @param bidirectional true if every pair is connected in both directions
+     * @param density       the fraction of the V(V - 1) / 2 pairs that are connected
+     * @throws IllegalArgumentException if the number of vertices is negative or the density is outside [0, 1]
+     */
+    public RandomNetworkGenerator(int numVertices, boolean bidirectional, double density) throws IllegalArgumentException {
+        this(numVertices, bidirectional, density, DEFAULT_MAX_WEIGHT);
+    }
+
+    /**
+     * Creates a generator.
+     *
+     * @param numVertices   the number of vertices
+     * @param bidirectional true if every pair is connected in both directions
+     * @param density       the fraction of the V(V - 1) / 2 pairs that are connected
+     * @param maxWeight     the largest edge weight
+     * @throws IllegalArgumentException if the number of vertices is negative, the density is outside [0, 1] or
+     *                                  the maximum weight is not positive
+     */
+    public RandomNetworkGenerator(int numVertices, boolean bidirectional, double density, int maxWeight) throws IllegalArgumentException {
+        if (numVertices < 0) {
+            throw new IllegalArgumentException("Number of vertices must not be negative.");
+        }
+        if (density < 0 || density > 1) {
+            throw new IllegalArgumentException("Density must be between 0 and 1.");
+        }
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be positive.");
+        }
+        this.numVertices = numVertices;
+        this.bidirectional = bidirectional;
+        this.density = density;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Generates a new set of edges, replacing the previous one.
+     * The number of connected pairs is exactly the one asked for by the density, or V - 1 if that is larger.
+     *
+     * @param random the source of randomness
+     */
+    public void generate(RandomGenerator random) {
+        long wanted = wantedPairs();
+        EdgeBuffer buffer = new EdgeBuffer((int) (bidirectional ? 2 * wanted : wanted + wanted / 2));
+        int[] parent = spanningTree(buffer, random);
+        long missing = wanted - buffer.pairs;
+        if (missing > 0) {
+            select(buffer, treePairs(parent), missing, random);
+        }
+        setEdges(buffer);
+    }
+
+    /**
+     * Generates a new set of edges on the common pool, replacing the previous one.
+     *
+     * @param seed the seed of the random streams
+     * @see #generateParallel(long, ForkJoinPool)
+     */
+    public void generateParallel(long seed) {
+        generateParallel(seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates a new set of edges in parallel, replacing the previous one.
+     * <p>
+     * Every pair outside the spanning tree is chosen independently with the probability that gives the density
+     * on average, so the number of connected pairs varies slightly around the one asked for. The result only
+     * depends on the seed, not on the pool.
+     * </p>
+     *
+     * @param seed the seed of the random streams
+     * @param pool the pool running the tasks
+     */
+    public void generateParallel(long seed, ForkJoinPool pool) {
+        long wanted = wantedPairs();
+        SplittableRandom root = new SplittableRandom(seed);
+        EdgeBuffer tree = new EdgeBuffer(2 * numVertices);
+        int[] parent = spanningTree(tree, root.split());
+        double p = probability(tree.pairs);
+
+        long total = totalPairs();
+        int numChunks = (int) ((total + CHUNK_PAIRS - 1) / CHUNK_PAIRS);
+        Chunk[] chunks = new Chunk[numChunks + 1];
+        chunks[0] = new Chunk(tree);
+        int expected = (int) (p * CHUNK_PAIRS * (bidirectional ? 2 : 1.5)) + 16;
+        for (int c = 0; c < numChunks; c++) {
+            long begin = c * CHUNK_PAIRS;
+            long end = Math.min(total, begin + CHUNK_PAIRS);
+            chunks[c + 1] = new Chunk(parent, begin, end, p, expected, root.split());
+        }
+        if (wanted > tree.pairs) {
+            pool.invoke(new Phase(chunks, 0, chunks.length, false));
+        }
+
+        int edges = 0;
+        int pairs = 0;
+        for (Chunk chunk : chunks) {
+            chunk.offset = edges;
+            edges += chunk.buffer.size;
+            pairs += chunk.buffer.pairs;
+        }
+        EdgeBuffer merged = new EdgeBuffer(edges);
+        merged.size = edges;
+        merged.pairs = pairs;
+        for (Chunk chunk : chunks) {
+            chunk.result = merged;
+        }
+        pool.invoke(new Phase(chunks, 0, chunks.length, true));
+        setEdges(merged);
+    }
+
+    /**
+     * Returns the number of pairs to connect, at least the V - 1 of the spanning tree.
+     *
+     * @return the number of pairs
+     * @throws IllegalArgumentException if the edges would not fit in an array
+     */
+    private long wantedPairs() throws IllegalArgumentException {
+        long wanted = Math.max(numVertices - 1, (long) (density * totalPairs()));
+        if (wanted > Integer.MAX_VALUE / 2 - 16) {
+            throw new IllegalArgumentException("Too many edges for " + numVertices + " vertices with density " + density + ".");
+        }
+        return Math.max(wanted, 0);
+    }
+
+    private long totalPairs() {
+        return (long) numVertices * (numVertices - 1) / 2;
+    }
+
+    /**
+     * Returns the probability of connecting a pair outside the spanning tree.
+     *
+     * @param treePairs the number of pairs of the spanning tree
+     * @return the probability, between 0 and 1
+     */
+    private double probability(int treePairs) {
+        long candidates = totalPairs() - treePairs;
+        long missing = wantedPairs() - treePairs;
+        if (missing <= 0 || candidates <= 0) {
+            return 0;
+        }
+        return Math.min(1.0, (double) missing / candidates);
+    }
+
+    /**
+     * Links every vertex to a random vertex visited before it in a random order.
+     *
+     * @param buffer the buffer receiving the edges of the tree
+     * @param random the source of randomness
+     * @return the parent of every vertex in the tree, -1 for the root
+     */
+    private int[] spanningTree(EdgeBuffer buffer, RandomGenerator random) {
+        int n = numVertices;
+        int[] parent = new int[Math.max(n, 1)];
+        int[] order = new int[Math.max(n, 1)];
+        for (int i = 0; i < n; i++) {
+            int j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+        if (n > 0) {
+            parent[order[0]] = -1;
+        }
+        for (int k = 1; k < n; k++) {
+            int vertex = order[k];
+            int other = order[random.nextInt(k)];
+            parent[vertex] = other;
+            connect(buffer, vertex, other, true, random);
+        }
+        return parent;
+    }
+
+    /**
+     * Returns the linear indices of the pairs of the spanning tree, in increasing order.
+     *
+     * @param parent the parents in the spanning tree
+     * @return the sorted pair indices
+     */
+    private long[] treePairs(int[] parent) {
+        long[] pairs = new long[Math.max(numVertices - 1, 0)];
+        int size = 0;
+        for (int vertex = 0; vertex < numVertices; vertex++) {
+            if (parent[vertex] >= 0) {
+                int i = Math.min(vertex, parent[vertex]);
+                int j = Math.max(vertex, parent[vertex]);
+                pairs[size++] = rowStart(i) + (j - i - 1);
+            }
+        }
+        Arrays.sort(pairs, 0, size);
+        return pairs;
+    }
+
+    /**
+     * Connects exactly the given number of pairs outside the spanning tree, chosen uniformly among them.
+     * <p>
+     * The candidates are numbered in the order of their linear index, leaving out the pairs of the tree, and
+     * {@link Selection} draws the gaps between the chosen ones. As the chosen numbers only grow, the pair index is
+     * the number plus the count of tree pairs before it, found by advancing through the sorted tree pairs.
+     * </p>
+     *
+     * @param buffer the buffer receiving the edges
+     * @param tree   the sorted linear indices of the pairs of the spanning tree
+     * @param count  the number of pairs to connect
+     * @param random the source of randomness
+     */
+    private void select(EdgeBuffer buffer, long[] tree, long count, RandomGenerator random) {
+        int n = numVertices;
+        Selection selection = new Selection(count, totalPairs() - tree.length, random);
+        long candidate = -1;
+        int skipped = 0;
+        long k = -1;
+        int i = -1;
+        long j = 0;
+        while (selection.hasNext()) {
+            candidate += selection.nextSkip() + 1;
+            while (skipped < tree.length && tree[skipped] <= candidate + skipped) {
+                skipped++;
+            }
+            long next = candidate + skipped;
+            if (i < 0) {
+                i = rowOf(next);
+                j = i + 1 + (next - rowStart(i));
+            } else {
+                j += next - k;
+                while (j >= n) {
+                    j = j - n + i + 2;
+                    i++;
+                }
+            }
+            k = next;
+            connect(buffer, i, (int) j, bidirectional || random.nextInt(4) > 1, random);
+        }
+    }
+
+    /**
+     * Connects the pairs with linear index in {@code [begin, end)} chosen independently with the given
+     * probability, skipping the pairs of the spanning tree.
+     *
+     * @param buffer the buffer receiving the edges
+     * @param parent the parents in the spanning tree
+     * @param begin  the first pair index
+     * @param end    the pair index after the last one
+     * @param p      the probability of choosing a pair
+     * @param random the source of randomness
+     */
+    private void sample(EdgeBuffer buffer, int[] parent, long begin, long end, double p, RandomGenerator random) {
+        if (p <= 0) {
+            return;
+        }
+        int n = numVertices;
+        double logQ = Math.log(1.0 - p);
+        long k = begin - 1;
+        int i = -1;
+        long j = 0;
+        while (true) {
+            long skip = p >= 1.0 ? 0 : (long) Math.floor(Math.log(1.0 - random.nextDouble()) / logQ);
+            if (skip >= end - 1 - k) {
+                return;
+            }
+            k += skip + 1;
+            if (i < 0) {
+                i = rowOf(k);
+                j = i + 1 + (k - rowStart(i));
+            } else {
+                j += skip + 1;
+                while (j >= n) {
+                    j = j - n + i + 2;
+                    i++;
+                }
+            }
+            if (parent[i] == j || parent[(int) j] == i) {
+                continue;
+            }
+            connect(buffer, i, (int) j, bidirectional || random.nextInt(4) > 1, random);
+        }
+    }
+
+    /**
+     * Returns the linear index of the first pair {@code (i, i + 1)} of a row.
+     *
+     * @param i the row
+     * @return the index of the first pair of the row
+     */
+    private long rowStart(long i) {
+        return i * numVertices - i * (i + 1) / 2;
+    }
+
+    /**
+     * Returns the row {@code i} of the pair {@code (i, j)} with the given linear index.
+     *
+     * @param k the pair index
+     * @return the row of the pair
+     */
+    private int rowOf(long k) {
+        double b = 2.0 * numVertices - 1;
+        long i = (long) ((b - Math.sqrt(Math.max(0, b * b - 8.0 * k))) / 2);
+        i = Math.max(0, Math.min(i, numVertices - 2));
+        while (i > 0 && rowStart(i) > k) {
+            i--;
+        }
+        while (i < numVertices - 2 && rowStart(i + 1) <= k) {
+            i++;
+        }
+        return (int) i;
+    }
+
+    /**
+     * Connects a pair of vertices with a random weight, in both directions or in one random direction.
+     *
+     * @param buffer the buffer receiving the edges
+     * @param index1 the first vertex index
+     * @param index2 the second vertex index
+     * @param both   true if the pair gets an edge in each direction
+     * @param random the source of randomness
+     */
+    private void connect(EdgeBuffer buffer, int index1, int index2, boolean both, RandomGenerator random) {
+        double weight = random.nextInt(maxWeight) + 1;
+        if (both) {
+            buffer.add(index1, index2, weight);
+            buffer.add(index2, index1, weight);
+        } else if (random.nextBoolean()) {
+            buffer.add(index1, index2, weight);
+        } else {
+            buffer.add(index2, index1, weight);
+        }
+        buffer.pairs++;
+    }
+
+    private void setEdges(EdgeBuffer buffer) {
+        this.sources = buffer.sources;
+        this.targets = buffer.targets;
+        this.weights = buffer.weights;
+        this.numEdges = buffer.size;
+        this.numPairs = buffer.pairs;
+    }
+
+    /**
+     * Builds a compressed network over the given vertices with the generated edges.
+     *
+     * @param vertices the vertex values, one per vertex index
+     * @param <T>      the type of the vertices
+     * @return the generated network
+     * @throws IllegalArgumentException if the number of vertices is not the one of the generator
+     * @throws IllegalStateException    if no network has been generated
+     */
+    public <T> CSRNetwork<T> toCompressedNetwork(T[] vertices) throws IllegalArgumentException, IllegalStateException {
+        if (vertices.length != numVertices) {
+            throw new IllegalArgumentException("Expected " + numVertices + " vertices.");
+        }
+        ensureGenerated();
+        int[] edgeSources = new int[numEdges];
+        int[] edgeTargets = new int[numEdges];
+        double[] edgeWeights = new double[numEdges];
+        System.arraycopy(sources, 0, edgeSources, 0, numEdges);
+        System.arraycopy(targets, 0, edgeTargets, 0, numEdges);
+        System.arraycopy(weights, 0, edgeWeights, 0, numEdges);
+        return new CSRNetwork<>(vertices, edgeSources, edgeTargets, edgeWeights);
+    }
+
+    /**
+     * Returns the number of generated edges, counting each direction of a pair.
+     *
+     * @return the number of edges
+     * @throws IllegalStateException if no network has been generated
+     */
+    public int numEdges() throws IllegalStateException {
+        ensureGenerated();
+        return numEdges;
+    }
+
+    /**
+     * Returns the number of connected pairs of vertices.
+     *
+     * @return the number of pairs
+     * @throws IllegalStateException if no network has been generated
+     */
+    public int numPairs() throws IllegalStateException {
+        ensureGenerated();
+        return numPairs;
+    }
+
+    /**
+     * Returns the source index of a generated edge.
+     *
+     * @param edge the edge position, between 0 and {@code numEdges() - 1}
+     * @return the source vertex index
+     * @throws IllegalStateException if no network has been generated
+     */
+    public int edgeSource(int edge) throws IllegalStateException {
+        ensureGenerated();
+        return sources[edge];
+    }
+
+    /**
+     * Returns the target index of a generated edge.
+     *
+     * @param edge the edge position, between 0 and {@code numEdges() - 1}
+     * @return the target vertex index
+     * @throws IllegalStateException if no network has been generated
+     */
+    public int edgeTarget(int edge) throws IllegalStateException {
+        ensureGenerated();
+        return targets[edge];
+    }
+
+    /**
+     * Returns the weight of a generated edge.
+     *
+     * @param edge the edge position, between 0 and {@code numEdges() - 1}
+     * @return the edge weight
+     * @throws IllegalStateException if no network has been generated
+     */
+    public double edgeWeight(int edge) throws IllegalStateException {
+        ensureGenerated();
+        return weights[edge];
+    }
+
+    private void ensureGenerated() throws IllegalStateException {
+        if (sources == null) {
+            throw new IllegalStateException("No network has been generated yet.");
+        }
+    }
+
+    /**
+     * Draws the gaps of a selection sample of {@code n} records out of {@code N} with Vitter's method D
+     * ("An efficient algorithm for sequential random sampling", 1987).
+     * <p>
+     * Algorithm S walks the records in order and selects each one with probability n / N, the number still
+     * needed over the number left. Method D draws the number of records skipped before the next selected one from
+     * the same distribution by rejection, in constant expected time, and falls back to computing it record by
+     * record (method A) once the sample is a large part of what is left, where that is cheaper.
+     * </p>
+     */
+    private static class Selection {
+        /**
+         * Method A is used once n * ALPHA_INVERSE is at least N.
+         */
+        private static final int ALPHA_INVERSE = 13;
+
+        private final RandomGenerator random;
+        private long n;
+        private long N;
+        private double vPrime;
+
+        Selection(long n, long N, RandomGenerator random) {
+            this.random = random;
+            this.n = Math.min(n, N);
+            this.N = N;
+            this.vPrime = Math.exp(Math.log(random.nextDouble()) / this.n);
+        }
+
+        boolean hasNext() {
+            return n > 0;
+        }
+
+        /**
+         * Returns the number of records skipped before the next selected one, and consumes them.
+         *
+         * @return the number of skipped records
+         */
+        long nextSkip() {
+            long skip;
+            if (n == 1) {
+                skip = (long) (N * random.nextDouble());
+            } else if (n * ALPHA_INVERSE >= N) {
+                skip = skipA();
+            } else {
+                skip = skipD();
+            }
+            N -= skip + 1;
+            n--;
+            return skip;
+        }
+
+        private long skipA() {
+            double v = random.nextDouble();
+            long skip = 0;
+            double top = N - n;
+            double total = N;
+            double quotient = top / total;
+            while (quotient > v) {
+                skip++;
+                top--;
+                total--;
+                quotient = quotient * top / total;
+            }
+            return skip;
+        }
+
+        private long skipD() {
+            double nReal = n;
+            double nReal1Inverse = 1.0 / (nReal - 1);
+            double total = N;
+            long limitSkip = N - n + 1;
+            double limitReal = limitSkip;
+            while (true) {
+                double x;
+                long skip;
+                while (true) {
+                    x = total * (1.0 - vPrime);
+                    skip = (long) x;
+                    if (skip < limitSkip) {
+                        break;
+                    }
+                    vPrime = Math.exp(Math.log(random.nextDouble()) / nReal);
+                }
+                double u = random.nextDouble();
+                double y1 = Math.exp(Math.log(u * total / limitReal) * nReal1Inverse);
+                vPrime = y1 * (1.0 - x / total) * (limitReal / (limitReal - skip));
+                if (vPrime <= 1.0) {
+                    return skip;
+                }
+                double y2 = 1.0;
+                double top = total - 1;
+                double bottom;
+                long limit;
+                if (n - 1 > skip) {
+                    bottom = total - nReal;
+                    limit = N - skip;
+                } else {
+                    bottom = total - skip - 1;
+                    limit = limitSkip;
+                }
+                for (long t = N - 1; t >= limit; t--) {
+                    y2 = y2 * top / bottom;
+                    top--;
+                    bottom--;
+                }
+                if (total / (total - x) >= y1 * Math.exp(Math.log(y2) * nReal1Inverse)) {
+                    vPrime = Math.exp(Math.log(random.nextDouble()) * nReal1Inverse);
+                    return skip;
+                }
+                vPrime = Math.exp(Math.log(random.nextDouble()) / nReal);
+            }
+        }
+    }
+
+    /**
+     * A growable list of edges.
+     */
+    private static class EdgeBuffer {
+        private int[] sources;
+        private int[] targets;
+        private double[] weights;
+        private int size;
+        private int pairs;
+
+        EdgeBuffer(int capacity) {
+            this.sources = new int[Math.max(capacity, 1)];
+            this.targets = new int[sources.length];
+            this.weights = new double[sources.length];
+        }
+
+        void add(int source, int target, double weight) {
+            if (size == sources.length) {
+                int[] largerSources = new int[sources.length * 2];
+                int[] largerTargets = new int[sources.length * 2];
+                double[] largerWeights = new double[sources.length * 2];
+                System.arraycopy(sources, 0, largerSources, 0, size);
+                System.arraycopy(targets, 0, largerTargets, 0, size);
+                System.arraycopy(weights, 0, largerWeights, 0, size);
+                sources = largerSources;
+                targets = largerTargets;
+                weights = largerWeights;
+            }
+            sources[size] = source;
+            targets[size] = target;
+            weights[size] = weight;
+            size++;
+        }
+    }
+
+    /**
+     * A range of pair indices sampled with its own random stream, or the spanning tree when it has no stream.
+     */
+    private class Chunk {
+        private final int[] parent;
+        private final long begin;
+        private final long end;
+        private final double p;
+        private final SplittableRandom random;
+        private EdgeBuffer buffer;
+        private EdgeBuffer result;
+        private int offset;
+
+        Chunk(EdgeBuffer tree) {
+            this.parent = null;
+            this.begin = 0;
+            this.end = 0;
+            this.p = 0;
+            this.random = null;
+            this.buffer = tree;
+        }
+
+        Chunk(int[] parent, long begin, long end, double p, int capacity, SplittableRandom random) {
+            this.parent = parent;
+            this.begin = begin;
+            this.end = end;
+            this.p = p;
+            this.random = random;
+            this.buffer = new EdgeBuffer(capacity);
+        }
+
+        void sample() {
+            if (random != null) {
+                RandomNetworkGenerator.this.sample(buffer, parent, begin, end, p, random);
+            }
+        }
+
+        void copy() {
+            System.arraycopy(buffer.sources, 0, result.sources, offset, buffer.size);
+            System.arraycopy(buffer.targets, 0, result.targets, offset, buffer.size);
+            System.arraycopy(buffer.weights, 0, result.weights, offset, buffer.size);
+        }
+    }
+
+    /**
+     * Samples or copies a range of chunks, splitting it in halves that run in parallel.
+     */
+    private static class Phase extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Chunk[] chunks;
+        private final int from;
+        private final int to;
+        private final boolean copying;
+
+        Phase(Chunk[] chunks, int from, int to, boolean copying) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.copying = copying;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                if (copying) {
+                    chunks[from].copy();
+                } else {
+                    chunks[from].sample();
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Phase(chunks, from, middle, copying), new Phase(chunks, middle, to, copying));
+        }
+    }
+}
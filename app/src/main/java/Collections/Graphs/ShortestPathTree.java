@@ -0,0 +1,108 @@
+package Collections.Graphs;
+
+import Collections.Lists.ArrayUnorderedList;
+import Collections.Stacks.LinkedStack;
+
+import java.util.Iterator;
+
+/**
+ * The result of a single source shortest path search: for every vertex, its distance from the source and its
+ * predecessor on a shortest path. One tree answers the path queries from its source to every other vertex,
+ * each in time proportional to the length of the path.
+ */
+public class ShortestPathTree {
+    private final int source;
+    private final int[] predecessor;
+    private final double[] distance;
+
+    /**
+     * Creates a tree from the arrays filled by a search. The arrays are kept, not copied.
+     *
+     * @param source      the index of the source vertex
+     * @param predecessor the predecessor of each vertex, -1 for the source and unreached vertices
+     * @param distance    the distance of each vertex, {@code Double.POSITIVE_INFINITY} if unreached
+     */
+    public ShortestPathTree(int source, int[] predecessor, double[] distance) {
+        this.source = source;
+        this.predecessor = predecessor;
+        this.distance = distance;
+    }
+
+    /**
+     * Returns the index of the source vertex of this tree.
+     *
+     * @return the source index
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the number of vertices covered by this tree.
+     *
+     * @return the number of vertices of the searched network
+     */
+    public int size() {
+        return predecessor.length;
+    }
+
+    /**
+     * Returns true if there is a path from the source to the target.
+     *
+     * @param targetIndex the index of the target vertex
+     * @return true if the target was reached
+     */
+    public boolean hasPathTo(int targetIndex) {
+        return targetIndex >= 0 && targetIndex < distance.length && distance[targetIndex] < Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the weight of the shortest path from the source to the target.
+     *
+     * @param targetIndex the index of the target vertex
+     * @return the path weight, or {@code Double.POSITIVE_INFINITY} if there is no path
+     */
+    public double distanceTo(int targetIndex) {
+        if (!hasPathTo(targetIndex)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return distance[targetIndex];
+    }
+
+    /**
+     * Returns the vertex before the given one on the shortest path from the source.
+     *
+     * @param index the vertex index
+     * @return the predecessor index, or -1 for the source and unreached vertices
+     */
+    public int getPredecessor(int index) {
+        return predecessor[index];
+    }
+
+    /**
+     * Returns the indices of the shortest path from the source to the target, source first.
+     * Like {@link Network#iteratorShortestPath(int, int)}, the path is empty when the target is the source.
+     *
+     * @param targetIndex the index of the target vertex
+     * @return an iterator over the indices of the path, empty if there is none
+     */
+    public Iterator<Integer> iteratorPathIndices(int targetIndex) {
+        ArrayUnorderedList<Integer> resultList = new ArrayUnorderedList<>();
+        if (!hasPathTo(targetIndex) || targetIndex == source) {
+            return resultList.iterator();
+        }
+
+        LinkedStack<Integer> stack = new LinkedStack<>();
+        int index = targetIndex;
+        stack.push(index);
+        do {
+            index = predecessor[index];
+            stack.push(index);
+        } while (index != source);
+
+        while (!stack.isEmpty()) {
+            resultList.addToRear(stack.pop());
+        }
+        return resultList.iterator();
+    }
+}
@@ -0,0 +1,140 @@
+package Collections.Graphs;
+
+/**
+ * Strongly connected components of a directed network, found with Tarjan's algorithm in O(V + E).
+ * <p>
+ * Two vertices are in the same component when each can reach the other. The depth first search keeps its own
+ * stack of vertices and edge positions in primitive arrays, so deep networks do not overflow the call stack.
+ * Components are numbered in the order they are completed, which is a reverse topological order of the
+ * condensed network: every edge between components goes from a higher id to a lower id.
+ * </p>
+ */
+public class StronglyConnectedComponents {
+    private final int[] component;
+    private final int[] componentSize;
+    private final int count;
+
+    /**
+     * Finds the strongly connected components of the given network.
+     *
+     * @param network the network
+     */
+    public StronglyConnectedComponents(CSRNetwork<?> network) {
+        int n = network.size();
+        int[] order = new int[n];
+        int[] low = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callStack = new int[n];
+        int[] edgePosition = new int[n];
+        int stackSize = 0;
+        int counter = 0;
+        int components = 0;
+
+        this.component = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = -1;
+        }
+
+        for (int root = 0; root < n; root++) {
+            if (order[root] != -1) {
+                continue;
+            }
+
+            int callSize = 0;
+            order[root] = low[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            callStack[callSize++] = root;
+            edgePosition[root] = network.edgeBegin(root);
+
+            while (callSize > 0) {
+                int v = callStack[callSize - 1];
+                if (edgePosition[v] < network.edgeEnd(v)) {
+                    int w = network.edgeTarget(edgePosition[v]++);
+                    if (order[w] == -1) {
+                        order[w] = low[w] = counter++;
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        callStack[callSize++] = w;
+                        edgePosition[w] = network.edgeBegin(w);
+                    } else if (onStack[w] && order[w] < low[v]) {
+                        low[v] = order[w];
+                    }
+                } else {
+                    callSize--;
+                    if (low[v] == order[v]) {
+                        int w;
+                        do {
+                            w = stack[--stackSize];
+                            onStack[w] = false;
+                            component[w] = components;
+                        } while (w != v);
+                        components++;
+                    }
+                    if (callSize > 0) {
+                        int parent = callStack[callSize - 1];
+                        if (low[v] < low[parent]) {
+                            low[parent] = low[v];
+                        }
+                    }
+                }
+            }
+        }
+
+        this.count = components;
+        this.componentSize = new int[components];
+        for (int i = 0; i < n; i++) {
+            componentSize[component[i]]++;
+        }
+    }
+
+    /**
+     * Returns the number of strongly connected components.
+     *
+     * @return the number of components, 0 for an empty network
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns the component of a vertex.
+     *
+     * @param index the vertex index
+     * @return the id of the component, between 0 and {@code count() - 1}
+     */
+    public int getComponent(int index) {
+        return component[index];
+    }
+
+    /**
+     * Returns the number of vertices of a component.
+     *
+     * @param componentId the id of the component
+     * @return the number of vertices in the component
+     */
+    public int getComponentSize(int componentId) {
+        return componentSize[componentId];
+    }
+
+    /**
+     * Returns true if each of two vertices can reach the other.
+     *
+     * @param index1 the first vertex index
+     * @param index2 the second vertex index
+     * @return true if both vertices are in the same component
+     */
+    public boolean stronglyConnected(int index1, int index2) {
+        return component[index1] == component[index2];
+    }
+
+    /**
+     * Returns true if every vertex can reach every other vertex.
+     *
+     * @return true if the network is a single non empty component
+     */
+    public boolean isStronglyConnected() {
+        return count == 1;
+    }
+}
@@ -0,0 +1,440 @@
+package Collections.Graphs;
+
+/**
+ * The square matrix of edge weights of a {@link Network}, stored in the narrowest type that holds them.
+ * <p>
+ * Whole weights from 0 to 254 are stored in one byte and whole weights from 0 to 65534 in two, shifted by one so
+ * that zero marks a missing edge; any other weight needs a {@code double}, whose bits are stored relative to those
+ * of {@code Double.POSITIVE_INFINITY}, so a missing edge is zero there as well. A new matrix therefore has no
+ * edges without being filled, and cells left empty stay empty when it grows. Weights are converted to {@code double} when they are read, so the storage is
+ * invisible to the network's users. A matrix of one byte per cell takes an eighth of the memory of a matrix of
+ * doubles, and more of its rows fit in the processor caches during traversals.
+ * </p>
+ * <p>
+ * The cells are kept in one flat array. A symmetric matrix, where the edge from i to j always has the weight of
+ * the edge from j to i, keeps only the triangle with {@code i >= j}, row after row, and halves the memory again.
+ * Its rows keep their position when the matrix grows, so resizing it is a single copy.
+ * </p>
+ */
+public abstract class WeightMatrix {
+    /**
+     * The largest capacity of a matrix that is not symmetric, whose cells must fit in one array.
+     */
+    public static final int MAX_CAPACITY = 46340;
+
+    /**
+     * The largest capacity of a symmetric matrix.
+     */
+    public static final int MAX_SYMMETRIC_CAPACITY = 65535;
+
+    protected final int capacity;
+    protected final boolean symmetric;
+
+    private WeightMatrix(int capacity, boolean symmetric) throws IllegalArgumentException {
+        if (capacity < 0 || capacity > (symmetric ? MAX_SYMMETRIC_CAPACITY : MAX_CAPACITY)) {
+            throw new IllegalArgumentException("Invalid weight matrix capacity " + capacity + ".");
+        }
+        this.capacity = capacity;
+        this.symmetric = symmetric;
+    }
+
+    /**
+     * Creates a matrix of one byte per cell, which is widened as heavier weights are stored.
+     *
+     * @param capacity the number of rows and columns
+     * @return the matrix
+     * @throws IllegalArgumentException if the capacity is negative or larger than {@link #MAX_CAPACITY}
+     */
+    public static WeightMatrix create(int capacity) throws IllegalArgumentException {
+        return new ByteMatrix(capacity, false);
+    }
+
+    /**
+     * Returns the weight of an edge.
+     *
+     * @param index1 the source vertex index
+     * @param index2 the target vertex index
+     * @return the weight, or {@code Double.POSITIVE_INFINITY} if there is no edge
+     */
+    public abstract double get(int index1, int index2);
+
+    /**
+     * Checks whether there is an edge, without converting its weight.
+     *
+     * @param index1 the source vertex index
+     * @param index2 the target vertex index
+     * @return true if there is an edge
+     */
+    public abstract boolean hasEdge(int index1, int index2);
+
+    /**
+     * Stores the weight of an edge, which must fit this matrix (see {@link #fitting(double)}). In a symmetric
+     * matrix it is also the weight of the edge in the opposite direction.
+     *
+     * @param index1 the source vertex index
+     * @param index2 the target vertex index
+     * @param weight the weight, or {@code Double.POSITIVE_INFINITY} to remove the edge
+     */
+    public abstract void set(int index1, int index2, double weight);
+
+    /**
+     * Returns the number of bytes of each cell.
+     *
+     * @return 1, 2 or 8
+     */
+    public abstract int getWeightBytes();
+
+    /**
+     * Returns the number of rows and columns.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the largest capacity of a matrix with the layout of this one.
+     *
+     * @return {@link #MAX_SYMMETRIC_CAPACITY} if the matrix is symmetric, {@link #MAX_CAPACITY} otherwise
+     */
+    public int getMaxCapacity() {
+        return symmetric ? MAX_SYMMETRIC_CAPACITY : MAX_CAPACITY;
+    }
+
+    /**
+     * Checks whether the matrix keeps a single weight for both directions of an edge.
+     *
+     * @return true if the matrix is symmetric
+     */
+    public boolean isSymmetric() {
+        return symmetric;
+    }
+
+    /**
+     * Checks whether every edge among the first vertices has the weight of the edge in the opposite direction,
+     * so the weights can be kept in a symmetric matrix.
+     *
+     * @param numVertices the number of vertices checked
+     * @return true if the weights are symmetric
+     */
+    public boolean hasSymmetricWeights(int numVertices) {
+        if (symmetric) {
+            return true;
+        }
+        for (int i = 0; i < numVertices; i++) {
+            for (int j = 0; j < i; j++) {
+                if (Double.compare(get(i, j), get(j, i)) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a matrix holding the weight and every weight of this one, which is this matrix when the weight
+     * fits. The caller replaces its matrix with the result before storing the weight.
+     *
+     * @param weight the weight about to be stored
+     * @return a matrix that can store the weight
+     */
+    public WeightMatrix fitting(double weight) {
+        if (canStore(weight)) {
+            return this;
+        }
+        WeightMatrix wider = ShortMatrix.canHold(weight)
+                ? new ShortMatrix(capacity, symmetric) : new DoubleMatrix(capacity, symmetric);
+        wider.copyFrom(this, capacity);
+        return wider;
+    }
+
+    /**
+     * Returns a matrix of the same type and layout with a new capacity, keeping the weights among the first
+     * vertices.
+     *
+     * @param newCapacity the number of rows and columns of the new matrix
+     * @param numVertices the number of vertices whose weights are kept
+     * @return the new matrix
+     * @throws IllegalArgumentException if the new capacity is too large for the layout
+     */
+    public WeightMatrix resize(int newCapacity, int numVertices) throws IllegalArgumentException {
+        WeightMatrix resized = newMatrix(newCapacity, symmetric);
+        resized.copyFrom(this, numVertices);
+        return resized;
+    }
+
+    /**
+     * Returns a matrix of the same type and capacity with the given layout, keeping the weights among the first
+     * vertices. A symmetric matrix can only be made from symmetric weights (see {@link #hasSymmetricWeights(int)}).
+     *
+     * @param symmetric   whether the new matrix is symmetric
+     * @param numVertices the number of vertices whose weights are kept
+     * @return the new matrix, or this matrix if it already has the layout
+     * @throws IllegalArgumentException if the capacity is too large for the layout
+     */
+    public WeightMatrix withLayout(boolean symmetric, int numVertices) throws IllegalArgumentException {
+        if (symmetric == this.symmetric) {
+            return this;
+        }
+        WeightMatrix other = newMatrix(capacity, symmetric);
+        other.copyFrom(this, numVertices);
+        return other;
+    }
+
+    /**
+     * Removes the row and the column of a vertex, moving the following vertices one index down, and leaves the row
+     * and the column of the last vertex empty.
+     *
+     * @param index       the index of the removed vertex
+     * @param numVertices the number of vertices before the removal
+     */
+    public void removeVertex(int index, int numVertices) {
+        if (symmetric) {
+            // Cells are written in the order they are stored and each is read from a later row, never rewritten.
+            for (int i = index; i < numVertices - 1; i++) {
+                for (int j = 0; j <= i; j++) {
+                    set(i, j, get(i + 1, j < index ? j : j + 1));
+                }
+            }
+            clearVertex(numVertices - 1);
+            return;
+        }
+        for (int i = index; i < numVertices - 1; i++) {
+            for (int j = 0; j < numVertices; j++) {
+                set(i, j, get(i + 1, j));
+            }
+        }
+        for (int i = index; i < numVertices - 1; i++) {
+            for (int j = 0; j < numVertices - 1; j++) {
+                set(j, i, get(j, i + 1));
+            }
+        }
+        clearVertex(numVertices - 1);
+    }
+
+    /**
+     * Removes the edges of the last vertex, left in place when a vertex is removed, so that every cell outside
+     * the vertices in use is empty.
+     */
+    private void clearVertex(int index) {
+        for (int j = 0; j <= index; j++) {
+            set(index, j, Double.POSITIVE_INFINITY);
+            set(j, index, Double.POSITIVE_INFINITY);
+        }
+    }
+
+    protected abstract boolean canStore(double weight);
+
+    protected abstract WeightMatrix newMatrix(int newCapacity, boolean symmetric);
+
+    /**
+     * Copies the weights among the first vertices from a matrix of the same capacity or smaller.
+     */
+    protected void copyFrom(WeightMatrix other, int numVertices) {
+        copyWeights(other, numVertices);
+    }
+
+    private void copyWeights(WeightMatrix other, int numVertices) {
+        for (int i = 0; i < numVertices; i++) {
+            for (int j = 0; j < (symmetric ? i + 1 : numVertices); j++) {
+                set(i, j, other.get(i, j));
+            }
+        }
+    }
+
+    /**
+     * Copies the weights among the first vertices from the cell array of a matrix of the same type, without
+     * converting them.
+     */
+    protected void copyCells(WeightMatrix other, Object source, Object target, int numVertices) {
+        if (symmetric && other.symmetric) {
+            System.arraycopy(source, 0, target, 0, triangle(numVertices));
+        } else if (!symmetric && !other.symmetric) {
+            for (int i = 0; i < numVertices; i++) {
+                System.arraycopy(source, i * other.capacity, target, i * capacity, numVertices);
+            }
+        } else {
+            copyWeights(other, numVertices);
+        }
+    }
+
+    /**
+     * Returns the position of a cell in the flat array.
+     */
+    protected final int cell(int index1, int index2) {
+        if (!symmetric) {
+            return index1 * capacity + index2;
+        }
+        return index1 >= index2 ? triangle(index1) + index2 : triangle(index2) + index1;
+    }
+
+    /**
+     * Returns the number of cells in the first rows of a symmetric matrix. The product is read as unsigned, so it
+     * is exact up to {@link #MAX_SYMMETRIC_CAPACITY}.
+     */
+    private static int triangle(int rows) {
+        return (rows * (rows + 1)) >>> 1;
+    }
+
+    private static int length(int capacity, boolean symmetric) {
+        return symmetric ? triangle(capacity) : capacity * capacity;
+    }
+
+    private static boolean isWhole(double weight, int max) {
+        return weight >= 0 && weight <= max && weight == Math.rint(weight);
+    }
+
+    private static final class ByteMatrix extends WeightMatrix {
+        private static final int MAX_WEIGHT = 0xFE;
+        private final byte[] cells;
+
+        private ByteMatrix(int capacity, boolean symmetric) {
+            super(capacity, symmetric);
+            this.cells = new byte[length(capacity, symmetric)];
+        }
+
+        @Override
+        public double get(int index1, int index2) {
+            int value = cells[cell(index1, index2)] & 0xFF;
+            return value == 0 ? Double.POSITIVE_INFINITY : value - 1;
+        }
+
+        @Override
+        public boolean hasEdge(int index1, int index2) {
+            return cells[cell(index1, index2)] != 0;
+        }
+
+        @Override
+        public void set(int index1, int index2, double weight) {
+            cells[cell(index1, index2)] = (byte) (weight == Double.POSITIVE_INFINITY ? 0 : (int) weight + 1);
+        }
+
+        @Override
+        public int getWeightBytes() {
+            return 1;
+        }
+
+        @Override
+        protected boolean canStore(double weight) {
+            return weight == Double.POSITIVE_INFINITY || isWhole(weight, MAX_WEIGHT);
+        }
+
+        @Override
+        protected WeightMatrix newMatrix(int newCapacity, boolean symmetric) {
+            return new ByteMatrix(newCapacity, symmetric);
+        }
+
+        @Override
+        protected void copyFrom(WeightMatrix other, int numVertices) {
+            if (other instanceof ByteMatrix) {
+                copyCells(other, ((ByteMatrix) other).cells, cells, numVertices);
+            } else {
+                super.copyFrom(other, numVertices);
+            }
+        }
+    }
+
+    private static final class ShortMatrix extends WeightMatrix {
+        private static final int MAX_WEIGHT = 0xFFFE;
+        private final short[] cells;
+
+        private ShortMatrix(int capacity, boolean symmetric) {
+            super(capacity, symmetric);
+            this.cells = new short[length(capacity, symmetric)];
+        }
+
+        private static boolean canHold(double weight) {
+            return weight == Double.POSITIVE_INFINITY || isWhole(weight, MAX_WEIGHT);
+        }
+
+        @Override
+        public double get(int index1, int index2) {
+            int value = cells[cell(index1, index2)] & 0xFFFF;
+            return value == 0 ? Double.POSITIVE_INFINITY : value - 1;
+        }
+
+        @Override
+        public boolean hasEdge(int index1, int index2) {
+            return cells[cell(index1, index2)] != 0;
+        }
+
+        @Override
+        public void set(int index1, int index2, double weight) {
+            cells[cell(index1, index2)] = (short) (weight == Double.POSITIVE_INFINITY ? 0 : (int) weight + 1);
+        }
+
+        @Override
+        public int getWeightBytes() {
+            return 2;
+        }
+
+        @Override
+        protected boolean canStore(double weight) {
+            return canHold(weight);
+        }
+
+        @Override
+        protected WeightMatrix newMatrix(int newCapacity, boolean symmetric) {
+            return new ShortMatrix(newCapacity, symmetric);
+        }
+
+        @Override
+        protected void copyFrom(WeightMatrix other, int numVertices) {
+            if (other instanceof ShortMatrix) {
+                copyCells(other, ((ShortMatrix) other).cells, cells, numVertices);
+            } else {
+                super.copyFrom(other, numVertices);
+            }
+        }
+    }
+
+    private static final class DoubleMatrix extends WeightMatrix {
+        private static final long NO_EDGE_BITS = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+        private final long[] cells;
+
+        private DoubleMatrix(int capacity, boolean symmetric) {
+            super(capacity, symmetric);
+            this.cells = new long[length(capacity, symmetric)];
+        }
+
+        @Override
+        public double get(int index1, int index2) {
+            return Double.longBitsToDouble(cells[cell(index1, index2)] ^ NO_EDGE_BITS);
+        }
+
+        @Override
+        public boolean hasEdge(int index1, int index2) {
+            return get(index1, index2) < Double.POSITIVE_INFINITY;
+        }
+
+        @Override
+        public void set(int index1, int index2, double weight) {
+            cells[cell(index1, index2)] = Double.doubleToRawLongBits(weight) ^ NO_EDGE_BITS;
+        }
+
+        @Override
+        public int getWeightBytes() {
+            return 8;
+        }
+
+        @Override
+        protected boolean canStore(double weight) {
+            return true;
+        }
+
+        @Override
+        protected WeightMatrix newMatrix(int newCapacity, boolean symmetric) {
+            return new DoubleMatrix(newCapacity, symmetric);
+        }
+
+        @Override
+        protected void copyFrom(WeightMatrix other, int numVertices) {
+            if (other instanceof DoubleMatrix) {
+                copyCells(other, ((DoubleMatrix) other).cells, cells, numVertices);
+            } else {
+                super.copyFrom(other, numVertices);
+            }
+        }
+    }
+}
@@ -41,6 +41,22 @@ public class HashMap<K, V> implements MapADT<K, V> {
 
     @Override
     public void put(K key, V value) throws IllegalArgumentException {
+        insert(key, value, true);
+    }
+
+    /**
+     * Adds a key with a value only if the key is not in the map yet, with a single search of its bucket.
+     *
+     * @param key   the key
+     * @param value the value of the key if it is added
+     * @return the value the key already had, or null if it was added
+     * @throws IllegalArgumentException if the key is null
+     */
+    public V putIfAbsent(K key, V value) throws IllegalArgumentException {
+        return insert(key, value, false);
+    }
+
+    private V insert(K key, V value, boolean replace) throws IllegalArgumentException {
         if (key == null) {
             throw new IllegalArgumentException("Key cannot be null");
         }
@@ -50,8 +66,11 @@ public class HashMap<K, V> implements MapADT<K, V> {
         }
         for (TwoTypePair<K, V> entry : map[index]) {
             if (entry.getKey().equals(key)) {
-                entry.setValue(value);
-                return;
+                V previous = entry.getValue();
+                if (replace) {
+                    entry.setValue(value);
+                }
+                return previous;
             }
         }
         map[index].addToRear(new TwoTypePair<>(key, value));
@@ -59,6 +78,7 @@ public class HashMap<K, V> implements MapADT<K, V> {
         if (size > capacity * LOAD_FACTOR) {
             resize();
         }
+        return null;
     }
 
     @Override
@@ -92,26 +112,47 @@ public class HashMap<K, V> implements MapADT<K, V> {
         if (isEmpty()) {
             throw new EmptyCollectionException("Map is empty");
         }
-        int index = Math.abs(key.hashCode()) % capacity;
-        if (map[index] == null) {
+        TwoTypePair<K, V> entry = findEntry(key);
+        if (entry == null) {
             throw new NoSuchElementException("Key not found");
         }
-        for (TwoTypePair<K, V> entry : map[index]) {
-            if (entry.getKey().equals(key)) {
-                return entry.getValue();
-            }
-        }
-        throw new NoSuchElementException("Key not found");
+        return entry.getValue();
+    }
+
+    /**
+     * Returns the value of a key, or a default value when the key is not in the map.
+     * Unlike {@link #get(Object)}, a missing key is not an error, so callers that look up a key and act on
+     * whether it was found need a single lookup instead of a {@link #containsKey(Object)} followed by a get.
+     *
+     * @param key          the key
+     * @param defaultValue the value returned when the key is not in the map
+     * @return the value of the key, or the default value
+     * @throws IllegalArgumentException if the key is null
+     */
+    public V getOrDefault(K key, V defaultValue) throws IllegalArgumentException {
+        TwoTypePair<K, V> entry = findEntry(key);
+        return entry == null ? defaultValue : entry.getValue();
     }
 
     @Override
     public boolean containsKey(K key) throws IllegalArgumentException {
-        try {
-            get(key);
-            return true;
-        } catch (NoSuchElementException | EmptyCollectionException e) {
-            return false;
+        return findEntry(key) != null;
+    }
+
+    private TwoTypePair<K, V> findEntry(K key) throws IllegalArgumentException {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        int index = Math.abs(key.hashCode()) % capacity;
+        if (map[index] == null) {
+            return null;
+        }
+        for (TwoTypePair<K, V> entry : map[index]) {
+            if (entry.getKey().equals(key)) {
+                return entry;
+            }
         }
+        return null;
     }
 
     @Override
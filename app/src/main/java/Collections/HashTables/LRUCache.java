@@ -0,0 +1,157 @@
+package Collections.HashTables;
+
+import Collections.Exceptions.IllegalArgumentException;
+
+/**
+ * A cache with a fixed capacity that evicts the least recently used entry.
+ * <p>
+ * Entries are found through a {@link HashMap} and kept in a doubly linked list ordered by use, most recent first,
+ * so lookups, insertions and evictions take constant expected time.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class LRUCache<K, V> {
+
+    private final HashMap<K, Node<K, V>> entries;
+    private final int capacity;
+    private Node<K, V> head;
+    private Node<K, V> tail;
+    private int size;
+    private long hits;
+    private long misses;
+
+    public LRUCache(int capacity) throws IllegalArgumentException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.entries = new HashMap<>();
+        this.size = 0;
+    }
+
+    /**
+     * Returns the value of a key and marks it as the most recently used.
+     *
+     * @param key the key
+     * @return the cached value, or null if the key is not cached
+     */
+    public V get(K key) throws IllegalArgumentException {
+        Node<K, V> node = entries.getOrDefault(key, null);
+        if (node == null) {
+            misses++;
+            return null;
+        }
+        unlink(node);
+        linkFirst(node);
+        hits++;
+        return node.value;
+    }
+
+    /**
+     * Caches a value, evicting the least recently used entry when the cache is full.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(K key, V value) throws IllegalArgumentException {
+        Node<K, V> existing = entries.getOrDefault(key, null);
+        if (existing != null) {
+            existing.value = value;
+            unlink(existing);
+            linkFirst(existing);
+            return;
+        }
+        if (size == capacity) {
+            Node<K, V> eldest = tail;
+            unlink(eldest);
+            entries.remove(eldest.key);
+            size--;
+        }
+        Node<K, V> node = new Node<>(key, value);
+        entries.put(key, node);
+        linkFirst(node);
+        size++;
+    }
+
+    public boolean containsKey(K key) throws IllegalArgumentException {
+        return entries.containsKey(key);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of lookups that found their key.
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that did not find their key.
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    public void clear() {
+        entries.clear();
+        head = null;
+        tail = null;
+        size = 0;
+    }
+
+    private void linkFirst(Node<K, V> node) {
+        node.previous = null;
+        node.next = head;
+        if (head != null) {
+            head.previous = node;
+        }
+        head = node;
+        if (tail == null) {
+            tail = node;
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.previous != null) {
+            node.previous.next = node.next;
+        } else {
+            head = node.next;
+        }
+        if (node.next != null) {
+            node.next.previous = node.previous;
+        } else {
+            tail = node.previous;
+        }
+        node.previous = null;
+        node.next = null;
+    }
+
+    private static class Node<K, V> {
+        private final K key;
+        private V value;
+        private Node<K, V> previous;
+        private Node<K, V> next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package Collections.Queues;
+
+import Collections.Exceptions.EmptyCollectionException;
+import Collections.Exceptions.UnsupportedOperationException;
+
+/**
+ * A read-only queue over the elements of an array, which is shared rather than copied.
+ * <p>
+ * Dequeuing only advances the front of the view, the array itself is never modified, so several views can read
+ * the same array independently. Elements cannot be enqueued.
+ * </p>
+ *
+ * @param <T> the generic type of the elements in this collection
+ */
+public class ArrayQueueView<T> implements QueueADT<T> {
+    private final T[] elements;
+    private int front;
+
+    /**
+     * Constructs a view over all the elements of an array, the first element being the front of the queue.
+     *
+     * @param elements the array to read, which must not be modified while the view is in use
+     */
+    public ArrayQueueView(T[] elements) {
+        this.elements = elements;
+        this.front = 0;
+    }
+
+    @Override
+    public void enqueue(T element) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("A queue view cannot be modified.");
+    }
+
+    @Override
+    public T dequeue() throws EmptyCollectionException {
+        if (isEmpty()) throw new EmptyCollectionException();
+        return elements[front++];
+    }
+
+    @Override
+    public T first() throws EmptyCollectionException {
+        if (isEmpty()) throw new EmptyCollectionException();
+        return elements[front];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int size() {
+        return elements.length - front;
+    }
+
+    @Override
+    public String toString() {
+        String result = getClass().getSimpleName() + " { ";
+        for (int index = front; index < elements.length; index++) {
+            result += elements[index] + " ";
+        }
+        return result + "}";
+    }
+}
@@ -0,0 +1,225 @@
+package Collections.Trees;
+
+import Collections.Exceptions.EmptyCollectionException;
+import Collections.Exceptions.IllegalArgumentException;
+
+/**
+ * A binary min heap of integer handles ordered by primitive {@code double} priorities.
+ * <p>
+ * Handles are integers in {@code [0, capacity)}, typically vertex indices. Because the heap keeps the position
+ * of every handle, the priority of an element already in the heap can be lowered in O(log n) with
+ * {@link #decreaseKey(int, double)} instead of inserting a duplicate. No boxing takes place.
+ * </p>
+ */
+public class IndexedMinHeap {
+    private int[] heap;      // handles, in heap order
+    private int[] position;  // position of each handle in the heap, -1 if absent
+    private double[] keys;   // priority of each handle
+    private int size;
+
+    /**
+     * Creates an empty heap able to hold the handles {@code 0} to {@code capacity - 1}.
+     *
+     * @param capacity the number of distinct handles
+     */
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new double[capacity];
+        this.size = 0;
+        for (int i = 0; i < capacity; i++) {
+            position[i] = -1;
+        }
+    }
+
+    /**
+     * Adds a handle with the given priority.
+     *
+     * @param handle   the handle to add
+     * @param priority the priority of the handle
+     * @throws IllegalArgumentException if the handle is out of range or already in the heap
+     */
+    public void insert(int handle, double priority) throws IllegalArgumentException {
+        checkHandle(handle);
+        if (position[handle] != -1) {
+            throw new IllegalArgumentException("Handle " + handle + " is already in the heap");
+        }
+        keys[handle] = priority;
+        heap[size] = handle;
+        position[handle] = size;
+        size++;
+        heapifyUp(size - 1);
+    }
+
+    /**
+     * Lowers the priority of a handle already in the heap.
+     *
+     * @param handle   the handle to update
+     * @param priority the new priority, not greater than the current one
+     * @throws IllegalArgumentException if the handle is not in the heap or the priority would increase
+     */
+    public void decreaseKey(int handle, double priority) throws IllegalArgumentException {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("Handle " + handle + " is not in the heap");
+        }
+        if (priority > keys[handle]) {
+            throw new IllegalArgumentException("Priority cannot be increased");
+        }
+        keys[handle] = priority;
+        heapifyUp(position[handle]);
+    }
+
+    /**
+     * Adds the handle, or lowers its priority if it is already present with a higher one.
+     *
+     * @param handle   the handle to add or update
+     * @param priority the priority of the handle
+     */
+    public void insertOrDecrease(int handle, double priority) {
+        if (contains(handle)) {
+            if (priority < keys[handle]) {
+                decreaseKey(handle, priority);
+            }
+        } else {
+            insert(handle, priority);
+        }
+    }
+
+    /**
+     * Removes the handle with the lowest priority from this heap.
+     *
+     * @return the handle with the lowest priority
+     * @throws EmptyCollectionException if the heap is empty
+     */
+    public int removeMin() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException();
+        }
+        int minHandle = heap[0];
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            heapifyDown(0);
+        }
+        position[minHandle] = -1;
+        return minHandle;
+    }
+
+    /**
+     * Returns the handle with the lowest priority without removing it.
+     *
+     * @return the handle with the lowest priority
+     * @throws EmptyCollectionException if the heap is empty
+     */
+    public int findMin() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Returns the lowest priority in this heap.
+     *
+     * @return the priority of the handle returned by {@link #findMin()}
+     * @throws EmptyCollectionException if the heap is empty
+     */
+    public double findMinPriority() throws EmptyCollectionException {
+        return keys[findMin()];
+    }
+
+    /**
+     * Returns the priority of a handle in the heap.
+     *
+     * @param handle the handle
+     * @return the current priority of the handle
+     * @throws IllegalArgumentException if the handle is not in the heap
+     */
+    public double getPriority(int handle) throws IllegalArgumentException {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("Handle " + handle + " is not in the heap");
+        }
+        return keys[handle];
+    }
+
+    /**
+     * Returns true if the handle is currently in the heap.
+     *
+     * @param handle the handle
+     * @return true if the handle is in the heap
+     */
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < position.length && position[handle] != -1;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every handle in O(size) so the heap can be reused for another search.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void checkHandle(int handle) throws IllegalArgumentException {
+        if (handle < 0 || handle >= position.length) {
+            throw new IllegalArgumentException("Handle " + handle + " is out of range");
+        }
+    }
+
+    /**
+     * Moves the handle at the given position up until its parent has a lower or equal priority.
+     */
+    private void heapifyUp(int next) {
+        int handle = heap[next];
+        double key = keys[handle];
+
+        while ((next != 0) && (key < keys[heap[(next - 1) / 2]])) {
+            heap[next] = heap[(next - 1) / 2];
+            position[heap[next]] = next;
+            next = (next - 1) / 2;
+        }
+        heap[next] = handle;
+        position[handle] = next;
+    }
+
+    /**
+     * Moves the handle at the given position down until both children have a greater or equal priority.
+     */
+    private void heapifyDown(int node) {
+        int handle = heap[node];
+        double key = keys[handle];
+
+        while (true) {
+            int left = 2 * node + 1;
+            int right = left + 1;
+            int next;
+
+            if (left >= size) {
+                break;
+            } else if ((right < size) && (keys[heap[right]] < keys[heap[left]])) {
+                next = right;
+            } else {
+                next = left;
+            }
+            if (keys[heap[next]] >= key) {
+                break;
+            }
+            heap[node] = heap[next];
+            position[heap[node]] = node;
+            node = next;
+        }
+        heap[node] = handle;
+        position[handle] = node;
+    }
+}
@@ -2,11 +2,13 @@ package Enums;
 
 /**
  * Enumeration representing different types of movement for robots.
- * The available move types are DIJSKTRA, LONGEST_PATH, and SHORTEST_PATH.
+ * The available move types are DIJSKTRA, LONGEST_PATH, RANDOM_PATH, DISTANCE_FIELD and ASTAR.
  */
 public enum MoveType {
     DIJSKTRA, // Represents Dijkstra's shortest path algorithm.
     LONGEST_PATH, // Represents movement along the longest path.
-    RANDOM_PATH// Represents movement along one random path.
+    RANDOM_PATH, // Represents movement along one random path.
+    DISTANCE_FIELD, // Represents movement following the map's distance field towards the enemy flag.
+    ASTAR // Represents the A* shortest path search guided by the straight line distance.
 }
 
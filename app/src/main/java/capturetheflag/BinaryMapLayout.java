@@ -0,0 +1,148 @@
+package capturetheflag;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The header of a binary map file and the positions of its sections, as described in {@link MappedMapNetwork}.
+ */
+final class BinaryMapLayout {
+    static final int HEADER_BYTES = 64;
+    private static final int FLAG_BIDIRECTIONAL = 1;
+    private static final int FLAG_COORDINATES = 2;
+
+    final int numVertices;
+    final int numEdges;
+    final boolean bidirectional;
+    final boolean coordinates;
+    final int weightBytes;
+    final int weightBound;
+    final double density;
+    final long idsStart;
+    final long coordinatesStart;
+    final long offsetsStart;
+    final long targetsStart;
+    final long weightsStart;
+    final long size;
+
+    /**
+     * Computes the layout of a file.
+     *
+     * @param numVertices   The number of locations.
+     * @param numEdges      The number of edges.
+     * @param bidirectional Whether the map is bidirectional.
+     * @param coordinates   Whether the locations have coordinates.
+     * @param weightBytes   The number of bytes of each weight.
+     * @param weightBound   The integer weight bound of the network.
+     * @param density       The density of the map.
+     */
+    BinaryMapLayout(int numVertices, int numEdges, boolean bidirectional, boolean coordinates, int weightBytes,
+                    int weightBound, double density) {
+        this.numVertices = numVertices;
+        this.numEdges = numEdges;
+        this.bidirectional = bidirectional;
+        this.coordinates = coordinates;
+        this.weightBytes = weightBytes;
+        this.weightBound = weightBound;
+        this.density = density;
+
+        this.idsStart = HEADER_BYTES;
+        long next = align(this.idsStart + 4L * numVertices);
+        if (coordinates) {
+            this.coordinatesStart = next;
+            next = align(next + 16L * numVertices);
+        } else {
+            this.coordinatesStart = -1;
+        }
+        this.offsetsStart = next;
+        this.targetsStart = align(this.offsetsStart + 4L * (numVertices + 1));
+        this.weightsStart = align(this.targetsStart + 4L * numEdges);
+        this.size = this.weightsStart + (long) weightBytes * numEdges;
+    }
+
+    /**
+     * Reads the layout from the header of a file.
+     *
+     * @param header   The first {@value #HEADER_BYTES} bytes of the file, or fewer if the file is shorter.
+     * @param fileSize The size of the file.
+     * @return The layout.
+     * @throws IOException If the file is not a binary map file or is truncated.
+     */
+    static BinaryMapLayout read(ByteBuffer header, long fileSize) throws IOException {
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.limit() < HEADER_BYTES || header.getInt(0) != MappedMapNetwork.MAGIC) {
+            throw new IOException("Not a binary map file.");
+        }
+        if (header.getInt(4) != MappedMapNetwork.VERSION) {
+            throw new IOException("Unknown binary map version " + header.getInt(4) + ".");
+        }
+        int flags = header.getInt(16);
+        BinaryMapLayout layout = new BinaryMapLayout(header.getInt(8), header.getInt(12),
+                (flags & FLAG_BIDIRECTIONAL) != 0, (flags & FLAG_COORDINATES) != 0, header.getInt(20),
+                header.getInt(24), header.getDouble(32));
+        if (layout.numVertices < 0 || layout.numEdges < 0 || layout.size > fileSize) {
+            throw new IOException("Truncated binary map file.");
+        }
+        return layout;
+    }
+
+    /**
+     * Writes the header of the file.
+     *
+     * @param out A little endian buffer over the start of the file.
+     */
+    void writeHeader(ByteBuffer out) {
+        out.putInt(0, MappedMapNetwork.MAGIC);
+        out.putInt(4, MappedMapNetwork.VERSION);
+        out.putInt(8, this.numVertices);
+        out.putInt(12, this.numEdges);
+        out.putInt(16, (this.bidirectional ? FLAG_BIDIRECTIONAL : 0) | (this.coordinates ? FLAG_COORDINATES : 0));
+        out.putInt(20, this.weightBytes);
+        out.putInt(24, this.weightBound);
+        out.putDouble(32, this.density);
+    }
+
+    /**
+     * Reads a weight stored with the width of this file.
+     *
+     * @param buffer   A little endian buffer.
+     * @param position The position of the weight in the buffer.
+     * @return The weight.
+     */
+    double readWeight(ByteBuffer buffer, int position) {
+        switch (this.weightBytes) {
+            case 1:
+                return buffer.get(position) & 0xFF;
+            case 2:
+                return buffer.getShort(position) & 0xFFFF;
+            default:
+                return buffer.getDouble(position);
+        }
+    }
+
+    /**
+     * Writes a weight with the width of this file.
+     *
+     * @param buffer   A little endian buffer.
+     * @param position The position of the weight in the buffer.
+     * @param weight   The weight, which must fit the width.
+     */
+    void writeWeight(ByteBuffer buffer, int position, double weight) {
+        switch (this.weightBytes) {
+            case 1:
+                buffer.put(position, (byte) weight);
+                break;
+            case 2:
+                buffer.putShort(position, (short) weight);
+                break;
+            default:
+                buffer.putDouble(position, weight);
+                break;
+        }
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+}
@@ -1,11 +1,13 @@
 package capturetheflag;
 
+import Collections.Graphs.DistanceField;
 import Collections.Lists.CircularLinkedList;
 import Collections.Queues.LinkedQueue;
+import Collections.Queues.QueueADT;
 
 import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import Enums.*;
 
@@ -14,6 +16,10 @@ import Enums.*;
  * Players compete to capture each other's flags using robots.
  */
 public class Game {
+    /**
+     * The time waited after each move of a robot by default, in milliseconds.
+     */
+    public static final long DEFAULT_MOVE_DELAY = 3000;
 
     private Map map;
     private Player player1;
@@ -21,6 +27,12 @@ public class Game {
     private Player currentPlayer;
     private CircularLinkedList<Robot> robosMoveOrder;
     private int robotsNumber;
+    private PathCache pathCache;
+    private GameClock clock;
+    private long moveDelay;
+    private boolean verbose;
+    private SplittableRandom random;
+    private SplittableRandom pathRandom;
 
     /**
      * Constructs a new game with the specified parameters.
@@ -37,8 +49,9 @@ public class Game {
      */
     public Game(int numLocations, boolean bidirectional, double density, String player1Name, String player2Name, int robotsNumber) throws IllegalArgumentException {
         this.map = new Map(numLocations, bidirectional, density);
-        this.player1 = new Player("Player1");
-        this.player2 = new Player("Player2");
+        IdAllocator ids = new IdAllocator();
+        this.player1 = new Player("Player1", ids);
+        this.player2 = new Player("Player2", ids);
 
         if (robotsNumber < 3) {
             throw new IllegalArgumentException("Robots number must be 3 or more.");
@@ -46,12 +59,21 @@ public class Game {
             this.robotsNumber = robotsNumber;
         }
 
+        this.random = this.map.getRandom().split();
+        this.pathRandom = this.random.split();
         this.currentPlayer = setCurrentPlayerRandom();
         this.robosMoveOrder = new CircularLinkedList<>();
+        this.pathCache = new PathCache();
+        this.clock = new RealTimeClock();
+        this.moveDelay = DEFAULT_MOVE_DELAY;
+        this.verbose = true;
     }
 
     /**
      * Constructs a new game with the specified parameters.
+     * The robots take their ids from the id allocators of their players, so the ids are only unique within the
+     * game when both players were created with the same allocator. The random choices of the game come from a
+     * random generator split from the one of the map.
      *
      * @param map     The map to use for the game.
      * @param player1 The first player.
@@ -59,12 +81,127 @@ public class Game {
      * @throws IllegalArgumentException If the number of robots is less than 3.
      */
     public Game(Map map, Player player1, Player player2, int robotsNumber) throws IllegalArgumentException {
+        this(map, player1, player2, robotsNumber, map.getRandom().split());
+    }
+
+    /**
+     * Constructs a new game whose random choices all come from the given random generator.
+     * The random paths come from a generator split from it and kept by the game, so the random generator of the
+     * map is never replaced and a generator created from a seed plays the same game every time, whatever the
+     * other games played on the same map.
+     *
+     * @param map          The map to use for the game.
+     * @param player1      The first player.
+     * @param player2      The second player.
+     * @param robotsNumber The number of robots each player has.
+     * @param random       The random generator of the game.
+     * @throws IllegalArgumentException If the random generator is null.
+     */
+    public Game(Map map, Player player1, Player player2, int robotsNumber, SplittableRandom random) throws IllegalArgumentException {
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator cannot be null.");
+        }
         this.map = map;
         this.player1 = player1;
         this.player2 = player2;
         this.robotsNumber = robotsNumber;
+        this.random = random;
+        this.pathRandom = random.split();
         this.currentPlayer = setCurrentPlayerRandom();
         this.robosMoveOrder = new CircularLinkedList<>();
+        this.pathCache = new PathCache();
+        this.clock = new RealTimeClock();
+        this.moveDelay = DEFAULT_MOVE_DELAY;
+        this.verbose = true;
+    }
+
+    /**
+     * Gets the cache of the paths planned for the robots.
+     * The shortest, A* and longest paths are cached; random paths are recomputed every time.
+     *
+     * @return The path cache.
+     */
+    public PathCache getPathCache() {
+        return pathCache;
+    }
+
+    /**
+     * Gets the random generator of the game.
+     *
+     * @return The random generator.
+     */
+    public SplittableRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Gets the clock that paces the moves of the robots.
+     *
+     * @return The clock.
+     */
+    public GameClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Sets the clock that paces the moves of the robots. A game is played on a {@link RealTimeClock} by default;
+     * a {@link VirtualClock} plays it without waiting.
+     *
+     * @param clock The new clock.
+     * @throws IllegalArgumentException If the clock is null.
+     */
+    public void setClock(GameClock clock) throws IllegalArgumentException {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null.");
+        }
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the time waited on the clock after each move of a robot.
+     *
+     * @return The delay in milliseconds.
+     */
+    public long getMoveDelay() {
+        return moveDelay;
+    }
+
+    /**
+     * Sets the time waited on the clock after each move of a robot.
+     *
+     * @param moveDelay The delay in milliseconds.
+     * @throws IllegalArgumentException If the delay is negative.
+     */
+    public void setMoveDelay(long moveDelay) throws IllegalArgumentException {
+        if (moveDelay < 0) {
+            throw new IllegalArgumentException("Move delay cannot be negative.");
+        }
+        this.moveDelay = moveDelay;
+    }
+
+    /**
+     * Checks whether the game and its robots report the planned paths and the moves on the console.
+     *
+     * @return True if they are reported, false otherwise.
+     */
+    public boolean isVerbose() {
+        return verbose;
+    }
+
+    /**
+     * Sets whether the game and its robots report the planned paths and the moves on the console. Games run
+     * without anyone watching should not report them, as printing takes longer than moving.
+     *
+     * @param verbose True to report them, false otherwise.
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+        for (Robot robot : this.player1.getRobots()) {
+            robot.setVerbose(verbose);
+        }
+        for (Robot robot : this.player2.getRobots()) {
+            robot.setVerbose(verbose);
+        }
     }
 
     /**
@@ -166,11 +303,13 @@ public class Game {
     public void setRobots() {
         for (int i = 0; i < this.robotsNumber; i++) {
             Robot robot = new Robot(this.currentPlayer);
+            robot.setVerbose(this.verbose);
             this.map.getLocal(this.currentPlayer.getFlagIndex()).addRobot(this.currentPlayer, robot);
         }
         switchPlayer();
         for (int i = 0; i < this.robotsNumber; i++) {
             Robot robot = new Robot(this.currentPlayer);
+            robot.setVerbose(this.verbose);
             this.map.getLocal(this.currentPlayer.getFlagIndex()).addRobot(this.currentPlayer, robot);
         }
     }
@@ -201,23 +340,32 @@ public class Game {
             if (robot.getMoveType() == MoveType.DIJSKTRA) {
                 robot.setPath(calculatePath_shortPath());
                 if (robot.getPath().isEmpty()) {
-                    System.out.println("Robot " + robot.getId() + "'s path is blocked!");
+                    report("Robot " + robot.getId() + "'s path is blocked!");
                 } else {
-                    System.out.println(robot.getId() + " " + robot.getPath());
+                    report(robot.getId() + " " + robot.getPath());
                 }
             } else if (robot.getMoveType() == MoveType.LONGEST_PATH) {
                 robot.setPath(calculatePath_LongestPath());
                 if (robot.getPath().isEmpty()) {
-                    System.out.println("Robot " + robot.getId() + "'s path is blocked!");
+                    report("Robot " + robot.getId() + "'s path is blocked!");
                 } else {
-                    System.out.println(robot.getId() + " " + robot.getPath());
+                    report(robot.getId() + " " + robot.getPath());
                 }
             } else if (robot.getMoveType() == MoveType.RANDOM_PATH) {
                 robot.setPath(calculatePath_RandomPath());
                 if (robot.getPath().isEmpty()) {
-                    System.out.println("Robot " + robot.getId() + "'s path is blocked!");
+                    report("Robot " + robot.getId() + "'s path is blocked!");
+                } else {
+                    report(robot.getId() + " " + robot.getPath());
+                }
+            } else if (robot.getMoveType() == MoveType.DISTANCE_FIELD) {
+                setDistanceField(robot);
+            } else if (robot.getMoveType() == MoveType.ASTAR) {
+                robot.setPath(calculatePath_AStarPath());
+                if (robot.getPath().isEmpty()) {
+                    report("Robot " + robot.getId() + "'s path is blocked!");
                 } else {
-                    System.out.println(robot.getId() + " " + robot.getPath());
+                    report(robot.getId() + " " + robot.getPath());
                 }
             }
         }
@@ -226,23 +374,32 @@ public class Game {
             if (robot.getMoveType() == MoveType.DIJSKTRA) {
                 robot.setPath(calculatePath_shortPath());
                 if (robot.getPath().isEmpty()) {
-                    System.out.println("Robot " + robot.getId() + "'s path is blocked!");
+                    report("Robot " + robot.getId() + "'s path is blocked!");
                 } else {
-                    System.out.println(robot.getId() + " " + robot.getPath());
+                    report(robot.getId() + " " + robot.getPath());
                 }
             } else if (robot.getMoveType() == MoveType.LONGEST_PATH) {
                 robot.setPath(calculatePath_LongestPath());
                 if (robot.getPath().isEmpty()) {
-                    System.out.println("Robot " + robot.getId() + "'s path is blocked!");
+                    report("Robot " + robot.getId() + "'s path is blocked!");
                 } else {
-                    System.out.println(robot.getId() + " " + robot.getPath());
+                    report(robot.getId() + " " + robot.getPath());
                 }
             } else if (robot.getMoveType() == MoveType.RANDOM_PATH) {
                 robot.setPath(calculatePath_RandomPath());
                 if (robot.getPath().isEmpty()) {
-                    System.out.println("Robot " + robot.getId() + "'s path is blocked!");
+                    report("Robot " + robot.getId() + "'s path is blocked!");
                 } else {
-                    System.out.println(robot.getId() + " " + robot.getPath());
+                    report(robot.getId() + " " + robot.getPath());
+                }
+            } else if (robot.getMoveType() == MoveType.DISTANCE_FIELD) {
+                setDistanceField(robot);
+            } else if (robot.getMoveType() == MoveType.ASTAR) {
+                robot.setPath(calculatePath_AStarPath());
+                if (robot.getPath().isEmpty()) {
+                    report("Robot " + robot.getId() + "'s path is blocked!");
+                } else {
+                    report(robot.getId() + " " + robot.getPath());
                 }
             }
         }
@@ -250,7 +407,7 @@ public class Game {
     }
 
     /**
-     * Move each robot in the list, introducing a delay of 3 seconds between each move.
+     * Move each robot in the list, waiting the move delay on the game clock after each move.
      * If a victory condition is met, a message indicating the winner is displayed.
      *
      * @throws IllegalArgumentException if the list of robots to move is empty.
@@ -266,14 +423,10 @@ public class Game {
             try {
                 robot.moveRobot();
             } catch (IllegalArgumentException e) {
-                System.out.println(e.getMessage());
+                report(e.getMessage());
                 continue;
             }
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
+            this.clock.sleep(this.moveDelay);
         }
     }
 
@@ -294,11 +447,13 @@ public class Game {
 
     /**
      * Calculates the shortest path from the current player's flag to the enemy flag.
+     * The path is read from the map's shortest path tree of the flag, which is shared by all the robots
+     * of the player, unless it was already planned on the current version of the map.
      *
      * @return A queue of locations representing the calculated path.
      * @throws IllegalArgumentException If the start index is out of bounds.
      */
-    private LinkedQueue<Local> calculatePath_shortPath() throws IllegalArgumentException {
+    private QueueADT<Local> calculatePath_shortPath() throws IllegalArgumentException {
 
         int startIndex = this.currentPlayer.getFlagIndex();
         int targetIndex = this.currentPlayer.getEnimieFlagIndex();
@@ -306,25 +461,76 @@ public class Game {
         if (startIndex < 0 || startIndex >= this.map.getNumLocations()) {
             throw new IllegalArgumentException("Start index must be between 0 and " + (this.map.getNumLocations() - 1) + ".");
         }
-        Iterator<Local> iterator = this.map.iteratorShortestPath(startIndex, targetIndex);
-        LinkedQueue<Local> path = new LinkedQueue<>();
+        QueueADT<Local> path = this.pathCache.get(startIndex, targetIndex, MoveType.DIJSKTRA, this.map.getVersion());
+        if (path == null) {
+            path = this.pathCache.put(startIndex, targetIndex, MoveType.DIJSKTRA, this.map.getVersion(),
+                    this.map.iteratorTreeShortestPath(startIndex, targetIndex));
+        }
 
-        while (iterator.hasNext()) {
-            path.enqueue(iterator.next());
+        return path;
+
+    }
+
+
+    /**
+     * Calculates the shortest path from the current player's flag to the enemy flag with an A* search guided
+     * by the straight line distance to the enemy flag. A path already planned on the current version of the map
+     * is read from the path cache.
+     *
+     * @return A queue of locations representing the calculated path.
+     * @throws IllegalArgumentException If the start index is out of bounds.
+     */
+    private QueueADT<Local> calculatePath_AStarPath() throws IllegalArgumentException {
+
+        int startIndex = this.currentPlayer.getFlagIndex();
+        int targetIndex = this.currentPlayer.getEnimieFlagIndex();
+
+        if (startIndex < 0 || startIndex >= this.map.getNumLocations()) {
+            throw new IllegalArgumentException("Start index must be between 0 and " + (this.map.getNumLocations() - 1) + ".");
+        }
+        QueueADT<Local> path = this.pathCache.get(startIndex, targetIndex, MoveType.ASTAR, this.map.getVersion());
+        if (path == null) {
+            path = this.pathCache.put(startIndex, targetIndex, MoveType.ASTAR, this.map.getVersion(),
+                    this.map.iteratorAStarPath(startIndex, targetIndex));
         }
 
         return path;
 
     }
 
+    /**
+     * Makes a robot of the current player follow the distance field towards the enemy flag.
+     * The field is shared by every robot heading to the same flag.
+     *
+     * @param robot The robot to configure.
+     * @throws IllegalArgumentException If the start index is out of bounds.
+     */
+    private void setDistanceField(Robot robot) throws IllegalArgumentException {
+
+        int startIndex = this.currentPlayer.getFlagIndex();
+        int targetIndex = this.currentPlayer.getEnimieFlagIndex();
+
+        if (startIndex < 0 || startIndex >= this.map.getNumLocations()) {
+            throw new IllegalArgumentException("Start index must be between 0 and " + (this.map.getNumLocations() - 1) + ".");
+        }
+        DistanceField field = this.map.getDistanceField(targetIndex);
+        robot.followDistanceField(field, this.map.getCompressedNetwork(), startIndex);
+
+        if (!field.canReachTarget(startIndex)) {
+            report("Robot " + robot.getId() + "'s path is blocked!");
+        } else {
+            report(robot.getId() + " follows the distance field to " + targetIndex);
+        }
+    }
 
     /**
      * Calculates the longest path between the current player's flag location and the enemy's flag location.
+     * A path already planned on the current version of the map is read from the path cache.
      *
      * @return A queue representing the longest path between the flag locations.
      * @throws IllegalArgumentException if the start index is outside the valid range [0, numLocations - 1].
      */
-    private LinkedQueue<Local> calculatePath_LongestPath() throws IllegalArgumentException {
+    private QueueADT<Local> calculatePath_LongestPath() throws IllegalArgumentException {
 
         int startIndex = this.currentPlayer.getFlagIndex();
         int targetIndex = this.currentPlayer.getEnimieFlagIndex();
@@ -332,11 +538,10 @@ public class Game {
         if (startIndex < 0 || startIndex >= this.map.getNumLocations()) {
             throw new IllegalArgumentException("Start index must be between 0 and " + (this.map.getNumLocations() - 1) + ".");
         }
-        Iterator<Local> iterator = this.map.iteratorLongestPath(startIndex, targetIndex);
-        LinkedQueue<Local> path = new LinkedQueue<>();
-
-        while (iterator.hasNext()) {
-            path.enqueue(iterator.next());
+        QueueADT<Local> path = this.pathCache.get(startIndex, targetIndex, MoveType.LONGEST_PATH, this.map.getVersion());
+        if (path == null) {
+            path = this.pathCache.put(startIndex, targetIndex, MoveType.LONGEST_PATH, this.map.getVersion(),
+                    this.map.iteratorLongestPath(startIndex, targetIndex));
         }
 
         return path;
@@ -349,7 +554,7 @@ public class Game {
      * @return A queue representing a random path between the flag locations.
      * @throws IllegalArgumentException if the start index is outside the valid range [0, numLocations - 1].
      */
-    private LinkedQueue<Local> calculatePath_RandomPath() throws IllegalArgumentException {
+    private QueueADT<Local> calculatePath_RandomPath() throws IllegalArgumentException {
 
         int startIndex = this.currentPlayer.getFlagIndex();
         int targetIndex = this.currentPlayer.getEnimieFlagIndex();
@@ -357,7 +562,7 @@ public class Game {
         if (startIndex < 0 || startIndex >= this.map.getNumLocations()) {
             throw new IllegalArgumentException("Start index must be between 0 and " + (this.map.getNumLocations() - 1) + ".");
         }
-        Iterator<Local> iterator = this.map.iteratorRandomPath(startIndex, targetIndex);
+        Iterator<Local> iterator = this.map.iteratorRandomPath(startIndex, targetIndex, this.pathRandom);
         LinkedQueue<Local> path = new LinkedQueue<>();
 
         while (iterator.hasNext()) {
@@ -368,6 +573,17 @@ public class Game {
 
     }
 
+    /**
+     * Prints a message on the console if the game is verbose.
+     *
+     * @param message The message.
+     */
+    private void report(String message) {
+        if (this.verbose) {
+            System.out.println(message);
+        }
+    }
+
     /**
      * Sets the current player randomly between the available players.
      */
@@ -378,8 +594,7 @@ public class Game {
         players.add(player1);
         players.add(player2);
 
-        Random random = new Random();
-        int randomIndex = random.nextInt(players.size());
+        int randomIndex = this.random.nextInt(players.size());
         player = players.get(randomIndex);
         return player;
     }
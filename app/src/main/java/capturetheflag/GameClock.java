@@ -0,0 +1,27 @@
+package capturetheflag;
+
+/**
+ * The clock that paces a game.
+ * <p>
+ * The game waits on its clock between the moves of the robots. A {@link RealTimeClock} waits for real, so the
+ * moves can be followed on screen, while a {@link VirtualClock} only advances its own time, so a game played
+ * without anyone watching runs as fast as the robots can be moved.
+ * </p>
+ */
+public interface GameClock {
+
+    /**
+     * Gets the current time of the clock.
+     *
+     * @return The time in milliseconds.
+     */
+    long currentTimeMillis();
+
+    /**
+     * Waits until the given time has passed on the clock.
+     *
+     * @param millis The time to wait in milliseconds.
+     * @throws IllegalArgumentException If the time is negative.
+     */
+    void sleep(long millis) throws IllegalArgumentException;
+}
@@ -0,0 +1,101 @@
+package capturetheflag;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates a random geometric map: the locations are placed at random in a square and every pair of locations
+ * closer than a radius is connected.
+ * <p>
+ * The square is divided in cells as wide as the radius, so each location is only compared with the locations
+ * of its own cell and of the cells around it, which takes expected time proportional to the number of locations
+ * and roads. The distance of a road is the straight line distance between its locations rounded up, and at
+ * least 1 kilometer, so the A* search can use the straight line distance as its heuristic.
+ * </p>
+ * <p>
+ * The map is only connected with high probability when the radius is above the connectivity threshold, about
+ * {@code side * sqrt(ln(n) / (pi * n))} for {@code n} locations.
+ * </p>
+ */
+public class GeometricMapGenerator extends MapGenerator {
+    private final int numLocations;
+    private final double side;
+    private final double radius;
+
+    /**
+     * Constructs a random geometric generator.
+     *
+     * @param numLocations The number of locations.
+     * @param side         The side of the square, in kilometers.
+     * @param radius       The largest distance between connected locations, in kilometers.
+     * @param seed         The seed of the generation.
+     * @throws IllegalArgumentException If the number of locations is negative or the side or radius are not
+     *                                  positive.
+     */
+    public GeometricMapGenerator(int numLocations, double side, double radius, long seed) throws IllegalArgumentException {
+        super(seed);
+        if (numLocations < 0) {
+            throw new IllegalArgumentException("The number of locations must not be negative.");
+        }
+        if (side <= 0 || radius <= 0) {
+            throw new IllegalArgumentException("The side and the radius must be positive.");
+        }
+        this.numLocations = numLocations;
+        this.side = side;
+        this.radius = radius;
+    }
+
+    @Override
+    protected Local[] createLocals(SplittableRandom random) {
+        Local[] locals = new Local[this.numLocations];
+        for (int i = 0; i < this.numLocations; i++) {
+            locals[i] = new Local(i, random.nextDouble() * this.side, random.nextDouble() * this.side);
+        }
+        return locals;
+    }
+
+    @Override
+    protected void createRoads(Local[] locals, Roads roads, SplittableRandom random) {
+        int n = locals.length;
+        int cellsPerSide = (int) Math.max(1, Math.min(Math.floor(this.side / this.radius), Math.sqrt(Math.max(n, 1)) + 1));
+        double cellSide = this.side / cellsPerSide;
+        int numCells = cellsPerSide * cellsPerSide;
+
+        int[] cellOf = new int[n];
+        int[] cellStart = new int[numCells + 1];
+        for (int i = 0; i < n; i++) {
+            int cx = Math.min(cellsPerSide - 1, (int) (locals[i].getX() / cellSide));
+            int cy = Math.min(cellsPerSide - 1, (int) (locals[i].getY() / cellSide));
+            cellOf[i] = cy * cellsPerSide + cx;
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < numCells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] byCell = new int[n];
+        int[] next = new int[numCells];
+        System.arraycopy(cellStart, 0, next, 0, numCells);
+        for (int i = 0; i < n; i++) {
+            byCell[next[cellOf[i]]++] = i;
+        }
+
+        int reach = (int) Math.ceil(this.radius / cellSide);
+        for (int i = 0; i < n; i++) {
+            int cx = cellOf[i] % cellsPerSide;
+            int cy = cellOf[i] / cellsPerSide;
+            for (int y = Math.max(0, cy - reach); y <= Math.min(cellsPerSide - 1, cy + reach); y++) {
+                for (int x = Math.max(0, cx - reach); x <= Math.min(cellsPerSide - 1, cx + reach); x++) {
+                    int cell = y * cellsPerSide + x;
+                    for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                        int j = byCell[k];
+                        if (j > i) {
+                            double distance = locals[i].distanceTo(locals[j]);
+                            if (distance <= this.radius) {
+                                roads.add(i, j, Math.max(1, Math.ceil(distance)));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package capturetheflag;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates a lattice map: the locations are placed on a grid, one kilometer apart, and each one is connected to
+ * the locations next to it horizontally and vertically.
+ * <p>
+ * Roads have a random distance between 1 and {@link #MAX_DISTANCE} kilometers, never shorter than the straight
+ * line between their locations, so the A* search can use the straight line distance as its heuristic.
+ * </p>
+ */
+public class GridMapGenerator extends MapGenerator {
+    private final int rows;
+    private final int columns;
+
+    /**
+     * Constructs a grid generator.
+     *
+     * @param rows    The number of rows of the grid.
+     * @param columns The number of columns of the grid.
+     * @param seed    The seed of the generation.
+     * @throws IllegalArgumentException If the grid has no locations.
+     */
+    public GridMapGenerator(int rows, int columns, long seed) throws IllegalArgumentException {
+        super(seed);
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("The grid must have at least one row and one column.");
+        }
+        if ((long) rows * columns > Integer.MAX_VALUE / 4) {
+            throw new IllegalArgumentException("The grid is too large.");
+        }
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    /**
+     * Gets the number of rows of the grid.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Gets the number of columns of the grid.
+     *
+     * @return The number of columns.
+     */
+    public int getColumns() {
+        return this.columns;
+    }
+
+    @Override
+    protected Local[] createLocals(SplittableRandom random) {
+        Local[] locals = new Local[this.rows * this.columns];
+        for (int row = 0; row < this.rows; row++) {
+            for (int column = 0; column < this.columns; column++) {
+                int id = row * this.columns + column;
+                locals[id] = new Local(id, column, row);
+            }
+        }
+        return locals;
+    }
+
+    @Override
+    protected void createRoads(Local[] locals, Roads roads, SplittableRandom random) {
+        for (int row = 0; row < this.rows; row++) {
+            for (int column = 0; column < this.columns; column++) {
+                int id = row * this.columns + column;
+                if (column + 1 < this.columns) {
+                    roads.add(id, id + 1, randomDistance(random));
+                }
+                if (row + 1 < this.rows) {
+                    roads.add(id, id + this.columns, randomDistance(random));
+                }
+            }
+        }
+    }
+}
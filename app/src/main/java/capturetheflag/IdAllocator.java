@@ -0,0 +1,29 @@
+package capturetheflag;
+
+/**
+ * Hands out the ids of the players and robots of a game.
+ * <p>
+ * Each game has its own allocator, shared by its players and their robots, so the ids are unique within the game
+ * and games played on different threads never touch the same counter. An allocator is not safe for use by several
+ * threads, as a game is played by a single one.
+ * </p>
+ */
+public class IdAllocator {
+    private int nextId;
+
+    /**
+     * Constructs an allocator whose first id is 0.
+     */
+    public IdAllocator() {
+        this.nextId = 0;
+    }
+
+    /**
+     * Gets a new id.
+     *
+     * @return The id, one more than the previous one.
+     */
+    public int next() {
+        return this.nextId++;
+    }
+}
@@ -0,0 +1,238 @@
+package capturetheflag;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits a JSON document into tokens while reading it, without building the document in memory.
+ * <p>
+ * Commas and colons are skipped, so an object is read as its opening brace followed by alternating key strings
+ * and values. Numbers are parsed straight from the characters, and whole numbers without allocating.
+ * </p>
+ */
+class JsonTokenizer {
+    /**
+     * The kinds of token.
+     */
+    enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, STRING, NUMBER, TRUE, FALSE, NULL, END
+    }
+
+    private final Reader reader;
+    private final char[] buffer = new char[1 << 16];
+    private int position;
+    private int limit;
+    private final StringBuilder text = new StringBuilder();
+    private String string;
+    private double number;
+
+    /**
+     * Constructs a tokenizer over a reader.
+     *
+     * @param reader The reader of the document. It is read in large blocks, so it does not need a buffer.
+     */
+    JsonTokenizer(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next token.
+     *
+     * @return The kind of the token, {@link Token#END} at the end of the document.
+     * @throws IOException If the reader fails or the document is not valid JSON.
+     */
+    Token next() throws IOException {
+        int c = skipSeparators();
+        switch (c) {
+            case -1:
+                return Token.END;
+            case '{':
+                return Token.BEGIN_OBJECT;
+            case '}':
+                return Token.END_OBJECT;
+            case '[':
+                return Token.BEGIN_ARRAY;
+            case ']':
+                return Token.END_ARRAY;
+            case '"':
+                readString();
+                return Token.STRING;
+            case 't':
+                expect("rue");
+                return Token.TRUE;
+            case 'f':
+                expect("alse");
+                return Token.FALSE;
+            case 'n':
+                expect("ull");
+                return Token.NULL;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    readNumber(c);
+                    return Token.NUMBER;
+                }
+                throw new IOException("Unexpected character '" + (char) c + "' in JSON.");
+        }
+    }
+
+    /**
+     * Reads the next token and checks its kind.
+     *
+     * @param expected The expected kind.
+     * @throws IOException If the token is of another kind.
+     */
+    void expect(Token expected) throws IOException {
+        Token token = next();
+        if (token != expected) {
+            throw new IOException("Expected " + expected + " but found " + token + " in JSON.");
+        }
+    }
+
+    /**
+     * Gets the value of the last string token.
+     *
+     * @return The string.
+     */
+    String getString() {
+        return this.string;
+    }
+
+    /**
+     * Gets the value of the last number token.
+     *
+     * @return The number.
+     */
+    double getNumber() {
+        return this.number;
+    }
+
+    /**
+     * Skips the rest of a value whose first token has just been read.
+     *
+     * @param first The first token of the value.
+     * @throws IOException If the document ends inside the value.
+     */
+    void skipValue(Token first) throws IOException {
+        if (first != Token.BEGIN_OBJECT && first != Token.BEGIN_ARRAY) {
+            return;
+        }
+        int depth = 1;
+        while (depth > 0) {
+            Token token = next();
+            if (token == Token.BEGIN_OBJECT || token == Token.BEGIN_ARRAY) {
+                depth++;
+            } else if (token == Token.END_OBJECT || token == Token.END_ARRAY) {
+                depth--;
+            } else if (token == Token.END) {
+                throw new IOException("Unexpected end of JSON.");
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (this.position == this.limit) {
+            this.limit = this.reader.read(this.buffer, 0, this.buffer.length);
+            this.position = 0;
+            if (this.limit <= 0) {
+                this.limit = 0;
+                return -1;
+            }
+        }
+        return this.buffer[this.position++];
+    }
+
+    private void unread() {
+        this.position--;
+    }
+
+    private int skipSeparators() throws IOException {
+        int c = read();
+        while (c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == ',' || c == ':') {
+            c = read();
+        }
+        return c;
+    }
+
+    private void expect(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) {
+                throw new IOException("Invalid literal in JSON.");
+            }
+        }
+    }
+
+    private void readString() throws IOException {
+        this.text.setLength(0);
+        int c = read();
+        while (c != '"') {
+            if (c == -1) {
+                throw new IOException("Unterminated string in JSON.");
+            }
+            if (c == '\\') {
+                c = read();
+                switch (c) {
+                    case 'n':
+                        c = '\n';
+                        break;
+                    case 't':
+                        c = '\t';
+                        break;
+                    case 'r':
+                        c = '\r';
+                        break;
+                    case 'b':
+                        c = '\b';
+                        break;
+                    case 'f':
+                        c = '\f';
+                        break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            code = code * 16 + Character.digit(read(), 16);
+                        }
+                        c = code;
+                        break;
+                    default:
+                        break;
+                }
+            }
+            this.text.append((char) c);
+            c = read();
+        }
+        this.string = this.text.toString();
+    }
+
+    private void readNumber(int first) throws IOException {
+        boolean negative = first == '-';
+        long whole = negative ? 0 : first - '0';
+        int digits = negative ? 0 : 1;
+        int c = read();
+        while (c >= '0' && c <= '9' && digits < 18) {
+            whole = whole * 10 + (c - '0');
+            digits++;
+            c = read();
+        }
+        if (c != '.' && c != 'e' && c != 'E' && (c < '0' || c > '9')) {
+            if (c != -1) {
+                unread();
+            }
+            this.number = negative ? -whole : whole;
+            return;
+        }
+
+        this.text.setLength(0);
+        if (negative) {
+            this.text.append('-');
+        }
+        this.text.append(whole);
+        while (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-' || (c >= '0' && c <= '9')) {
+            this.text.append((char) c);
+            c = read();
+        }
+        if (c != -1) {
+            unread();
+        }
+        this.number = Double.parseDouble(this.text.toString());
+    }
+}
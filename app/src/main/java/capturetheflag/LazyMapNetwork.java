@@ -0,0 +1,405 @@
+package capturetheflag;
+
+import Collections.Graphs.CSRNetwork;
+import Collections.HashTables.LRUCache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+/**
+ * A read only map network that loads its edges from a binary map file on demand.
+ * <p>
+ * The locations are split into pages of consecutive rows. A page holds the edges of its rows and is read from the
+ * file the first time one of them is used; at most a fixed number of pages are kept, and the least recently used
+ * one is dropped to make room for another. The locations are kept the same way, up to as many as the rows of the
+ * cached pages. Besides those caches only the first edge of every page stays on the heap, so a search over a map
+ * of a million locations needs little more memory than its own distance arrays, whatever the size of the file.
+ * </p>
+ * <p>
+ * Shortest paths are found with a search that only follows the edges out of each location, since the reversed
+ * network would have to be built on the heap: {@link #reverse()} is not supported, and neither is a
+ * {@link Collections.Graphs.DistanceField} over this network. {@link #getVertices()} reads every location.
+ * </p>
+ * <p>
+ * The file is the one written by {@link MappedMapNetwork#save(Map, String)}. Unlike {@link MappedMapNetwork},
+ * which leaves the caching to the operating system, this view bounds the memory it uses itself. It is not safe
+ * for use by several threads, and must be closed to release the file.
+ * </p>
+ */
+public class LazyMapNetwork extends CSRNetwork<Local> implements Closeable {
+    /**
+     * The number of rows in a page by default.
+     */
+    public static final int DEFAULT_ROWS_PER_PAGE = 256;
+
+    /**
+     * The number of pages kept by default.
+     */
+    public static final int DEFAULT_CACHED_PAGES = 1024;
+
+    private final FileChannel channel;
+    private final BinaryMapLayout layout;
+    private final int rowsPerPage;
+    private final int[] pageFirstEdge;
+    private final LRUCache<Integer, Page> pages;
+    private Page current;
+    private long pageLoads;
+    private final LRUCache<Integer, Local> locals;
+
+    private LazyMapNetwork(FileChannel channel, int rowsPerPage, int cachedPages) throws IOException {
+        super();
+        this.channel = channel;
+        this.layout = BinaryMapLayout.read(read(0, BinaryMapLayout.HEADER_BYTES), channel.size());
+        this.numVertices = this.layout.numVertices;
+        this.numEdges = this.layout.numEdges;
+        this.rowsPerPage = rowsPerPage;
+        this.pages = new LRUCache<>(cachedPages);
+        this.locals = new LRUCache<>((int) Math.min(Integer.MAX_VALUE, (long) rowsPerPage * cachedPages));
+
+        int numPages = (this.numVertices + rowsPerPage - 1) / rowsPerPage;
+        this.pageFirstEdge = new int[numPages + 1];
+        for (int p = 0; p < numPages; p++) {
+            this.pageFirstEdge[p] = read(this.layout.offsetsStart + 4L * p * rowsPerPage, 4).getInt(0);
+        }
+        this.pageFirstEdge[numPages] = this.numEdges;
+    }
+
+    /**
+     * Opens a binary map file with the default page size and number of pages.
+     *
+     * @param filePath The path of the file.
+     * @return The network over the file.
+     * @throws IOException If the file cannot be read or is not a binary map file.
+     */
+    public static LazyMapNetwork open(String filePath) throws IOException {
+        return open(filePath, DEFAULT_ROWS_PER_PAGE, DEFAULT_CACHED_PAGES);
+    }
+
+    /**
+     * Opens a binary map file.
+     *
+     * @param filePath    The path of the file.
+     * @param rowsPerPage The number of rows in a page.
+     * @param cachedPages The largest number of pages kept in memory.
+     * @return The network over the file.
+     * @throws IOException              If the file cannot be read or is not a binary map file.
+     * @throws IllegalArgumentException If the number of rows or pages is not positive.
+     */
+    public static LazyMapNetwork open(String filePath, int rowsPerPage, int cachedPages) throws IOException, IllegalArgumentException {
+        if (rowsPerPage <= 0 || cachedPages <= 0) {
+            throw new IllegalArgumentException("The number of rows and pages must be positive.");
+        }
+        FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        try {
+            return new LazyMapNetwork(channel, rowsPerPage, cachedPages);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the file. The network cannot load pages afterwards.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Checks whether the map was saved as bidirectional.
+     *
+     * @return True if bidirectional, false otherwise.
+     */
+    public boolean isBidirectional() {
+        return this.layout.bidirectional;
+    }
+
+    /**
+     * Gets the number of pages read from the file so far, counting the pages read again after being dropped.
+     *
+     * @return The number of page loads.
+     */
+    public long getPageLoads() {
+        return this.pageLoads;
+    }
+
+    /**
+     * Gets the number of pages currently kept in memory.
+     *
+     * @return The number of cached pages.
+     */
+    public int getCachedPages() {
+        return this.pages.size();
+    }
+
+    @Override
+    public int edgeBegin(int index) {
+        Page page = pageOfRow(index);
+        return page.offsets[index - page.firstRow];
+    }
+
+    @Override
+    public int edgeEnd(int index) {
+        Page page = pageOfRow(index);
+        return page.offsets[index - page.firstRow + 1];
+    }
+
+    @Override
+    public int edgeTarget(int edge) {
+        Page page = pageOfEdge(edge);
+        return page.targets[edge - page.firstEdge];
+    }
+
+    @Override
+    public double edgeWeight(int edge) {
+        Page page = pageOfEdge(edge);
+        return this.layout.readWeight(page.weights, this.layout.weightBytes * (edge - page.firstEdge));
+    }
+
+    @Override
+    public int getIntegerWeightBound() {
+        return this.layout.weightBound;
+    }
+
+    /**
+     * Gets the location at an index, reading it from the file when it is not cached. The same location is returned
+     * while it stays among the most recently used ones, so the robots placed on it are kept as long as it is in use;
+     * once dropped it is read again as a new location.
+     *
+     * @param index The index of the location.
+     * @return The location, or null if the index is not valid.
+     */
+    @Override
+    public Local getVertex(int index) {
+        if (!indexIsValid(index)) {
+            return null;
+        }
+        Local local = this.locals.get(index);
+        if (local == null) {
+            try {
+                int id = read(this.layout.idsStart + 4L * index, 4).getInt(0);
+                if (this.layout.coordinates) {
+                    ByteBuffer coordinates = read(this.layout.coordinatesStart + 16L * index, 16);
+                    local = new Local(id, coordinates.getDouble(0), coordinates.getDouble(8));
+                } else {
+                    local = new Local(id);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read location " + index + " from the map file.", e);
+            }
+            this.locals.put(index, local);
+        }
+        return local;
+    }
+
+    /**
+     * Reads every location into a new array. Locations beyond the capacity of the cache are not kept.
+     *
+     * @return The locations, by index.
+     */
+    @Override
+    public Local[] getVertices() {
+        Local[] result = new Local[this.numVertices];
+        for (int i = 0; i < this.numVertices; i++) {
+            result[i] = getVertex(i);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the index of a location, found by its id among the ids stored in the file, so a location that has not
+     * been read yet is found as well. The ids are read in blocks of a page of rows.
+     *
+     * @param vertex The location.
+     * @return The index of the first location with the same id, or -1 if there is none.
+     */
+    @Override
+    public int getIndex(Local vertex) {
+        if (vertex == null) {
+            return -1;
+        }
+        int id = vertex.getId();
+        try {
+            for (int first = 0; first < this.numVertices; first += this.rowsPerPage) {
+                int count = Math.min(this.rowsPerPage, this.numVertices - first);
+                ByteBuffer ids = read(this.layout.idsStart + 4L * first, 4 * count);
+                for (int i = 0; i < count; i++) {
+                    if (ids.getInt(4 * i) == id) {
+                        return first + i;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read the location ids from the map file.", e);
+        }
+        return -1;
+    }
+
+    /**
+     * Not supported: the reversed network would hold every edge of the map on the heap.
+     *
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public CSRNetwork<Local> reverse() {
+        throw new UnsupportedOperationException("A lazily loaded map cannot be reversed without loading all of its edges.");
+    }
+
+    /**
+     * Finds the shortest path with a one sided search, which needs no reversed network.
+     */
+    @Override
+    protected Iterator<Integer> iteratorBidirectionalShortestPathIndices(int startIndex, int targetIndex) {
+        return iteratorHeapShortestPathIndices(startIndex, targetIndex);
+    }
+
+    @Override
+    public void addVertex(Local vertex) {
+        throw new UnsupportedOperationException("A lazily loaded map cannot be modified.");
+    }
+
+    @Override
+    public void removeVertex(Local vertex) {
+        throw new UnsupportedOperationException("A lazily loaded map cannot be modified.");
+    }
+
+    @Override
+    public void removeVertex(int index) {
+        throw new UnsupportedOperationException("A lazily loaded map cannot be modified.");
+    }
+
+    @Override
+    public void addEdge(Local vertex1, Local vertex2) {
+        throw new UnsupportedOperationException("A lazily loaded map cannot be modified.");
+    }
+
+    @Override
+    public void addEdge(Local vertex1, Local vertex2, double weight) {
+        throw new UnsupportedOperationException("A lazily loaded map cannot be modified.");
+    }
+
+    @Override
+    public void addEdge(int index1, int index2, double weight) {
+        throw new UnsupportedOperationException("A lazily loaded map cannot be modified.");
+    }
+
+    @Override
+    public void removeEdge(Local vertex1, Local vertex2) {
+        throw new UnsupportedOperationException("A lazily loaded map cannot be modified.");
+    }
+
+    @Override
+    public void removeEdge(int index1, int index2) {
+        throw new UnsupportedOperationException("A lazily loaded map cannot be modified.");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("A lazily loaded map cannot be modified.");
+    }
+
+    private Page pageOfRow(int index) {
+        int page = index / this.rowsPerPage;
+        if (this.current != null && this.current.number == page) {
+            return this.current;
+        }
+        return load(page);
+    }
+
+    /**
+     * Finds the page holding an edge, which is almost always the page of the row just read.
+     */
+    private Page pageOfEdge(int edge) {
+        if (this.current != null && edge >= this.current.firstEdge && edge < this.current.firstEdge + this.current.targets.length) {
+            return this.current;
+        }
+        int low = 0;
+        int high = this.pageFirstEdge.length - 2;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (this.pageFirstEdge[middle] <= edge) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return load(low);
+    }
+
+    private Page load(int number) {
+        Page page = this.pages.get(number);
+        if (page == null) {
+            try {
+                page = readPage(number);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read page " + number + " from the map file.", e);
+            }
+            this.pages.put(number, page);
+            this.pageLoads++;
+        }
+        this.current = page;
+        return page;
+    }
+
+    private Page readPage(int number) throws IOException {
+        int firstRow = number * this.rowsPerPage;
+        int rows = Math.min(this.rowsPerPage, this.numVertices - firstRow);
+        ByteBuffer offsetBytes = read(this.layout.offsetsStart + 4L * firstRow, 4 * (rows + 1));
+        int[] offsets = new int[rows + 1];
+        for (int r = 0; r <= rows; r++) {
+            offsets[r] = offsetBytes.getInt(4 * r);
+        }
+
+        int firstEdge = offsets[0];
+        int count = offsets[rows] - firstEdge;
+        ByteBuffer targetBytes = read(this.layout.targetsStart + 4L * firstEdge, 4 * count);
+        ByteBuffer weights = read(this.layout.weightsStart + (long) this.layout.weightBytes * firstEdge,
+                this.layout.weightBytes * count);
+        int[] targets = new int[count];
+        for (int e = 0; e < count; e++) {
+            targets[e] = targetBytes.getInt(4 * e);
+        }
+        return new Page(number, firstRow, firstEdge, offsets, targets, weights);
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (this.channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * The edges of a range of consecutive rows. The weights keep the width they have in the file.
+     */
+    private static final class Page {
+        private final int number;
+        private final int firstRow;
+        private final int firstEdge;
+        private final int[] offsets;
+        private final int[] targets;
+        private final ByteBuffer weights;
+
+        private Page(int number, int firstRow, int firstEdge, int[] offsets, int[] targets, ByteBuffer weights) {
+            this.number = number;
+            this.firstRow = firstRow;
+            this.firstEdge = firstEdge;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+        }
+    }
+}
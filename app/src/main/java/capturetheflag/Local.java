@@ -13,6 +13,9 @@ public class Local {
     private LinkedUnorderedList<Robot> robots;
     private int teamCounter = 0;
     private int enemiesCounter = 0;
+    private double x;
+    private double y;
+    private boolean hasCoordinates;
 
     /**
      * Constructs a new local with a unique identifier, a default name, and initializes robot counters.
@@ -26,6 +29,18 @@ public class Local {
         //idCounter++;
     }
 
+    /**
+     * Constructs a new local placed at the given coordinates, in kilometers.
+     *
+     * @param id The local's identifier.
+     * @param x  The x coordinate of the local.
+     * @param y  The y coordinate of the local.
+     */
+    public Local(int id, double x, double y) {
+        this(id);
+        setCoordinates(x, y);
+    }
+
     /**
      * Gets the unique identifier of the local.
      *
@@ -62,6 +77,59 @@ public class Local {
         this.name = name;
     }
 
+    /**
+     * Checks whether the local has coordinates.
+     *
+     * @return True if the local was placed at coordinates, false otherwise.
+     */
+    public boolean hasCoordinates() {
+        return hasCoordinates;
+    }
+
+    /**
+     * Gets the x coordinate of the local.
+     *
+     * @return The x coordinate, 0 if the local has no coordinates.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * Gets the y coordinate of the local.
+     *
+     * @return The y coordinate, 0 if the local has no coordinates.
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Places the local at the given coordinates, in kilometers.
+     *
+     * @param x The new x coordinate.
+     * @param y The new y coordinate.
+     */
+    public void setCoordinates(double x, double y) {
+        this.x = x;
+        this.y = y;
+        this.hasCoordinates = true;
+    }
+
+    /**
+     * Calculates the straight line distance to another local.
+     *
+     * @param other The other local.
+     * @return The Euclidean distance between both locals.
+     * @throws IllegalArgumentException If either local has no coordinates.
+     */
+    public double distanceTo(Local other) throws IllegalArgumentException {
+        if (!this.hasCoordinates || other == null || !other.hasCoordinates) {
+            throw new IllegalArgumentException("Both locals must have coordinates!");
+        }
+        return Math.hypot(this.x - other.x, this.y - other.y);
+    }
+
     /**
      * Gets the list of robots currently in the local.
      *
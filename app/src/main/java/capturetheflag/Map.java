@@ -1,9 +1,21 @@
 package capturetheflag;
 
-import java.util.Random;
-
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+import Collections.Graphs.AllPairsShortestPaths;
+import Collections.Graphs.CSRNetwork;
+import Collections.Graphs.ContractionHierarchy;
+import Collections.Graphs.DistanceField;
+import Collections.Graphs.Heuristic;
 import Collections.Graphs.Network;
+import Collections.Graphs.RandomNetworkGenerator;
+import Collections.Graphs.ShortestPathTree;
+import Collections.Graphs.StronglyConnectedComponents;
+import Collections.HashTables.HashMap;
+import Collections.Lists.LinkedUnorderedList;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
@@ -11,11 +23,17 @@ import java.nio.file.Paths;
  * Represents the map in the Capture The Flag game, defining the locations, connections, and density.
  */
 public class Map extends Network {
+    private final static double GEOMETRIC_SIDE = 10.0;
 
     private int numLocations;
     private boolean bidirectional;
     private double density;
     private int numEdges;
+    private HashMap<Integer, ShortestPathTree> shortestPathTrees;
+    private HashMap<Integer, DistanceField> distanceFields;
+    private AllPairsShortestPaths distanceTable;
+    private ContractionHierarchy contractionHierarchy;
+    private HashMap<Integer, Integer> localIndices;
 
     /**
      * Constructs a Map with the specified number of locations, bidirectional property, and density.
@@ -32,7 +50,82 @@ public class Map extends Network {
      *         number of locations.
      */
     public Map(int numLocations, boolean bidirectional, double density) {
+        this(numLocations, bidirectional, density, false);
+    }
+
+    /**
+     * Constructs a Map with the specified number of locations, bidirectional property, and density, generated
+     * either randomly or geometrically.
+     * <p>
+     * A geometric map places its locations at coordinates and never has an edge lighter than the straight line
+     * distance between its locations, which lets the A* search use that distance as its heuristic.
+     * </p>
+     *
+     * @param numLocations The number of locations in the map. Must be 5 or more.
+     * @param bidirectional Indicates whether the map should have bidirectional edges.
+     * @param density The density of edges in the map. Must be between 0 and 1.
+     * @param geometric Indicates whether the map should be generated geometrically.
+     * @throws IllegalArgumentException if the number of locations is less than 5, if the density is outside the
+     *         range [0, 1], or if the provided density is insufficient to create a connected graph with the given
+     *         number of locations.
+     */
+    public Map(int numLocations, boolean bidirectional, double density, boolean geometric) {
+        this(numLocations, bidirectional, density, geometric, new SplittableRandom(), null);
+    }
+
+    /**
+     * Constructs a Map with the specified number of locations, bidirectional property, and density, generated
+     * either randomly or geometrically with the given random generator.
+     * <p>
+     * The map keeps the random generator for its random paths (see {@link #setRandom(SplittableRandom)}), so a
+     * generator created from a seed gives the same map and the same random paths every time.
+     * </p>
+     *
+     * @param numLocations The number of locations in the map. Must be 5 or more.
+     * @param bidirectional Indicates whether the map should have bidirectional edges.
+     * @param density The density of edges in the map. Must be between 0 and 1.
+     * @param geometric Indicates whether the map should be generated geometrically.
+     * @param random The random generator of the map.
+     * @throws IllegalArgumentException if the number of locations is less than 5, if the density is outside the
+     *         range [0, 1], if the provided density is insufficient to create a connected graph with the given
+     *         number of locations, or if the random generator is null.
+     */
+    public Map(int numLocations, boolean bidirectional, double density, boolean geometric, SplittableRandom random) {
+        this(numLocations, bidirectional, density, geometric, random, null);
+    }
+
+    /**
+     * Constructs a random Map with the specified number of locations, bidirectional property, and density,
+     * generated in parallel from the given seed.
+     * <p>
+     * The same seed always gives the same map, whatever the number of threads that generate it.
+     * </p>
+     *
+     * @param numLocations The number of locations in the map. Must be 5 or more.
+     * @param bidirectional Indicates whether the map should have bidirectional edges.
+     * @param density The density of edges in the map. Must be between 0 and 1.
+     * @param seed The seed of the random generation.
+     * @throws IllegalArgumentException if the number of locations is less than 5, if the density is outside the
+     *         range [0, 1], or if the provided density is insufficient to create a connected graph with the given
+     *         number of locations.
+     */
+    public Map(int numLocations, boolean bidirectional, double density, long seed) {
+        this(numLocations, bidirectional, density, false, new SplittableRandom(seed), seed);
+    }
+
+    /**
+     * Constructs and generates a Map, in parallel from a seed when one is given.
+     *
+     * @param numLocations The number of locations in the map. Must be 5 or more.
+     * @param bidirectional Indicates whether the map should have bidirectional edges.
+     * @param density The density of edges in the map. Must be between 0 and 1.
+     * @param geometric Indicates whether the map should be generated geometrically.
+     * @param random The random generator of the map.
+     * @param seed The seed of a parallel random generation, or null.
+     */
+    private Map(int numLocations, boolean bidirectional, double density, boolean geometric, SplittableRandom random, Long seed) {
         super();
+        setRandom(random);
         if (numLocations < 5) {
             throw new IllegalArgumentException("Number of locations must be 5 or more.");
         }
@@ -42,6 +135,7 @@ public class Map extends Network {
 
         this.numLocations = numLocations;
         this.bidirectional = bidirectional;
+        setSymmetric(bidirectional);
 
         double minDensity = calculateMinimumDensity(numLocations, bidirectional);
         if (density < minDensity) {
@@ -49,7 +143,13 @@ public class Map extends Network {
         }
         this.density = density;
         this.numEdges = 0;
-        generateRandomMap();
+        if (geometric) {
+            generateGeometricMap();
+        } else if (seed != null) {
+            generateRandomMap(seed);
+        } else {
+            generateRandomMap();
+        }
     }
 
     /**
@@ -93,11 +193,21 @@ public class Map extends Network {
 
     /**
      * Sets whether the edges in the map are bidirectional.
+     * <p>
+     * A bidirectional map whose edges all have the weight of the edge in the opposite direction keeps only one
+     * triangle of its adjacency matrix (see {@link #setSymmetric(boolean)}); a map that is not bidirectional keeps
+     * both directions, so that it can hold edges in a single direction.
+     * </p>
      *
      * @param bidirectional True if bidirectional, false otherwise.
      */
     public void setBidirectional(boolean bidirectional) {
         this.bidirectional = bidirectional;
+        if (!bidirectional) {
+            setSymmetric(false);
+        } else if (this.adjMatrix.hasSymmetricWeights(size())) {
+            setSymmetric(true);
+        }
     }
 
     /**
@@ -136,97 +246,593 @@ public class Map extends Network {
         this.numEdges = numEdges;
     }
 
+    /**
+     * Copies the map with new locations, which have the IDs, names and coordinates of the locations of this map but
+     * no robots, so that several games can be played on the same map at the same time. The adjacency matrix is
+     * copied whole, but not the random generator: the copy gets one of its own. Copying only reads this map, so
+     * several threads can copy it at once while it is not modified.
+     *
+     * @return The copy.
+     */
+    public Map copy() {
+        Map copy = new Map();
+        copy.ensureCapacity(size());
+        for (int i = 0; i < size(); i++) {
+            Local local = (Local) this.vertices[i];
+            Local copied = local.hasCoordinates() ? new Local(local.getId(), local.getX(), local.getY())
+                    : new Local(local.getId());
+            copied.setName(local.getName());
+            copy.addVertex(copied);
+        }
+        copy.adjMatrix = this.adjMatrix.resize(copy.adjMatrix.getCapacity(), size());
+        copy.numLocations = this.numLocations;
+        copy.bidirectional = this.bidirectional;
+        copy.density = this.density;
+        copy.numEdges = this.numEdges;
+        return copy;
+    }
+
     /**
      * Gets the location with the specified ID.
+     * <p>
+     * The index of every ID is kept in a table, built on the first lookup after the locations change, so a lookup
+     * takes constant expected time. When several locations share an ID, the one with the lowest index is returned.
+     * The IDs are read when the locations are added, so a location must not change its ID while in the map.
+     * </p>
      *
      * @param id The ID of the location to retrieve.
      * @return The location with the specified ID, or null if not found.
-     * @throws IllegalArgumentException If the ID is negative or greater than the number of locations.
+     * @throws IllegalArgumentException If the ID is negative.
      */
     public Local getLocal(int id) throws IllegalArgumentException {
-        System.out.println("id: " + id);
         if (id < 0) {
             throw new IllegalArgumentException("Id must be positive.");
         }
+        if (this.localIndices == null) {
+            this.localIndices = new HashMap<>(Math.max(16, 2 * size()));
+            for (int i = size() - 1; i >= 0; i--) {
+                if (this.vertices[i] != null) {
+                    this.localIndices.put(((Local) this.vertices[i]).getId(), i);
+                }
+            }
+        }
+        Integer index = this.localIndices.getOrDefault(id, null);
+        return index == null ? null : (Local) this.vertices[index];
+    }
 
-        for (int i = 0; i < this.numLocations; i++) {
-            if (((Local) getVertices()[i]).getId() == id) {
-                Local local = (Local) getVertices()[i];
-                return local;
+    /**
+     * Adds a location, and its ID to the table of {@link #getLocal(int)} when it is built.
+     *
+     * @param vertex The location.
+     */
+    @Override
+    public void addVertex(Object vertex) {
+        super.addVertex(vertex);
+        if (this.localIndices != null && vertex != null) {
+            this.localIndices.putIfAbsent(((Local) vertex).getId(), size() - 1);
+        }
+    }
+
+    /**
+     * Removes a location. The following locations move one index down, so the table of {@link #getLocal(int)} is
+     * built again on the next lookup.
+     *
+     * @param index The index of the location.
+     */
+    @Override
+    public void removeVertex(int index) {
+        super.removeVertex(index);
+        this.localIndices = null;
+    }
+
+    /**
+     * Removes every location.
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        this.localIndices = null;
+    }
+
+    /**
+     * Gets the compressed sparse row view of this map.
+     * <p>
+     * The view shares the locations and indices of this map but only stores the existing edges, so the traversals
+     * of the map run in O(V + E) on it instead of scanning whole rows of the adjacency matrix. It is rebuilt on
+     * first use after the map is modified.
+     * </p>
+     *
+     * @return The compressed view of the map.
+     */
+    @Override
+    public CSRNetwork<Local> getCompressedNetwork() {
+        return withLocals(super.getCompressedNetwork());
+    }
+
+    /**
+     * Gives a value returned by the raw network this map extends the type it has for a map of locations.
+     *
+     * @param value The value, built over the locations of this map.
+     * @return The same value.
+     */
+    @SuppressWarnings("unchecked")
+    private static <R> R withLocals(Object value) {
+        return (R) value;
+    }
+
+    /**
+     * Discards the compressed view, every cached shortest path tree, every distance field, the distance table and
+     * the contraction hierarchy, since they describe the old edges.
+     */
+    @Override
+    protected void invalidateCompressedNetwork() {
+        super.invalidateCompressedNetwork();
+        this.shortestPathTrees = null;
+        this.distanceFields = null;
+        this.distanceTable = null;
+        this.contractionHierarchy = null;
+    }
+
+    /**
+     * Gets the table of the shortest distances between every pair of locations, computing it on first use.
+     * <p>
+     * The table is built with a parallel blocked Floyd–Warshall in O(V³) and kept until the map is modified.
+     * While it exists, {@link #shortestPathWeight(int, int)} reads the distances from it in O(1).
+     * </p>
+     *
+     * @return The distance table of the map.
+     */
+    public AllPairsShortestPaths getDistanceTable() {
+        if (this.distanceTable == null) {
+            this.distanceTable = new AllPairsShortestPaths(getCompressedNetwork());
+        }
+        return this.distanceTable;
+    }
+
+    /**
+     * Computes the distance table now instead of on first use, for callers that are about to ask for many
+     * distances.
+     */
+    public void computeDistanceTable() {
+        getDistanceTable();
+    }
+
+    /**
+     * Checks whether the distance table has been computed for the current edges.
+     *
+     * @return True if the distance table is available, false otherwise.
+     */
+    public boolean hasDistanceTable() {
+        return this.distanceTable != null;
+    }
+
+    /**
+     * Gets the contraction hierarchy of the map, preprocessing it on first use.
+     * <p>
+     * Preprocessing takes a few seconds on maps with tens of thousands of locations and is kept until the map is
+     * modified. While the hierarchy exists, {@link #iteratorShortestPath(int, int)} and
+     * {@link #shortestPathWeight(int, int)} answer from it, and {@link #saveToJsonFile(String)} saves it next to
+     * the map so that {@link MapLoader} can restore it.
+     * </p>
+     *
+     * @return The contraction hierarchy of the map.
+     */
+    public ContractionHierarchy getContractionHierarchy() {
+        if (this.contractionHierarchy == null) {
+            this.contractionHierarchy = new ContractionHierarchy(getCompressedNetwork());
+        }
+        return this.contractionHierarchy;
+    }
+
+    /**
+     * Sets a contraction hierarchy computed earlier for this map, usually loaded from a file.
+     *
+     * @param contractionHierarchy The contraction hierarchy.
+     * @throws IllegalArgumentException If the hierarchy is null or was computed for different locations or edges.
+     */
+    public void setContractionHierarchy(ContractionHierarchy contractionHierarchy) throws IllegalArgumentException {
+        if (contractionHierarchy == null || !contractionHierarchy.matches(getCompressedNetwork())) {
+            throw new IllegalArgumentException("The contraction hierarchy does not match this map.");
+        }
+        this.contractionHierarchy = contractionHierarchy;
+    }
+
+    /**
+     * Checks whether the contraction hierarchy is available for the current edges.
+     *
+     * @return True if the contraction hierarchy is available, false otherwise.
+     */
+    public boolean hasContractionHierarchy() {
+        return this.contractionHierarchy != null;
+    }
+
+    /**
+     * Saves the map to a sparse JSON file written by {@link MapWriter} and, when it has been preprocessed, the
+     * contraction hierarchy to a file with the same name and the extension .ch.
+     *
+     * @param fileName The name of the file, without extension.
+     */
+    @Override
+    public void saveToJsonFile(String fileName) {
+        try {
+            String filePath = fileName + ".json";
+            MapWriter.saveMapToJson(this, filePath);
+            System.out.println("Map saved successfully to " + filePath);
+            if (this.contractionHierarchy != null) {
+                this.contractionHierarchy.save(fileName + ".ch");
             }
+        } catch (IOException e) {
+            e.printStackTrace();
         }
+    }
 
-        return null;
+    /**
+     * Saves the map to a binary map file, which {@link MapLoader#openMappedMap(String)} opens without parsing.
+     *
+     * @param fileName The name of the file without the extension.
+     */
+    public void saveToBinaryFile(String fileName) {
+        try {
+            String filePath = fileName + ".ctfm";
+            MappedMapNetwork.save(this, filePath);
+            System.out.println("Map saved successfully to " + filePath);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 
     /**
-     * Generates a random map by adding locations and connecting them with edges based on the specified density and bidirectionality.
+     * Gets the shortest path tree rooted at the given location.
      * <p>
-     * The method ensures that the number of locations is at least 5 and the density is within the valid range [0, 1].
-     * It then iterates over each pair of locations, randomly deciding whether to add an edge between them based on the density.
-     * The distance of the edge is a random value between 1 and 15 kilometers.
-     * The process continues until the actual number of edges reaches the expected number calculated from the density.
-     * Finally, it checks whether the generated map is connected; if not, it raises an exception.
+     * The tree is computed once per location and kept until the map is modified, so every robot leaving the same
+     * flag reuses one search instead of running its own.
      * </p>
      *
-     * @throws IllegalArgumentException If isn't possible to generate a connected map.
+     * @param startIndex The index of the root location, usually a flag.
+     * @return The shortest path tree rooted at the location.
+     * @throws IllegalArgumentException If the index is not a valid location index.
      */
-    public void generateRandomMap() throws IllegalArgumentException {
-        Random random = new Random();
+    public ShortestPathTree getShortestPathTree(int startIndex) throws IllegalArgumentException {
+        if (this.shortestPathTrees == null) {
+            this.shortestPathTrees = new HashMap<>();
+        }
+        ShortestPathTree tree = this.shortestPathTrees.getOrDefault(startIndex, null);
+        if (tree == null) {
+            tree = getCompressedNetwork().shortestPathTree(startIndex);
+            this.shortestPathTrees.put(startIndex, tree);
+        }
+        return tree;
+    }
 
-        for (int i = 0; i < this.numLocations; i++) {
-            addVertex(new Local(i));
+    /**
+     * Returns the shortest path between two locations, read from the cached tree of the start location.
+     *
+     * @param startIndex  The index of the starting location.
+     * @param targetIndex The index of the target location.
+     * @return An iterator over the locations of the path, empty if there is none.
+     * @throws IllegalArgumentException If the start index is not a valid location index.
+     */
+    public Iterator<Local> iteratorTreeShortestPath(int startIndex, int targetIndex) throws IllegalArgumentException {
+        Iterator<Integer> indices = getShortestPathTree(startIndex).iteratorPathIndices(targetIndex);
+        CSRNetwork<Local> network = getCompressedNetwork();
+        LinkedUnorderedList<Local> path = new LinkedUnorderedList<>();
+
+        while (indices.hasNext()) {
+            path.addToRear(network.getVertex(indices.next()));
+        }
+        return path.iterator();
+    }
+
+    /**
+     * Gets the distance field towards the given location.
+     * <p>
+     * The field stores, for every location, the distance to the target and the next location on a shortest path
+     * to it. It is computed with one reverse search and kept until the map is modified, so any number of robots
+     * can walk towards the same flag with an O(1) lookup per move.
+     * </p>
+     *
+     * @param targetIndex The index of the target location, usually a flag.
+     * @return The distance field towards the location.
+     * @throws IllegalArgumentException If the index is not a valid location index.
+     */
+    public DistanceField getDistanceField(int targetIndex) throws IllegalArgumentException {
+        if (this.distanceFields == null) {
+            this.distanceFields = new HashMap<>();
+        }
+        DistanceField field = this.distanceFields.getOrDefault(targetIndex, null);
+        if (field == null) {
+            field = new DistanceField(getCompressedNetwork(), targetIndex);
+            this.distanceFields.put(targetIndex, field);
+        }
+        return field;
+    }
+
+    /**
+     * Returns a breadth first iterator starting at the given location, computed on the compressed view.
+     *
+     * @param startIndex The index of the starting location.
+     * @return A breadth first iterator over the locations.
+     */
+    @Override
+    public Iterator<Local> iteratorBFS(int startIndex) {
+        return getCompressedNetwork().iteratorBFS(startIndex);
+    }
+
+    /**
+     * Returns a depth first iterator starting at the given location, computed on the compressed view.
+     *
+     * @param startIndex The index of the starting location.
+     * @return A depth first iterator over the locations.
+     */
+    @Override
+    public Iterator<Local> iteratorDFS(int startIndex) {
+        return getCompressedNetwork().iteratorDFS(startIndex);
+    }
+
+    /**
+     * Finds the strongly connected components of the map: groups of locations that can all reach each other.
+     *
+     * @return The strongly connected components of the map.
+     */
+    public StronglyConnectedComponents getStronglyConnectedComponents() {
+        return new StronglyConnectedComponents(getCompressedNetwork());
+    }
+
+    /**
+     * Checks whether every location can reach every other location, following the direction of the edges.
+     * <p>
+     * Unlike a traversal from the first location, this also rejects directed maps where some location can be
+     * reached but cannot return, which would strand the robots. The check runs in O(V + E).
+     * </p>
+     *
+     * @return True if the map is not empty and strongly connected, false otherwise.
+     */
+    @Override
+    public boolean isConnected() {
+        return isConnected_Network();
+    }
+
+    /**
+     * Returns the shortest path between two locations, from the contraction hierarchy when it has been
+     * preprocessed and computed on the compressed view otherwise.
+     *
+     * @param startIndex  The index of the starting location.
+     * @param targetIndex The index of the target location.
+     * @return An iterator over the locations of the path, empty if there is none.
+     */
+    @Override
+    public Iterator<Local> iteratorShortestPath(int startIndex, int targetIndex) {
+        if (this.contractionHierarchy == null) {
+            return getCompressedNetwork().iteratorShortestPath(startIndex, targetIndex);
+        }
+        CSRNetwork<Local> network = getCompressedNetwork();
+        LinkedUnorderedList<Local> path = new LinkedUnorderedList<>();
+        Iterator<Integer> indices = this.contractionHierarchy.iteratorPathIndices(startIndex, targetIndex);
+        while (indices.hasNext()) {
+            path.addToRear(network.getVertex(indices.next()));
+        }
+        return path.iterator();
+    }
+
+    /**
+     * Returns the longest path between two locations, computed on the compressed view.
+     *
+     * @param startIndex  The index of the starting location.
+     * @param targetIndex The index of the target location.
+     * @return An iterator over the locations of the path, empty if there is none.
+     */
+    @Override
+    public Iterator<Local> iteratorLongestPath(int startIndex, int targetIndex) {
+        return getCompressedNetwork().iteratorLongestPath(startIndex, targetIndex);
+    }
+
+    /**
+     * Returns a random path between two locations, computed on the compressed view.
+     *
+     * @param startIndex  The index of the starting location.
+     * @param targetIndex The index of the target location.
+     * @return An iterator over the locations of the path, empty if there is none.
+     */
+    @Override
+    public Iterator<Local> iteratorRandomPath(int startIndex, int targetIndex) {
+        return getCompressedNetwork().iteratorRandomPath(startIndex, targetIndex);
+    }
+
+    /**
+     * Returns a random path between two locations drawn from the given random generator, leaving the random
+     * generator of the map untouched, so games sharing the map each keep their own paths.
+     *
+     * @param startIndex  The index of the starting location.
+     * @param targetIndex The index of the target location.
+     * @param random      The random generator of the path.
+     * @return An iterator over the locations of the path, empty if there is none.
+     */
+    public Iterator<Local> iteratorRandomPath(int startIndex, int targetIndex, SplittableRandom random) {
+        return getCompressedNetwork().iteratorRandomPath(startIndex, targetIndex, random);
+    }
+
+    /**
+     * Returns the weight of the shortest path between two locations, read from the distance table when it has
+     * been computed, from the contraction hierarchy when it has been preprocessed, and searched on the compressed
+     * view otherwise.
+     *
+     * @param startIndex  The index of the starting location.
+     * @param targetIndex The index of the target location.
+     * @return The weight of the shortest path, or positive infinity if there is none.
+     */
+    @Override
+    public double shortestPathWeight(int startIndex, int targetIndex) {
+        if (this.distanceTable != null && startIndex != targetIndex) {
+            return this.distanceTable.distance(startIndex, targetIndex);
+        }
+        if (this.contractionHierarchy != null && startIndex != targetIndex) {
+            return this.contractionHierarchy.distance(startIndex, targetIndex);
         }
+        return getCompressedNetwork().shortestPathWeight(startIndex, targetIndex);
+    }
+
+    /**
+     * Returns the shortest path between two locations found by an A* search guided by the straight line
+     * distance to the target. On maps without coordinates the search behaves like Dijkstra.
+     *
+     * @param startIndex  The index of the starting location.
+     * @param targetIndex The index of the target location.
+     * @return An iterator over the locations of the path, empty if there is none.
+     */
+    public Iterator<Local> iteratorAStarPath(int startIndex, int targetIndex) {
+        return withLocals(iteratorAStarPath(startIndex, targetIndex, getEuclideanHeuristic()));
+    }
+
+    /**
+     * Gets the heuristic estimating the remaining distance as the straight line distance between two locations.
+     * <p>
+     * The estimate never exceeds the real distance on maps generated by {@link #generateGeometricMap()}. If any
+     * location has no coordinates the zero heuristic is returned instead.
+     * </p>
+     *
+     * @return The Euclidean heuristic of this map.
+     */
+    public Heuristic getEuclideanHeuristic() {
+        CSRNetwork<Local> network = getCompressedNetwork();
+        int n = network.size();
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            Local local = network.getVertex(i);
+            if (!local.hasCoordinates()) {
+                return Heuristic.ZERO;
+            }
+            x[i] = local.getX();
+            y[i] = local.getY();
+        }
+        return (fromIndex, targetIndex) -> Math.hypot(x[fromIndex] - x[targetIndex], y[fromIndex] - y[targetIndex]);
+    }
+
+    /**
+     * Generates a geometric map by placing the locations at random coordinates and connecting them with edges
+     * based on the specified density and bidirectionality.
+     * <p>
+     * The locations are placed in a square of 10 by 10 kilometers. Each location is first connected to the
+     * nearest location placed before it, which makes the map connected. The remaining edges are chosen among
+     * the other pairs of locations with uniform probability until the number of edges reaches the one calculated
+     * from the density. The distance of each edge is the straight line distance between its locations rounded
+     * up, and at least 1 kilometer.
+     * </p>
+     */
+    public void generateGeometricMap() {
+        SplittableRandom random = getRandom();
 
+        ensureCapacity(this.numLocations);
         for (int i = 0; i < this.numLocations; i++) {
-            for (int j = i + 1; j < this.numLocations; j++) {
-                if (getNumEdges() < calculateExpectedNumEdges() && random.nextDouble() < this.density) {
-                    double distance = random.nextInt(15) + 1;  // Distância aleatória entre 1 e 15 km
-                    if (isBidirectional()) {
-                        addEdge(i, j, distance);
-                        addEdge(j, i, distance);
-                        this.numEdges++;
-                    } else {
-                        int added = 0;
-                        if(random.nextInt(3) > 0) {
-                            addEdge(i, j, distance);
-                            added = 1;
-                        }
-                        if(random.nextInt(3) > 0) {
-                            addEdge(j, i, distance);
-                            added = 1;
-                        }
-                        if(added == 1) {
-                            this.numEdges++;
-                        }
-                    }
-                } else {
-                    break;
+            addVertex(new Local(i, random.nextDouble() * GEOMETRIC_SIDE, random.nextDouble() * GEOMETRIC_SIDE));
+        }
+
+        for (int i = 1; i < this.numLocations; i++) {
+            int nearest = 0;
+            for (int j = 1; j < i; j++) {
+                if (geometricDistance(i, j) < geometricDistance(i, nearest)) {
+                    nearest = j;
+                }
+            }
+            addGeometricEdge(i, nearest, true, random);
+        }
+
+        int needed = (int) (this.density * this.numLocations * (this.numLocations - 1) / 2) - this.numEdges;
+        int remaining = this.numLocations * (this.numLocations - 1) / 2 - this.numEdges;
+        for (int i = 0; i < this.numLocations && needed > 0; i++) {
+            for (int j = i + 1; j < this.numLocations && needed > 0; j++) {
+                if (this.adjMatrix.hasEdge(i, j) || this.adjMatrix.hasEdge(j, i)) {
+                    continue;
                 }
+                if (random.nextInt(remaining) < needed) {
+                    addGeometricEdge(i, j, isBidirectional() || random.nextInt(3) == 0, random);
+                    needed--;
+                }
+                remaining--;
             }
         }
-        if (!isConnected()) {
-            throw new IllegalArgumentException("The generated map is not connected. Please try again.");
+    }
+
+    /**
+     * Calculates the rounded distance of an edge between two located locations.
+     *
+     * @param i The index of the first location.
+     * @param j The index of the second location.
+     * @return The straight line distance rounded up, at least 1.
+     */
+    private double geometricDistance(int i, int j) {
+        Local from = (Local) this.vertices[i];
+        return Math.max(1, Math.ceil(from.distanceTo((Local) this.vertices[j])));
+    }
+
+    /**
+     * Adds a geometric edge between two locations, in one random direction or in both.
+     *
+     * @param i      The index of the first location.
+     * @param j      The index of the second location.
+     * @param both   Indicates whether the edge is added in both directions.
+     * @param random The random generator choosing the direction.
+     */
+    private void addGeometricEdge(int i, int j, boolean both, SplittableRandom random) {
+        double distance = geometricDistance(i, j);
+        if (both) {
+            addEdge(i, j, distance);
+            addEdge(j, i, distance);
+        } else if (random.nextBoolean()) {
+            addEdge(i, j, distance);
+        } else {
+            addEdge(j, i, distance);
         }
+        this.numEdges++;
+    }
 
+    /**
+     * Generates a random map by adding locations and connecting them with edges based on the specified density and bidirectionality.
+     * <p>
+     * The locations are first joined by a random spanning tree with edges in both directions, so the map is always
+     * connected and never has to be generated again. The remaining pairs of locations are then chosen by selection
+     * sampling, so exactly the number of pairs calculated from the density is connected, in time proportional to
+     * the number of edges instead of testing every pair.
+     * The distance of each edge is a random value between 1 and 15 kilometers.
+     * In a map that is not bidirectional, the sampled pairs are connected in one random direction or in both.
+     * </p>
+     */
+    public void generateRandomMap() {
+        RandomNetworkGenerator generator = new RandomNetworkGenerator(this.numLocations, isBidirectional(), this.density);
+        generator.generate(getRandom());
+        addGeneratedLocations(generator);
     }
 
     /**
-     * Calculates the expected number of edges for a graph based on the number of locations and specified density.
+     * Generates a random map like {@link #generateRandomMap()}, sampling the edges in parallel.
      * <p>
-     * The expected number of edges is calculated using the formula: (density * numLocations * (numLocations - 1)) / 2.
+     * The pairs of locations are split in fixed ranges, each sampled by its own task with an independent random
+     * stream split from the seed, so the map only depends on the seed. Every pair outside the spanning tree is
+     * chosen independently, which makes the number of edges vary slightly around the one given by the density.
      * </p>
      *
-     * @return The expected number of edges for the graph.
+     * @param seed The seed of the random generation.
      */
-    private int calculateExpectedNumEdges() {
-        int numLocations = getNumLocations();
-        double expectedDensity = getDensity();
-        int numEdges = (int) (expectedDensity * numLocations * (numLocations - 1) / 2);
-        if (isBidirectional()) {
-            numEdges *= 2;
+    public void generateRandomMap(long seed) {
+        RandomNetworkGenerator generator = new RandomNetworkGenerator(this.numLocations, isBidirectional(), this.density);
+        generator.generateParallel(seed);
+        addGeneratedLocations(generator);
+    }
+
+    /**
+     * Adds the locations and the edges produced by a generator.
+     *
+     * @param generator The generator, after generating.
+     */
+    private void addGeneratedLocations(RandomNetworkGenerator generator) {
+        ensureCapacity(this.numLocations);
+        for (int i = 0; i < this.numLocations; i++) {
+            addVertex(new Local(i));
+        }
+        for (int e = 0; e < generator.numEdges(); e++) {
+            addEdge(generator.edgeSource(e), generator.edgeTarget(e), generator.edgeWeight(e));
         }
-        return numEdges;
+        this.numEdges = generator.numPairs();
     }
 
     /**
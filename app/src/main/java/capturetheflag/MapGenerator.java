@@ -0,0 +1,171 @@
+package capturetheflag;
+
+import Collections.Graphs.CSRNetwork;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates maps with a given topology from a seed.
+ * <p>
+ * Each generator creates the locations directly and connects them with roads that can be travelled in both
+ * directions, in time proportional to the number of locations and roads. The same seed always gives the same
+ * map. The result can be built as a compressed network, which scales to millions of locations, or as a
+ * {@link Map}, whose adjacency matrix limits it to a few thousand locations.
+ * </p>
+ */
+public abstract class MapGenerator {
+    /**
+     * The largest distance of a road, in kilometers, in the generators that choose it at random.
+     */
+    public static final int MAX_DISTANCE = 15;
+
+    private final long seed;
+
+    /**
+     * Constructs a generator.
+     *
+     * @param seed The seed of the generation.
+     */
+    protected MapGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the seed of the generation.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Creates the locations of the map. Their identifiers must be their indices.
+     *
+     * @param random The random generator of this generation.
+     * @return The locations.
+     */
+    protected abstract Local[] createLocals(SplittableRandom random);
+
+    /**
+     * Connects the locations of the map.
+     *
+     * @param locals The locations created by {@link #createLocals(SplittableRandom)}.
+     * @param roads  The list receiving the roads.
+     * @param random The random generator of this generation.
+     */
+    protected abstract void createRoads(Local[] locals, Roads roads, SplittableRandom random);
+
+    /**
+     * Generates the map as a compressed network.
+     *
+     * @return The generated network.
+     */
+    public CSRNetwork<Local> generateNetwork() {
+        SplittableRandom random = new SplittableRandom(this.seed);
+        Local[] locals = createLocals(random);
+        Roads roads = new Roads(locals.length);
+        createRoads(locals, roads, random);
+        return roads.toNetwork(locals);
+    }
+
+    /**
+     * Generates the map as a {@link Map}, with the same locations and roads as {@link #generateNetwork()}.
+     *
+     * @return The generated map.
+     */
+    public Map generateMap() {
+        CSRNetwork<Local> network = generateNetwork();
+        int n = network.size();
+        Map map = new Map();
+        map.setBidirectional(true);
+        map.ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            map.addVertex(network.getVertex(i));
+        }
+        for (int i = 0; i < n; i++) {
+            for (int e = network.edgeBegin(i); e < network.edgeEnd(i); e++) {
+                map.addEdge(i, network.edgeTarget(e), network.edgeWeight(e));
+            }
+        }
+        int pairs = network.numEdges() / 2;
+        map.setNumLocations(n);
+        map.setNumEdges(pairs);
+        map.setDensity(n > 1 ? 2.0 * pairs / ((double) n * (n - 1)) : 0);
+        return map;
+    }
+
+    /**
+     * Gets a random road distance between 1 and {@link #MAX_DISTANCE} kilometers.
+     *
+     * @param random The random generator.
+     * @return The distance.
+     */
+    protected static double randomDistance(SplittableRandom random) {
+        return random.nextInt(MAX_DISTANCE) + 1;
+    }
+
+    /**
+     * The roads of a map being generated, stored as a growable list of edges in both directions.
+     */
+    protected static final class Roads {
+        private int[] sources;
+        private int[] targets;
+        private double[] weights;
+        private int size;
+
+        private Roads(int expectedLocations) {
+            int capacity = Math.max(2 * expectedLocations, 16);
+            this.sources = new int[capacity];
+            this.targets = new int[capacity];
+            this.weights = new double[capacity];
+        }
+
+        /**
+         * Adds a road between two different locations, travelled in both directions. The generators never add
+         * the same road twice.
+         *
+         * @param index1   The index of the first location.
+         * @param index2   The index of the second location.
+         * @param distance The distance of the road.
+         */
+        public void add(int index1, int index2, double distance) {
+            if (this.size + 2 > this.sources.length) {
+                int[] largerSources = new int[this.sources.length * 2];
+                int[] largerTargets = new int[this.sources.length * 2];
+                double[] largerWeights = new double[this.sources.length * 2];
+                System.arraycopy(this.sources, 0, largerSources, 0, this.size);
+                System.arraycopy(this.targets, 0, largerTargets, 0, this.size);
+                System.arraycopy(this.weights, 0, largerWeights, 0, this.size);
+                this.sources = largerSources;
+                this.targets = largerTargets;
+                this.weights = largerWeights;
+            }
+            this.sources[this.size] = index1;
+            this.targets[this.size] = index2;
+            this.weights[this.size++] = distance;
+            this.sources[this.size] = index2;
+            this.targets[this.size] = index1;
+            this.weights[this.size++] = distance;
+        }
+
+        /**
+         * Gets the number of roads added.
+         *
+         * @return The number of roads.
+         */
+        public int size() {
+            return this.size / 2;
+        }
+
+        private CSRNetwork<Local> toNetwork(Local[] locals) {
+            int[] edgeSources = new int[this.size];
+            int[] edgeTargets = new int[this.size];
+            double[] edgeWeights = new double[this.size];
+            System.arraycopy(this.sources, 0, edgeSources, 0, this.size);
+            System.arraycopy(this.targets, 0, edgeTargets, 0, this.size);
+            System.arraycopy(this.weights, 0, edgeWeights, 0, this.size);
+            return new CSRNetwork<>(locals, edgeSources, edgeTargets, edgeWeights);
+        }
+    }
+}
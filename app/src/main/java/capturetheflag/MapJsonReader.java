@@ -0,0 +1,325 @@
+package capturetheflag;
+
+import capturetheflag.JsonTokenizer.Token;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads a Map from a JSON document in a single pass over its tokens.
+ * <p>
+ * The map is filled while the document is read, so the document is never held in memory. The adjacency matrix
+ * is sized once: from the number of locations in the header of the sparse format written by {@link MapWriter},
+ * or, in the older dense format, from the number of vertex values or the length of the first row of the
+ * adjacency matrix, whichever comes first. Both formats are read with the same results as their DOM loaders.
+ * </p>
+ */
+class MapJsonReader {
+    private final JsonTokenizer json;
+    private final Map map;
+    private int version = 1;
+    private boolean bidirectional;
+    private boolean symmetric;
+    private boolean matrixRead;
+    private int[] pendingSources = new int[16];
+    private int[] pendingTargets = new int[16];
+    private double[] pendingWeights = new double[16];
+    private int numPending;
+
+    private MapJsonReader(Reader reader) {
+        this.json = new JsonTokenizer(reader);
+        this.map = new Map();
+    }
+
+    /**
+     * Reads a map from a JSON document in either format.
+     *
+     * @param reader The reader of the document.
+     * @return The map.
+     * @throws IOException              If the reader fails or the document is not valid JSON.
+     * @throws IllegalArgumentException If the document has an unknown version or an edge references a location
+     *                                  that does not exist.
+     */
+    static Map read(Reader reader) throws IOException, IllegalArgumentException {
+        return new MapJsonReader(reader).readMap();
+    }
+
+    private Map readMap() throws IOException {
+        this.json.expect(Token.BEGIN_OBJECT);
+        Token token = this.json.next();
+        while (token != Token.END_OBJECT) {
+            if (token != Token.STRING) {
+                throw new IOException("Expected a key but found " + token + " in JSON.");
+            }
+            String key = this.json.getString();
+            Token value = this.json.next();
+            switch (key) {
+                case "version":
+                    this.version = (int) this.json.getNumber();
+                    if (this.version != MapWriter.VERSION) {
+                        throw new IllegalArgumentException("Unknown map format version " + this.version + ".");
+                    }
+                    break;
+                case "bidirectional":
+                    this.bidirectional = value == Token.TRUE;
+                    break;
+                case "symmetric":
+                    this.symmetric = value == Token.TRUE;
+                    this.map.setSymmetric(this.symmetric);
+                    break;
+                case "density":
+                    this.map.setDensity(this.json.getNumber());
+                    break;
+                case "numLocations":
+                    this.map.ensureCapacity((int) this.json.getNumber());
+                    break;
+                case "locations":
+                    readLocations(value);
+                    break;
+                case "edges":
+                    readEdges(value);
+                    break;
+                case "vertexValues":
+                    readVertexValues(value);
+                    break;
+                case "adjacencyMatrix":
+                    readAdjacencyMatrix(value);
+                    break;
+                case "edgeWeights":
+                    readEdgeWeights(value);
+                    break;
+                default:
+                    this.json.skipValue(value);
+                    break;
+            }
+            token = this.json.next();
+        }
+
+        if (this.version == 1) {
+            applyEdgeWeights();
+        }
+        this.map.setBidirectional(this.bidirectional);
+        this.map.setNumLocations(this.map.size());
+        return this.map;
+    }
+
+    /**
+     * Reads the locations of the sparse format.
+     */
+    private void readLocations(Token first) throws IOException {
+        expectArray(first);
+        Token token = this.json.next();
+        while (token != Token.END_ARRAY) {
+            if (token != Token.BEGIN_OBJECT) {
+                throw new IOException("Expected a location but found " + token + " in JSON.");
+            }
+            int id = 0;
+            double x = 0;
+            double y = 0;
+            int coordinates = 0;
+            Token field = this.json.next();
+            while (field != Token.END_OBJECT) {
+                String name = this.json.getString();
+                Token value = this.json.next();
+                if (name.equals("id")) {
+                    id = (int) this.json.getNumber();
+                } else if (name.equals("x")) {
+                    x = this.json.getNumber();
+                    coordinates++;
+                } else if (name.equals("y")) {
+                    y = this.json.getNumber();
+                    coordinates++;
+                } else {
+                    this.json.skipValue(value);
+                }
+                field = this.json.next();
+            }
+            this.map.addVertex(coordinates == 2 ? new Local(id, x, y) : new Local(id));
+            token = this.json.next();
+        }
+    }
+
+    /**
+     * Reads the edges of the sparse format.
+     */
+    private void readEdges(Token first) throws IOException {
+        expectArray(first);
+        int numEdges = 0;
+        Token token = this.json.next();
+        while (token != Token.END_ARRAY) {
+            if (token != Token.BEGIN_ARRAY) {
+                throw new IOException("Expected an edge but found " + token + " in JSON.");
+            }
+            this.json.expect(Token.NUMBER);
+            int source = (int) this.json.getNumber();
+            this.json.expect(Token.NUMBER);
+            int target = (int) this.json.getNumber();
+            this.json.expect(Token.NUMBER);
+            double weight = this.json.getNumber();
+            this.json.expect(Token.END_ARRAY);
+
+            if (!this.map.indexIsValid(source) || !this.map.indexIsValid(target)) {
+                throw new IllegalArgumentException("Edge " + source + " to " + target + " references a missing location.");
+            }
+            this.map.addEdge(source, target, weight);
+            if (this.symmetric) {
+                this.map.addEdge(target, source, weight);
+            }
+            numEdges++;
+            token = this.json.next();
+        }
+        this.map.setNumEdges(numEdges);
+    }
+
+    /**
+     * Reads the vertex values of the dense format, which only give the number of locations.
+     */
+    private void readVertexValues(Token first) throws IOException {
+        expectArray(first);
+        int count = 0;
+        Token token = this.json.next();
+        while (token != Token.END_ARRAY) {
+            this.json.skipValue(token);
+            count++;
+            token = this.json.next();
+        }
+        createLocals(count);
+    }
+
+    /**
+     * Reads the adjacency matrix of the dense format, creating the locations from its first row when the vertex
+     * values have not been read yet.
+     */
+    private void readAdjacencyMatrix(Token first) throws IOException {
+        expectArray(first);
+        int row = 0;
+        Token token = this.json.next();
+        while (token != Token.END_ARRAY) {
+            expectArray(token);
+            if (this.map.size() == 0) {
+                double[] values = new double[16];
+                int count = 0;
+                Token cell = this.json.next();
+                while (cell != Token.END_ARRAY) {
+                    if (count == values.length) {
+                        double[] larger = new double[values.length * 2];
+                        System.arraycopy(values, 0, larger, 0, count);
+                        values = larger;
+                    }
+                    values[count++] = cell == Token.NUMBER ? this.json.getNumber() : Double.POSITIVE_INFINITY;
+                    cell = this.json.next();
+                }
+                createLocals(count);
+                for (int j = 0; j < count; j++) {
+                    addDenseEdge(row, j, values[j]);
+                }
+            } else {
+                int column = 0;
+                Token cell = this.json.next();
+                while (cell != Token.END_ARRAY) {
+                    if (cell == Token.NUMBER) {
+                        addDenseEdge(row, column, this.json.getNumber());
+                    }
+                    column++;
+                    cell = this.json.next();
+                }
+            }
+            row++;
+            token = this.json.next();
+        }
+        this.matrixRead = true;
+        applyEdgeWeights();
+    }
+
+    /**
+     * Reads the edge weights of the dense format, which set both directions of each edge after the adjacency
+     * matrix. They are kept aside when they come before the matrix.
+     */
+    private void readEdgeWeights(Token first) throws IOException {
+        expectArray(first);
+        Token token = this.json.next();
+        while (token != Token.END_ARRAY) {
+            if (token != Token.BEGIN_OBJECT) {
+                throw new IOException("Expected an edge weight but found " + token + " in JSON.");
+            }
+            String index = null;
+            double weight = Double.NaN;
+            Token field = this.json.next();
+            while (field != Token.END_OBJECT) {
+                String name = this.json.getString();
+                Token value = this.json.next();
+                if (name.equals("index")) {
+                    index = this.json.getString();
+                } else if (name.equals("weight")) {
+                    weight = this.json.getNumber();
+                } else {
+                    this.json.skipValue(value);
+                }
+                field = this.json.next();
+            }
+            if (index != null) {
+                String[] indices = index.split(" to ");
+                addPending(Integer.parseInt(indices[0]), Integer.parseInt(indices[1]), weight);
+            }
+            token = this.json.next();
+        }
+        if (this.matrixRead) {
+            applyEdgeWeights();
+        }
+    }
+
+    private void addPending(int source, int target, double weight) {
+        if (this.numPending == this.pendingSources.length) {
+            int[] largerSources = new int[this.numPending * 2];
+            int[] largerTargets = new int[this.numPending * 2];
+            double[] largerWeights = new double[this.numPending * 2];
+            System.arraycopy(this.pendingSources, 0, largerSources, 0, this.numPending);
+            System.arraycopy(this.pendingTargets, 0, largerTargets, 0, this.numPending);
+            System.arraycopy(this.pendingWeights, 0, largerWeights, 0, this.numPending);
+            this.pendingSources = largerSources;
+            this.pendingTargets = largerTargets;
+            this.pendingWeights = largerWeights;
+        }
+        this.pendingSources[this.numPending] = source;
+        this.pendingTargets[this.numPending] = target;
+        this.pendingWeights[this.numPending] = weight;
+        this.numPending++;
+    }
+
+    private void applyEdgeWeights() {
+        for (int e = 0; e < this.numPending; e++) {
+            int source = this.pendingSources[e];
+            int target = this.pendingTargets[e];
+            if (this.map.indexIsValid(source) && this.map.indexIsValid(target)) {
+                this.map.addEdge(source, target, this.pendingWeights[e]);
+                this.map.addEdge(target, source, this.pendingWeights[e]);
+            }
+        }
+        this.numPending = 0;
+    }
+
+    /**
+     * Creates the locations of the dense format, numbered from 1 like its DOM loader does.
+     */
+    private void createLocals(int count) {
+        if (this.map.size() > 0) {
+            return;
+        }
+        this.map.ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            this.map.addVertex(new Local(i + 1));
+        }
+    }
+
+    private void addDenseEdge(int row, int column, double weight) {
+        if (weight < Double.POSITIVE_INFINITY && this.map.indexIsValid(row) && this.map.indexIsValid(column)) {
+            this.map.addEdge(row, column, weight);
+        }
+    }
+
+    private void expectArray(Token token) throws IOException {
+        if (token != Token.BEGIN_ARRAY) {
+            throw new IOException("Expected an array but found " + token + " in JSON.");
+        }
+    }
+}
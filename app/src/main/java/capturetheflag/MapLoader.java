@@ -1,41 +1,131 @@
 package capturetheflag;
-import java.io.FileReader;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import Collections.Graphs.ContractionHierarchy;
 
 /**
- * A utility class for loading a Map from a JSON file.
+ * A utility class for loading a Map from a JSON or binary map file.
  */
 public class MapLoader {
 
     /**
      * Loads a Map from a JSON file.
+     * <p>
+     * Both formats are recognised: the sparse format written by {@link MapWriter}, which starts with its version,
+     * and the older format with the whole adjacency matrix, which has no version. The file is read once, as a
+     * stream of tokens, and the map is filled while it is read.
+     * </p>
      *
      * @param filename The name of the JSON file to load.
      * @return The Map loaded from the JSON file.
+     * @throws IllegalArgumentException If some location of the loaded map cannot reach another one, or if the
+     *                                  file has an unknown version.
      */
-    public static Map loadMapFromJson(String filename) {
+    public static Map loadMapFromJson(String filename) throws IllegalArgumentException {
         Map map = new Map();
 
-        JSONParser parser = new JSONParser();
+        String currentDir = System.getProperty("user.dir");
+        String filePath = currentDir + "/" + filename;
+
+        try (Reader reader = new InputStreamReader(new FileInputStream(filePath), StandardCharsets.UTF_8)) {
+            map = MapJsonReader.read(reader);
+            if (!map.isConnected()) {
+                throw new IllegalArgumentException("The map in " + filename + " is not strongly connected.");
+            }
+            loadContractionHierarchy(map, filePath);
 
+            System.out.println("Map loaded successfully from " + filename);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return map;
+    }
+
+    /**
+     * Opens a binary map file written by {@link Map#saveToBinaryFile(String)}.
+     * <p>
+     * The file is memory mapped and used in place, so opening it takes the same time for any size of map. The
+     * network is read only; {@link #loadMapFromBinary(String)} copies it into a map for a game.
+     * </p>
+     *
+     * @param filename The name of the binary map file.
+     * @return The network of the map, or null if the file cannot be opened.
+     */
+    public static MappedMapNetwork openMappedMap(String filename) {
+        String filePath = System.getProperty("user.dir") + "/" + filename;
         try {
-            String currentDir = System.getProperty("user.dir");
-            String filePath = currentDir + "/" + filename;
+            return MappedMapNetwork.open(filePath);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
 
-            FileReader reader = new FileReader(filePath);
+    /**
+     * Opens a binary map file as a network that reads its edges from the file when they are first used and keeps
+     * a bounded number of them in memory, for maps larger than the heap.
+     *
+     * @param filename    The name of the binary map file.
+     * @param cachedPages The largest number of pages of {@value LazyMapNetwork#DEFAULT_ROWS_PER_PAGE} locations
+     *                    kept in memory.
+     * @return The network of the map, or null if the file cannot be opened. It must be closed after use.
+     */
+    public static LazyMapNetwork openLazyMap(String filename, int cachedPages) {
+        String filePath = System.getProperty("user.dir") + "/" + filename;
+        try {
+            return LazyMapNetwork.open(filePath, LazyMapNetwork.DEFAULT_ROWS_PER_PAGE, cachedPages);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
 
-            Object obj = parser.parse(reader);
-            JSONObject jsonMap = (JSONObject) obj;
+    /**
+     * Loads a Map from a binary map file.
+     *
+     * @param filename The name of the binary map file.
+     * @return The Map loaded from the file, or an empty map if the file cannot be opened.
+     * @throws IllegalArgumentException If some location of the loaded map cannot reach another one.
+     */
+    public static Map loadMapFromBinary(String filename) throws IllegalArgumentException {
+        MappedMapNetwork network = openMappedMap(filename);
+        if (network == null) {
+            return new Map();
+        }
+        Map map = network.toMap();
+        if (!map.isConnected()) {
+            throw new IllegalArgumentException("The map in " + filename + " is not strongly connected.");
+        }
+        System.out.println("Map loaded successfully from " + filename);
+        return map;
+    }
 
-            map.loadFromJsonFile(filePath);
+    /**
+     * Restores the contraction hierarchy saved next to a map file, if there is one.
+     * A hierarchy computed for other locations or edges is ignored, and will be preprocessed again when needed.
+     *
+     * @param map      The map loaded from the file.
+     * @param filePath The path of the map JSON file.
+     */
+    private static void loadContractionHierarchy(Map map, String filePath) {
+        String basePath = filePath.endsWith(".json") ? filePath.substring(0, filePath.length() - 5) : filePath;
+        File hierarchyFile = new File(basePath + ".ch");
+        if (!hierarchyFile.exists()) {
+            return;
+        }
 
-            System.out.println("Map loaded successfully from " + filename);
-        } catch (IOException | ParseException e) {
+        try {
+            map.setContractionHierarchy(ContractionHierarchy.load(hierarchyFile.getPath()));
+            System.out.println("Contraction hierarchy loaded from " + hierarchyFile.getName());
+        } catch (IOException e) {
             e.printStackTrace();
+        } catch (IllegalArgumentException e) {
+            System.out.println("Ignoring " + hierarchyFile.getName() + ": " + e.getMessage());
         }
-        return map;
     }
 }
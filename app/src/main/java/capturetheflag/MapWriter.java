@@ -0,0 +1,160 @@
+package capturetheflag;
+
+import Collections.Graphs.CSRNetwork;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * A utility class for saving a Map to a sparse JSON file.
+ * <p>
+ * The sparse format, version {@value #VERSION}, stores the locations and the list of existing edges instead of
+ * the whole adjacency matrix, so its size grows with the number of edges:
+ * </p>
+ * <pre>
+ * {"version":2,"bidirectional":true,"density":0.3,"symmetric":true,"numLocations":3,"numEdges":2,
+ *  "locations":[{"id":0,"x":1.5,"y":2.0},{"id":1},{"id":2}],
+ *  "edges":[[0,1,5],[1,2,3]]}
+ * </pre>
+ * <p>
+ * Each edge is {@code [source, target, weight]}, with source and target given as location indices. When the map
+ * is symmetric every edge has a twin with the same weight in the opposite direction, and only the edge from the
+ * lower index is written. The header comes first, so a reader knows the number of locations and edges before it
+ * reaches them. The document is written piece by piece to a buffered stream, never built in memory.
+ * </p>
+ */
+public class MapWriter {
+    /**
+     * The version of the sparse format.
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * Saves a map to a sparse JSON file.
+     *
+     * @param map      The map to save.
+     * @param filePath The path of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void saveMapToJson(Map map, String filePath) throws IOException {
+        try (Writer writer = new BufferedWriter(new FileWriter(filePath), 1 << 16)) {
+            writeMap(map, writer);
+        }
+    }
+
+    /**
+     * Writes a map as a sparse JSON document.
+     *
+     * @param map    The map to write.
+     * @param writer The writer receiving the document. It is not closed.
+     * @throws IOException If the writer fails.
+     */
+    public static void writeMap(Map map, Writer writer) throws IOException {
+        CSRNetwork<Local> network = map.getCompressedNetwork();
+        int n = network.size();
+        boolean symmetric = isSymmetric(network);
+
+        writer.write("{\"version\":");
+        writer.write(Integer.toString(VERSION));
+        writer.write(",\"bidirectional\":");
+        writer.write(Boolean.toString(map.isBidirectional()));
+        writer.write(",\"density\":");
+        writer.write(Double.toString(map.getDensity()));
+        writer.write(",\"symmetric\":");
+        writer.write(Boolean.toString(symmetric));
+        writer.write(",\"numLocations\":");
+        writer.write(Integer.toString(n));
+        writer.write(",\"numEdges\":");
+        writer.write(Integer.toString(symmetric ? network.numEdges() / 2 : network.numEdges()));
+
+        writer.write(",\"locations\":[");
+        for (int i = 0; i < n; i++) {
+            Local local = network.getVertex(i);
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write("{\"id\":");
+            writer.write(Integer.toString(local.getId()));
+            if (local.hasCoordinates()) {
+                writer.write(",\"x\":");
+                writeNumber(writer, local.getX());
+                writer.write(",\"y\":");
+                writeNumber(writer, local.getY());
+            }
+            writer.write('}');
+        }
+
+        writer.write("],\"edges\":[");
+        boolean first = true;
+        for (int i = 0; i < n; i++) {
+            for (int e = network.edgeBegin(i); e < network.edgeEnd(i); e++) {
+                int j = network.edgeTarget(e);
+                if (symmetric && j < i) {
+                    continue;
+                }
+                if (!first) {
+                    writer.write(',');
+                }
+                first = false;
+                writer.write('[');
+                writer.write(Integer.toString(i));
+                writer.write(',');
+                writer.write(Integer.toString(j));
+                writer.write(',');
+                writeNumber(writer, network.edgeWeight(e));
+                writer.write(']');
+            }
+        }
+        writer.write("]}");
+        writer.write(System.lineSeparator());
+    }
+
+    /**
+     * Checks whether every edge of a network has a twin with the same weight in the opposite direction.
+     *
+     * @param network The network.
+     * @return True if the network is symmetric, false otherwise.
+     */
+    private static boolean isSymmetric(CSRNetwork<Local> network) {
+        CSRNetwork<Local> reverse = network.reverse();
+        double[] weightTo = new double[network.size()];
+        Arrays.fill(weightTo, Double.NaN);
+        for (int i = 0; i < network.size(); i++) {
+            if (network.outDegree(i) != reverse.outDegree(i)) {
+                return false;
+            }
+            for (int e = network.edgeBegin(i); e < network.edgeEnd(i); e++) {
+                weightTo[network.edgeTarget(e)] = network.edgeWeight(e);
+            }
+            boolean matches = true;
+            for (int e = reverse.edgeBegin(i); e < reverse.edgeEnd(i) && matches; e++) {
+                matches = weightTo[reverse.edgeTarget(e)] == reverse.edgeWeight(e);
+            }
+            for (int e = network.edgeBegin(i); e < network.edgeEnd(i); e++) {
+                weightTo[network.edgeTarget(e)] = Double.NaN;
+            }
+            if (!matches) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes a number, without a fractional part when it is a whole number.
+     *
+     * @param writer The writer.
+     * @param value  The number, which must be finite.
+     * @throws IOException If the writer fails.
+     */
+    private static void writeNumber(Writer writer, double value) throws IOException {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            writer.write(Long.toString((long) value));
+        } else {
+            writer.write(Double.toString(value));
+        }
+    }
+}
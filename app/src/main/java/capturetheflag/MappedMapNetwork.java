@@ -0,0 +1,322 @@
+package capturetheflag;
+
+import Collections.Graphs.CSRNetwork;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read only map network used straight from a memory mapped binary file.
+ * <p>
+ * Opening the file maps it with {@link FileChannel#map} and reads the 64 byte header; nothing else is parsed or
+ * copied. The accessors of {@link CSRNetwork} read the edges from the mapped buffer, so every traversal and path
+ * search runs on the file pages that the operating system keeps in its cache, shared by every process that opens
+ * the same map. The locations are only created when they are first asked for.
+ * </p>
+ * <p>
+ * The file is little endian and its sections start at multiples of 8 bytes:
+ * </p>
+ * <pre>
+ * header     magic, version, numLocations, numEdges, flags, weightBytes, weightBound, density
+ * ids        int[numLocations], the identifier of each location
+ * coords     double[2 * numLocations], x and y of each location, only when the flags say so
+ * offsets    int[numLocations + 1], the first edge of each location
+ * targets    int[numEdges], the target of each edge
+ * weights    numEdges weights of weightBytes bytes each
+ * </pre>
+ * <p>
+ * Weights are quantised without loss: whole weights up to 255 take 1 byte and up to 65535 take 2 bytes; any
+ * other weight keeps its 8 byte double. A file is limited to 2 GB.
+ * </p>
+ */
+public class MappedMapNetwork extends CSRNetwork<Local> {
+    /**
+     * The first 4 bytes of a binary map file, "CTFM".
+     */
+    public static final int MAGIC = 0x4354464D;
+
+    /**
+     * The version of the binary format.
+     */
+    public static final int VERSION = 1;
+
+    private final MappedByteBuffer buffer;
+    private final BinaryMapLayout layout;
+    private final int idsStart;
+    private final int coordinatesStart;
+    private final int offsetsStart;
+    private final int targetsStart;
+    private final int weightsStart;
+    private Local[] locals;
+
+    private MappedMapNetwork(MappedByteBuffer buffer) throws IOException {
+        super();
+        this.buffer = buffer;
+        this.layout = BinaryMapLayout.read(buffer, buffer.capacity());
+        this.numVertices = this.layout.numVertices;
+        this.numEdges = this.layout.numEdges;
+        this.idsStart = (int) this.layout.idsStart;
+        this.coordinatesStart = (int) this.layout.coordinatesStart;
+        this.offsetsStart = (int) this.layout.offsetsStart;
+        this.targetsStart = (int) this.layout.targetsStart;
+        this.weightsStart = (int) this.layout.weightsStart;
+    }
+
+    /**
+     * Opens a binary map file.
+     *
+     * @param filePath The path of the file.
+     * @return The network read from the mapped file.
+     * @throws IOException If the file cannot be mapped or is not a binary map file.
+     */
+    public static MappedMapNetwork open(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            return new MappedMapNetwork(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Saves a map to a binary map file.
+     *
+     * @param map      The map.
+     * @param filePath The path of the file.
+     * @throws IOException If the file cannot be written or the map does not fit in 2 GB.
+     */
+    public static void save(Map map, String filePath) throws IOException {
+        save(map.getCompressedNetwork(), map.isBidirectional(), map.getDensity(), filePath);
+    }
+
+    /**
+     * Saves a network of locations to a binary map file.
+     *
+     * @param network       The network.
+     * @param bidirectional Whether the map is bidirectional.
+     * @param density       The density of the map.
+     * @param filePath      The path of the file.
+     * @throws IOException If the file cannot be written or the network does not fit in 2 GB.
+     */
+    public static void save(CSRNetwork<Local> network, boolean bidirectional, double density, String filePath) throws IOException {
+        int n = network.size();
+        int m = network.numEdges();
+        boolean coordinates = n > 0;
+        double maxWeight = 0;
+        boolean whole = true;
+        for (int i = 0; i < n; i++) {
+            coordinates &= network.getVertex(i).hasCoordinates();
+            for (int e = network.edgeBegin(i); e < network.edgeEnd(i); e++) {
+                double weight = network.edgeWeight(e);
+                whole &= weight >= 0 && weight == Math.rint(weight);
+                maxWeight = Math.max(maxWeight, weight);
+            }
+        }
+        int weightBytes = !whole || maxWeight > 65535 ? 8 : maxWeight > 255 ? 2 : 1;
+
+        BinaryMapLayout layout = new BinaryMapLayout(n, m, bidirectional, coordinates, weightBytes,
+                network.getIntegerWeightBound(), density);
+        if (layout.size > Integer.MAX_VALUE) {
+            throw new IOException("The map does not fit in a binary map file.");
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(filePath, "rw");
+             FileChannel channel = file.getChannel()) {
+            file.setLength(0);
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, layout.size);
+            out.order(ByteOrder.LITTLE_ENDIAN);
+            layout.writeHeader(out);
+
+            int idsStart = (int) layout.idsStart;
+            int coordinatesStart = (int) layout.coordinatesStart;
+            int offsetsStart = (int) layout.offsetsStart;
+            int targetsStart = (int) layout.targetsStart;
+            int weightsStart = (int) layout.weightsStart;
+            int edge = 0;
+            for (int i = 0; i < n; i++) {
+                Local local = network.getVertex(i);
+                out.putInt(idsStart + 4 * i, local.getId());
+                if (coordinates) {
+                    out.putDouble(coordinatesStart + 16 * i, local.getX());
+                    out.putDouble(coordinatesStart + 16 * i + 8, local.getY());
+                }
+                out.putInt(offsetsStart + 4 * i, edge);
+                for (int e = network.edgeBegin(i); e < network.edgeEnd(i); e++) {
+                    out.putInt(targetsStart + 4 * edge, network.edgeTarget(e));
+                    layout.writeWeight(out, weightsStart + weightBytes * edge, network.edgeWeight(e));
+                    edge++;
+                }
+            }
+            out.putInt(offsetsStart + 4 * n, edge);
+            out.force();
+        }
+    }
+
+    /**
+     * Checks whether the map was saved as bidirectional.
+     *
+     * @return True if bidirectional, false otherwise.
+     */
+    public boolean isBidirectional() {
+        return this.layout.bidirectional;
+    }
+
+    /**
+     * Gets the density of edges the map was saved with.
+     *
+     * @return The density value.
+     */
+    public double getDensity() {
+        return this.layout.density;
+    }
+
+    /**
+     * Gets the number of bytes used by each weight in the file.
+     *
+     * @return 1, 2 or 8.
+     */
+    public int getWeightBytes() {
+        return this.layout.weightBytes;
+    }
+
+    /**
+     * Copies the network into a new {@link Map} for the game, which needs a modifiable map.
+     *
+     * @return The map.
+     */
+    public Map toMap() {
+        Map map = new Map();
+        map.ensureCapacity(this.numVertices);
+        for (int i = 0; i < this.numVertices; i++) {
+            map.addVertex(getVertex(i));
+        }
+        for (int i = 0; i < this.numVertices; i++) {
+            for (int e = edgeBegin(i); e < edgeEnd(i); e++) {
+                map.addEdge(i, edgeTarget(e), edgeWeight(e));
+            }
+        }
+        map.setNumLocations(this.numVertices);
+        map.setBidirectional(this.layout.bidirectional);
+        map.setDensity(this.layout.density);
+        map.setNumEdges(this.layout.bidirectional ? this.numEdges / 2 : this.numEdges);
+        return map;
+    }
+
+    @Override
+    public int edgeBegin(int index) {
+        return this.buffer.getInt(this.offsetsStart + 4 * index);
+    }
+
+    @Override
+    public int edgeEnd(int index) {
+        return this.buffer.getInt(this.offsetsStart + 4 * index + 4);
+    }
+
+    @Override
+    public int edgeTarget(int edge) {
+        return this.buffer.getInt(this.targetsStart + 4 * edge);
+    }
+
+    @Override
+    public double edgeWeight(int edge) {
+        return this.layout.readWeight(this.buffer, this.weightsStart + this.layout.weightBytes * edge);
+    }
+
+    @Override
+    public int getIntegerWeightBound() {
+        return this.layout.weightBound;
+    }
+
+    /**
+     * Gets the location at an index, creating it from the file on first use. The same location is returned every
+     * time, so the robots placed on it are kept.
+     *
+     * @param index The index of the location.
+     * @return The location, or null if the index is not valid.
+     */
+    @Override
+    public Local getVertex(int index) {
+        if (!indexIsValid(index)) {
+            return null;
+        }
+        if (this.locals == null) {
+            this.locals = new Local[this.numVertices];
+        }
+        if (this.locals[index] == null) {
+            int id = this.buffer.getInt(this.idsStart + 4 * index);
+            if (this.coordinatesStart >= 0) {
+                this.locals[index] = new Local(id, this.buffer.getDouble(this.coordinatesStart + 16 * index),
+                        this.buffer.getDouble(this.coordinatesStart + 16 * index + 8));
+            } else {
+                this.locals[index] = new Local(id);
+            }
+        }
+        return this.locals[index];
+    }
+
+    @Override
+    public Local[] getVertices() {
+        Local[] result = new Local[this.numVertices];
+        for (int i = 0; i < this.numVertices; i++) {
+            result[i] = getVertex(i);
+        }
+        return result;
+    }
+
+    @Override
+    public int getIndex(Local vertex) {
+        for (int i = 0; i < this.numVertices; i++) {
+            if (getVertex(i).equals(vertex)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void addVertex(Local vertex) {
+        throw new UnsupportedOperationException("A mapped map cannot be modified.");
+    }
+
+    @Override
+    public void removeVertex(Local vertex) {
+        throw new UnsupportedOperationException("A mapped map cannot be modified.");
+    }
+
+    @Override
+    public void removeVertex(int index) {
+        throw new UnsupportedOperationException("A mapped map cannot be modified.");
+    }
+
+    @Override
+    public void addEdge(Local vertex1, Local vertex2) {
+        throw new UnsupportedOperationException("A mapped map cannot be modified.");
+    }
+
+    @Override
+    public void addEdge(Local vertex1, Local vertex2, double weight) {
+        throw new UnsupportedOperationException("A mapped map cannot be modified.");
+    }
+
+    @Override
+    public void addEdge(int index1, int index2, double weight) {
+        throw new UnsupportedOperationException("A mapped map cannot be modified.");
+    }
+
+    @Override
+    public void removeEdge(Local vertex1, Local vertex2) {
+        throw new UnsupportedOperationException("A mapped map cannot be modified.");
+    }
+
+    @Override
+    public void removeEdge(int index1, int index2) {
+        throw new UnsupportedOperationException("A mapped map cannot be modified.");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("A mapped map cannot be modified.");
+    }
+}
@@ -0,0 +1,163 @@
+package capturetheflag;
+
+import Collections.HashTables.LRUCache;
+import Collections.Queues.ArrayQueueView;
+import Collections.Queues.QueueADT;
+import Enums.MoveType;
+
+import java.util.Iterator;
+
+/**
+ * Caches the paths planned for the robots, keyed by the start and target locations, the algorithm and the
+ * version of the map they were computed on.
+ * <p>
+ * A modification of the map increases its version, so the paths computed before it are never found again and
+ * are eventually evicted as the least recently used. While the map is unchanged, planning the same path again
+ * is a single lookup. The cached locations are shared by every robot following the path: each one reads them
+ * through its own read-only view, without copying them.
+ * </p>
+ */
+public class PathCache {
+    /**
+     * The number of paths kept by default.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final LRUCache<Key, Local[]> paths;
+
+    /**
+     * Constructs a path cache with the default capacity.
+     */
+    public PathCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a path cache keeping at most the given number of paths.
+     *
+     * @param capacity The number of paths kept.
+     * @throws IllegalArgumentException If the capacity is not positive.
+     */
+    public PathCache(int capacity) throws IllegalArgumentException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.paths = new LRUCache<>(capacity);
+    }
+
+    /**
+     * Gets a cached path.
+     *
+     * @param startIndex  The index of the starting location.
+     * @param targetIndex The index of the target location.
+     * @param algorithm   The algorithm that computed the path.
+     * @param version     The version of the map.
+     * @return A new read-only view of the locations of the path, or null if the path is not cached.
+     */
+    public QueueADT<Local> get(int startIndex, int targetIndex, MoveType algorithm, long version) {
+        Local[] path = this.paths.get(new Key(startIndex, targetIndex, algorithm, version));
+        return path == null ? null : new ArrayQueueView<>(path);
+    }
+
+    /**
+     * Caches a path.
+     *
+     * @param startIndex  The index of the starting location.
+     * @param targetIndex The index of the target location.
+     * @param algorithm   The algorithm that computed the path.
+     * @param version     The version of the map.
+     * @param path        An iterator over the locations of the path.
+     * @return A new read-only view of the locations of the path.
+     */
+    public QueueADT<Local> put(int startIndex, int targetIndex, MoveType algorithm, long version, Iterator<Local> path) {
+        Local[] locals = new Local[8];
+        int size = 0;
+        while (path.hasNext()) {
+            Local local = path.next();
+            if (size == locals.length) {
+                Local[] larger = new Local[locals.length * 2];
+                System.arraycopy(locals, 0, larger, 0, size);
+                locals = larger;
+            }
+            locals[size++] = local;
+        }
+
+        Local[] stored = new Local[size];
+        System.arraycopy(locals, 0, stored, 0, size);
+        this.paths.put(new Key(startIndex, targetIndex, algorithm, version), stored);
+        return new ArrayQueueView<>(stored);
+    }
+
+    /**
+     * Gets the number of cached paths.
+     *
+     * @return The number of paths.
+     */
+    public int size() {
+        return this.paths.size();
+    }
+
+    /**
+     * Gets the number of lookups that found a cached path.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return this.paths.getHits();
+    }
+
+    /**
+     * Gets the number of lookups that did not find a cached path.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return this.paths.getMisses();
+    }
+
+    /**
+     * Removes every cached path.
+     */
+    public void clear() {
+        this.paths.clear();
+    }
+
+    /**
+     * The key of a cached path.
+     */
+    private static class Key {
+        private final int startIndex;
+        private final int targetIndex;
+        private final MoveType algorithm;
+        private final long version;
+
+        Key(int startIndex, int targetIndex, MoveType algorithm, long version) {
+            this.startIndex = startIndex;
+            this.targetIndex = targetIndex;
+            this.algorithm = algorithm;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return startIndex == other.startIndex && targetIndex == other.targetIndex
+                    && algorithm == other.algorithm && version == other.version;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = startIndex;
+            hash = 31 * hash + targetIndex;
+            hash = 31 * hash + algorithm.ordinal();
+            hash = 31 * hash + Long.hashCode(version);
+            return hash;
+        }
+    }
+}
@@ -75,8 +75,11 @@ public class Play {
                 int density_temp = scanner.nextInt();
                 double density = (double) density_temp / 10;
 
+                System.out.print("Place the locations geometrically? (true/false): ");
+                boolean geometric = scanner.nextBoolean();
+
             try {
-            map = new Map(numLocations, bidirectional, density);
+            map = new Map(numLocations, bidirectional, density, geometric);
             } catch (IllegalArgumentException e) {
                 System.out.println("Error creating the map: " + e.getMessage());
                 return;
@@ -88,14 +91,15 @@ public class Play {
             }
         }
 
+        IdAllocator ids = new IdAllocator();
         System.out.print("Enter the name of the first player: ");
         String player1Name = scanner.next();
-        player1 = new Player(player1Name);
+        player1 = new Player(player1Name, ids);
 
 
         System.out.print("Enter the name of the second player: ");
         String player2Name = scanner.next();
-        player2 = new Player(player2Name);
+        player2 = new Player(player2Name, ids);
 
         System.out.println("How many robots do you want to create for each player: ");
         int numRobots = scanner.nextInt();
@@ -154,6 +158,8 @@ public class Play {
         System.out.println("1. Shortest path");
         System.out.println("2. Longest path");
         System.out.println("3. Random path");
+        System.out.println("4. Distance field");
+        System.out.println("5. A* path");
 
         for (Robot robot : robosMoveOrder) {
             System.out.print(robot.getPlayer().getName() + " enter the move type for Robot " + robot.getId() + ": ");
@@ -168,6 +174,12 @@ public class Play {
                 case 3:
                     robot.setMoveType(MoveType.RANDOM_PATH);
                     break;
+                case 4:
+                    robot.setMoveType(MoveType.DISTANCE_FIELD);
+                    break;
+                case 5:
+                    robot.setMoveType(MoveType.ASTAR);
+                    break;
                 default:
                     System.out.println("Invalid option. Setting default move type for Robot " + robot.getId());
             }
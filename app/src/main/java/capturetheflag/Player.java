@@ -7,7 +7,7 @@ import Collections.Lists.LinkedUnorderedList;
  */
 public class Player {
 
-    private static int idCounter = 0;
+    private final IdAllocator ids;
     private int id;
     private String name;
     private int flagIndex;
@@ -15,18 +15,43 @@ public class Player {
     private LinkedUnorderedList<Robot> robots;
 
     /**
-     * Constructs a player with the given name.
+     * Constructs a player with the given name and an id allocator of its own, used by its robots.
      *
      * @param name The name of the player.
      */
     public Player(String name) {
-        this.id = idCounter++;
+        this(name, new IdAllocator());
+    }
+
+    /**
+     * Constructs a player with the given name, taking its id from the allocator of its game. The robots of the
+     * player take their ids from the same allocator.
+     *
+     * @param name The name of the player.
+     * @param ids  The id allocator of the game.
+     * @throws IllegalArgumentException If the allocator is null.
+     */
+    public Player(String name, IdAllocator ids) throws IllegalArgumentException {
+        if (ids == null) {
+            throw new IllegalArgumentException("Id allocator cannot be null!");
+        }
+        this.ids = ids;
+        this.id = ids.next();
         this.name = name;
         this.flagIndex = -1;
         this.enimieFlagIndex = -1;
         this.robots = new LinkedUnorderedList<>();
     }
 
+    /**
+     * Gets the id allocator of the player, shared with the other player of its game.
+     *
+     * @return The id allocator.
+     */
+    public IdAllocator getIdAllocator() {
+        return this.ids;
+    }
+
     /**
      * Gets the name of the player.
      *
@@ -0,0 +1,31 @@
+package capturetheflag;
+
+/**
+ * A clock that follows the system time and waits by putting the thread to sleep, for games that are watched.
+ */
+public class RealTimeClock implements GameClock {
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * Puts the thread to sleep for the given time. If the thread is interrupted, the wait ends early and the
+     * thread keeps its interrupted status.
+     *
+     * @param millis The time to wait in milliseconds.
+     * @throws IllegalArgumentException If the time is negative.
+     */
+    @Override
+    public void sleep(long millis) throws IllegalArgumentException {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Time to wait cannot be negative.");
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package capturetheflag;
+import Collections.Graphs.CSRNetwork;
+import Collections.Graphs.DistanceField;
 import Collections.Queues.LinkedQueue;
+import Collections.Queues.QueueADT;
 
 
 import Enums.MoveType;
@@ -9,15 +12,19 @@ import Enums.MoveType;
  * Robots are controlled by players and can move through the game map.
  */
 public class Robot {
-    private static int idCounter = 0;
     private int id;
     private Player player;
     private MoveType moveType;
-    private LinkedQueue<Local> path;
+    private QueueADT<Local> path;
+    private DistanceField distanceField;
+    private CSRNetwork<Local> network;
+    private int locationIndex;
+    private int moves;
+    private boolean verbose;
 
 
     /**
-     * Constructs a robot with a specified player.
+     * Constructs a robot with a specified player, taking its id from the id allocator of the player.
      *
      * @param player The player who controls the robot.
      * @throws IllegalArgumentException If the player is null.
@@ -26,10 +33,15 @@ public class Robot {
         if (player == null) {
             throw new IllegalArgumentException("Player cannot be null!");
         }
-        this.id = idCounter++;
+        this.id = player.getIdAllocator().next();
         this.player = player;
         this.moveType = null;
         this.path = new LinkedQueue<>();
+        this.distanceField = null;
+        this.network = null;
+        this.locationIndex = -1;
+        this.moves = 0;
+        this.verbose = true;
         this.player.addRobot(this);
     }
 
@@ -84,12 +96,39 @@ public class Robot {
         return null;
     }
 
+    /**
+     * Gets the number of moves the robot has made.
+     *
+     * @return The number of moves.
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+    /**
+     * Checks whether the robot reports its moves on the console.
+     *
+     * @return True if the moves are reported, false otherwise.
+     */
+    public boolean isVerbose() {
+        return verbose;
+    }
+
+    /**
+     * Sets whether the robot reports its moves on the console.
+     *
+     * @param verbose True to report the moves, false otherwise.
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
     /**
      * Gets the current path of the robot.
      *
      * @return The path of the robot.
      */
-    public LinkedQueue<Local> getPath() {
+    public QueueADT<Local> getPath() {
         return path;
     }
 
@@ -99,22 +138,77 @@ public class Robot {
      * @param path The path to set for the robot.
      * @throws IllegalArgumentException If the path is null.
      */
-    public void setPath(LinkedQueue<Local> path) throws IllegalArgumentException {
+    public void setPath(QueueADT<Local> path) throws IllegalArgumentException {
         this.path = path;
     }
 
     /**
-     * Moves the robot along its current path.
+     * Makes the robot follow a distance field instead of a precomputed path.
+     * Each move then looks up the next location in the field, without building a queue of locations.
+     *
+     * @param distanceField The distance field towards the robot's target.
+     * @param network       The compressed map the field was computed on.
+     * @param startIndex    The index of the location where the robot is.
+     * @throws IllegalArgumentException If the field or the network is null.
+     */
+    public void followDistanceField(DistanceField distanceField, CSRNetwork<Local> network, int startIndex) throws IllegalArgumentException {
+        if (distanceField == null || network == null) {
+            throw new IllegalArgumentException("Distance field and network cannot be null!");
+        }
+        this.distanceField = distanceField;
+        this.network = network;
+        this.locationIndex = startIndex;
+    }
+
+    /**
+     * Gets the distance field the robot follows.
      *
-     * @throws IllegalArgumentException If the path is empty.
+     * @return The distance field, or null if the robot follows a path.
+     */
+    public DistanceField getDistanceField() {
+        return distanceField;
+    }
+
+    /**
+     * Moves the robot along its current path, or one step along its distance field.
+     *
+     * @throws IllegalArgumentException If the path has no next location or the target cannot be reached.
      */
     public void moveRobot() throws IllegalArgumentException {
-        if (this.path.isEmpty()) {
+        if (this.distanceField != null) {
+            moveAlongField();
+            return;
+        }
+        if (this.path.size() < 2) {
             throw new IllegalArgumentException("Robot"+this.id + "Path can not be empty!");
         }
         move();
     }
 
+    /**
+     * Moves the robot to the next location given by its distance field.
+     *
+     * @throws IllegalArgumentException If there is no next location or the robot cannot move to it.
+     */
+    private void moveAlongField() throws IllegalArgumentException {
+        int nextIndex = this.distanceField.getNextHop(this.locationIndex);
+        if (nextIndex == -1) {
+            throw new IllegalArgumentException("Robot"+this.id + "Path can not be empty!");
+        }
+        Local atual = this.network.getVertex(this.locationIndex);
+        Local proximo = this.network.getVertex(nextIndex);
+        if (canMove(proximo)) {
+            proximo.addRobot(getPlayer(), this);
+            this.locationIndex = nextIndex;
+            this.moves++;
+            if (this.verbose) {
+                System.out.println("Robot " + this.id + " moved from " + atual.getName() + " to " + proximo.getName() + "!");
+            }
+        } else {
+            throw new IllegalArgumentException("Cannot move to this local!");
+        }
+    }
+
     /**
      * Moves the robot to the next location in its path.
      *
@@ -125,7 +219,10 @@ public class Robot {
         Local proximo = this.path.first();
         if (canMove(proximo)) {
             proximo.addRobot(getPlayer(), this);
-            System.out.println("Robot " + this.id + " moved from " + atual.getName() + " to " + proximo.getName() + "!");
+            this.moves++;
+            if (this.verbose) {
+                System.out.println("Robot " + this.id + " moved from " + atual.getName() + " to " + proximo.getName() + "!");
+            }
         } else {
             throw new IllegalArgumentException("Cannot move to this local!");
         }
@@ -0,0 +1,87 @@
+package capturetheflag;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates a scale free map with the Barabási–Albert model.
+ * <p>
+ * The first {@code roadsPerLocation + 1} locations are all connected to each other. Every other location is then
+ * connected to {@code roadsPerLocation} different locations added before it, chosen with a probability
+ * proportional to their number of roads, so a few hubs end up with many roads. The choice picks a random end of
+ * a random road, which takes constant time. Roads have a random distance between 1 and {@link #MAX_DISTANCE}
+ * kilometers.
+ * </p>
+ */
+public class ScaleFreeMapGenerator extends MapGenerator {
+    private final int numLocations;
+    private final int roadsPerLocation;
+
+    /**
+     * Constructs a scale free generator.
+     *
+     * @param numLocations     The number of locations.
+     * @param roadsPerLocation The number of roads of each new location.
+     * @param seed             The seed of the generation.
+     * @throws IllegalArgumentException If the number of roads per location is not positive or not smaller than the
+     *                                  number of locations.
+     */
+    public ScaleFreeMapGenerator(int numLocations, int roadsPerLocation, long seed) throws IllegalArgumentException {
+        super(seed);
+        if (roadsPerLocation <= 0) {
+            throw new IllegalArgumentException("The number of roads per location must be positive.");
+        }
+        if (roadsPerLocation >= numLocations) {
+            throw new IllegalArgumentException("The number of roads per location must be smaller than the number of locations.");
+        }
+        this.numLocations = numLocations;
+        this.roadsPerLocation = roadsPerLocation;
+    }
+
+    @Override
+    protected Local[] createLocals(SplittableRandom random) {
+        Local[] locals = new Local[this.numLocations];
+        for (int i = 0; i < this.numLocations; i++) {
+            locals[i] = new Local(i);
+        }
+        return locals;
+    }
+
+    @Override
+    protected void createRoads(Local[] locals, Roads roads, SplittableRandom random) {
+        int m = this.roadsPerLocation;
+        long totalEnds = (long) m * (m + 1) + 2L * m * (this.numLocations - m - 1);
+        if (totalEnds > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many roads.");
+        }
+        int[] ends = new int[(int) totalEnds];
+        int numEnds = 0;
+
+        for (int i = 0; i <= m; i++) {
+            for (int j = i + 1; j <= m; j++) {
+                roads.add(i, j, randomDistance(random));
+                ends[numEnds++] = i;
+                ends[numEnds++] = j;
+            }
+        }
+
+        int[] chosen = new int[m];
+        for (int i = m + 1; i < this.numLocations; i++) {
+            int count = 0;
+            while (count < m) {
+                int candidate = ends[random.nextInt(numEnds)];
+                boolean repeated = false;
+                for (int c = 0; c < count && !repeated; c++) {
+                    repeated = chosen[c] == candidate;
+                }
+                if (!repeated) {
+                    chosen[count++] = candidate;
+                }
+            }
+            for (int c = 0; c < m; c++) {
+                roads.add(i, chosen[c], randomDistance(random));
+                ends[numEnds++] = i;
+                ends[numEnds++] = chosen[c];
+            }
+        }
+    }
+}
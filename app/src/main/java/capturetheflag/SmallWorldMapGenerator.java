@@ -0,0 +1,131 @@
+package capturetheflag;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a small world map with the Watts–Strogatz model.
+ * <p>
+ * The locations are placed on a ring and each one is connected to its {@code neighbours / 2} nearest locations on
+ * each side. Every road that skips at least one location is then rewired, with the given probability, to a
+ * random location that is not yet connected. The roads between consecutive locations are never rewired, so the
+ * ring keeps the map connected. Roads have a random distance between 1 and {@link #MAX_DISTANCE} kilometers.
+ * </p>
+ */
+public class SmallWorldMapGenerator extends MapGenerator {
+    private final int numLocations;
+    private final int neighbours;
+    private final double rewiring;
+
+    /**
+     * Constructs a small world generator.
+     *
+     * @param numLocations The number of locations.
+     * @param neighbours   The number of roads of each location before rewiring. Must be even.
+     * @param rewiring     The probability of rewiring a road, between 0 and 1.
+     * @param seed         The seed of the generation.
+     * @throws IllegalArgumentException If the number of neighbours is odd, not positive or not smaller than the
+     *                                  number of locations, or if the probability is outside [0, 1].
+     */
+    public SmallWorldMapGenerator(int numLocations, int neighbours, double rewiring, long seed) throws IllegalArgumentException {
+        super(seed);
+        if (neighbours <= 0 || neighbours % 2 != 0) {
+            throw new IllegalArgumentException("The number of neighbours must be even and positive.");
+        }
+        if (neighbours >= numLocations) {
+            throw new IllegalArgumentException("The number of neighbours must be smaller than the number of locations.");
+        }
+        if (rewiring < 0 || rewiring > 1) {
+            throw new IllegalArgumentException("The rewiring probability must be between 0 and 1.");
+        }
+        this.numLocations = numLocations;
+        this.neighbours = neighbours;
+        this.rewiring = rewiring;
+    }
+
+    @Override
+    protected Local[] createLocals(SplittableRandom random) {
+        Local[] locals = new Local[this.numLocations];
+        for (int i = 0; i < this.numLocations; i++) {
+            locals[i] = new Local(i);
+        }
+        return locals;
+    }
+
+    @Override
+    protected void createRoads(Local[] locals, Roads roads, SplittableRandom random) {
+        int n = this.numLocations;
+        int half = this.neighbours / 2;
+        PairSet connected = new PairSet(n * half);
+        for (int i = 0; i < n; i++) {
+            for (int step = 1; step <= half; step++) {
+                connected.add(key(i, (i + step) % n));
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            for (int step = 1; step <= half; step++) {
+                int j = (i + step) % n;
+                if (step > 1 && random.nextDouble() < this.rewiring) {
+                    int other = random.nextInt(n);
+                    for (int attempt = 0; attempt < n && (other == i || connected.contains(key(i, other))); attempt++) {
+                        other = random.nextInt(n);
+                    }
+                    if (other != i && !connected.contains(key(i, other))) {
+                        connected.add(key(i, other));
+                        j = other;
+                    }
+                }
+                roads.add(i, j, randomDistance(random));
+            }
+        }
+    }
+
+    /**
+     * Gets the key of the road between two locations, the same in both directions.
+     */
+    private long key(int index1, int index2) {
+        return (long) Math.min(index1, index2) * this.numLocations + Math.max(index1, index2);
+    }
+
+    /**
+     * A set of connected pairs with open addressing on a primitive array. A rewired road stays in the set, which
+     * only stops another road from being rewired to the same pair.
+     */
+    private static class PairSet {
+        private static final long EMPTY = -1;
+        private final long[] keys;
+        private final int mask;
+
+        PairSet(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4 * expected, 16) - 1) << 1;
+            this.keys = new long[capacity];
+            this.mask = capacity - 1;
+            Arrays.fill(this.keys, EMPTY);
+        }
+
+        void add(long key) {
+            int slot = slot(key);
+            while (this.keys[slot] != EMPTY && this.keys[slot] != key) {
+                slot = (slot + 1) & this.mask;
+            }
+            this.keys[slot] = key;
+        }
+
+        boolean contains(long key) {
+            int slot = slot(key);
+            while (this.keys[slot] != EMPTY) {
+                if (this.keys[slot] == key) {
+                    return true;
+                }
+                slot = (slot + 1) & this.mask;
+            }
+            return false;
+        }
+
+        private int slot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash >>> 32) & this.mask;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package capturetheflag;
+
+import Enums.MoveType;
+
+/**
+ * The results of the games played by one move type in a {@link Tournament}.
+ * <p>
+ * Every game counts once for each of its two move types: as a win, a loss or a draw, with the number of rounds it
+ * took and the moves made by the robots of that move type.
+ * </p>
+ */
+public class StrategyStats {
+    private final MoveType moveType;
+    private int games;
+    private int wins;
+    private int losses;
+    private long rounds;
+    private long robots;
+    private long moves;
+
+    /**
+     * Constructs empty statistics for a move type.
+     *
+     * @param moveType The move type.
+     */
+    public StrategyStats(MoveType moveType) {
+        this.moveType = moveType;
+    }
+
+    /**
+     * Records a game played by the move type.
+     *
+     * @param outcome The outcome for the move type: 1 for a win, -1 for a loss and 0 for a draw.
+     * @param rounds  The number of rounds of the game.
+     * @param robots  The number of robots of the move type.
+     * @param moves   The number of moves made by those robots.
+     */
+    void record(int outcome, int rounds, int robots, long moves) {
+        this.games++;
+        if (outcome > 0) {
+            this.wins++;
+        } else if (outcome < 0) {
+            this.losses++;
+        }
+        this.rounds += rounds;
+        this.robots += robots;
+        this.moves += moves;
+    }
+
+    /**
+     * Gets the move type.
+     *
+     * @return The move type.
+     */
+    public MoveType getMoveType() {
+        return moveType;
+    }
+
+    /**
+     * Gets the number of games played.
+     *
+     * @return The number of games.
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of games won.
+     *
+     * @return The number of wins.
+     */
+    public int getWins() {
+        return wins;
+    }
+
+    /**
+     * Gets the number of games lost.
+     *
+     * @return The number of losses.
+     */
+    public int getLosses() {
+        return losses;
+    }
+
+    /**
+     * Gets the number of games that ended without a winner.
+     *
+     * @return The number of draws.
+     */
+    public int getDraws() {
+        return games - wins - losses;
+    }
+
+    /**
+     * Gets the fraction of the games that were won.
+     *
+     * @return The win rate, between 0 and 1, or 0 if no game was played.
+     */
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    /**
+     * Gets the average number of rounds of the games.
+     *
+     * @return The average number of rounds, or 0 if no game was played.
+     */
+    public double getAverageRounds() {
+        return games == 0 ? 0 : (double) rounds / games;
+    }
+
+    /**
+     * Gets the average number of moves made by a robot in a game, which is the length of the path it walked.
+     *
+     * @return The average path length, or 0 if no game was played.
+     */
+    public double getAveragePathLength() {
+        return robots == 0 ? 0 : (double) moves / robots;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d games, %d wins, %d losses, %d draws, win rate %.3f, %.1f rounds, path length %.1f",
+                moveType, games, wins, losses, getDraws(), getWinRate(), getAverageRounds(), getAveragePathLength());
+    }
+}
@@ -0,0 +1,260 @@
+package capturetheflag;
+
+import Enums.MoveType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Plays many games between move types in parallel and collects the statistics of each move type.
+ * <p>
+ * Every ordered pair of different move types plays the same number of games, so each move type plays as the first
+ * and as the second player equally often. In a game all the robots of the first player use the first move type and
+ * all the robots of the second player use the other one. The flags are placed at the first and the last location
+ * of the map, and the game ends when a player wins or after a maximum number of rounds, which is a draw.
+ * </p>
+ * <p>
+ * The games are played on a {@link VirtualClock}, without reporting on the console, by a work stealing pool with
+ * one thread per processor by default. A game shares nothing with the others: each one gets its own map from the
+ * map supplier, which must therefore return a new map every time, such as {@code map::copy} for a
+ * {@link Map#copy() copy} of a single map. The results are only added up once every game has ended, so the
+ * threads never wait for each other while playing.
+ * </p>
+ */
+public class Tournament {
+    /**
+     * The number of rounds after which a game is a draw by default.
+     */
+    public static final int DEFAULT_MAX_ROUNDS = 500;
+
+    private final Supplier<Map> maps;
+    private final MoveType[] moveTypes;
+    private final int robotsNumber;
+    private final int gamesPerPairing;
+    private int maxRounds;
+    private int parallelism;
+    private long seed;
+
+    /**
+     * Constructs a tournament.
+     *
+     * @param maps            The supplier of a new map for each game.
+     * @param moveTypes       The move types taking part, at least two and all different.
+     * @param robotsNumber    The number of robots of each player.
+     * @param gamesPerPairing The number of games played by each ordered pair of move types.
+     * @throws IllegalArgumentException If the supplier is null, there are fewer than two move types or a repeated
+     *                                  one, the number of robots is less than 1 or the number of games is negative.
+     */
+    public Tournament(Supplier<Map> maps, MoveType[] moveTypes, int robotsNumber, int gamesPerPairing) throws IllegalArgumentException {
+        if (maps == null) {
+            throw new IllegalArgumentException("Map supplier cannot be null.");
+        }
+        if (moveTypes == null || moveTypes.length < 2) {
+            throw new IllegalArgumentException("A tournament needs at least two move types.");
+        }
+        for (int i = 0; i < moveTypes.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (moveTypes[i] == null || moveTypes[i] == moveTypes[j]) {
+                    throw new IllegalArgumentException("Move types must be different and not null.");
+                }
+            }
+        }
+        if (robotsNumber < 1) {
+            throw new IllegalArgumentException("Robots number must be 1 or more.");
+        }
+        if (gamesPerPairing < 0) {
+            throw new IllegalArgumentException("Number of games cannot be negative.");
+        }
+        this.maps = maps;
+        this.moveTypes = moveTypes.clone();
+        this.robotsNumber = robotsNumber;
+        this.gamesPerPairing = gamesPerPairing;
+        this.maxRounds = DEFAULT_MAX_ROUNDS;
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+        this.seed = new SplittableRandom().nextLong();
+    }
+
+    /**
+     * Gets the number of rounds after which a game is a draw.
+     *
+     * @return The maximum number of rounds.
+     */
+    public int getMaxRounds() {
+        return maxRounds;
+    }
+
+    /**
+     * Sets the number of rounds after which a game is a draw.
+     *
+     * @param maxRounds The maximum number of rounds.
+     * @throws IllegalArgumentException If the number is less than 1.
+     */
+    public void setMaxRounds(int maxRounds) throws IllegalArgumentException {
+        if (maxRounds < 1) {
+            throw new IllegalArgumentException("Maximum rounds must be 1 or more.");
+        }
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Gets the number of threads playing the games.
+     *
+     * @return The parallelism.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of threads playing the games.
+     *
+     * @param parallelism The parallelism.
+     * @throws IllegalArgumentException If the parallelism is less than 1.
+     */
+    public void setParallelism(int parallelism) throws IllegalArgumentException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be 1 or more.");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Gets the seed of the random choices of the games.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed of the random choices of the games, which is random by default. Each game gets its own random
+     * generator, split from the seed in the order of the games, so a tournament run again with the same seed and
+     * the same maps gives the same results, whatever the parallelism.
+     *
+     * @param seed The seed.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Plays every game of the tournament and returns the statistics of the move types.
+     *
+     * @return The result of the tournament.
+     * @throws IllegalStateException If a game fails or the thread is interrupted while waiting for the games.
+     */
+    public TournamentResult run() throws IllegalStateException {
+        SplittableRandom root = new SplittableRandom(this.seed);
+        List<Callable<GameResult>> games = new ArrayList<>();
+        for (MoveType first : this.moveTypes) {
+            for (MoveType second : this.moveTypes) {
+                if (first != second) {
+                    for (int g = 0; g < this.gamesPerPairing; g++) {
+                        SplittableRandom random = root.split();
+                        games.add(() -> play(first, second, random));
+                    }
+                }
+            }
+        }
+
+        StrategyStats[] stats = new StrategyStats[MoveType.values().length];
+        for (MoveType moveType : this.moveTypes) {
+            stats[moveType.ordinal()] = new StrategyStats(moveType);
+        }
+
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newWorkStealingPool(this.parallelism);
+        try {
+            for (Future<GameResult> game : pool.invokeAll(games)) {
+                game.get().addTo(stats);
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A game of the tournament failed.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The tournament was interrupted.", e);
+        } finally {
+            pool.shutdownNow();
+        }
+        return new TournamentResult(stats, games.size(), System.nanoTime() - start);
+    }
+
+    /**
+     * Plays one game between two move types.
+     *
+     * @param first  The move type of the first player.
+     * @param second The move type of the second player.
+     * @param random The random generator of the game.
+     * @return The result of the game.
+     */
+    private GameResult play(MoveType first, MoveType second, SplittableRandom random) {
+        Map map = this.maps.get();
+        IdAllocator ids = new IdAllocator();
+        Player player1 = new Player(first.name(), ids);
+        Player player2 = new Player(second.name(), ids);
+        Game game = new Game(map, player1, player2, this.robotsNumber, random);
+        game.setClock(new VirtualClock());
+        game.setVerbose(false);
+
+        game.setFlag(0, map.size() - 1);
+        game.setRobots();
+        for (Robot robot : player1.getRobots()) {
+            robot.setMoveType(first);
+        }
+        for (Robot robot : player2.getRobots()) {
+            robot.setMoveType(second);
+        }
+        game.setOrderRobots();
+        game.setPaths();
+
+        int rounds = 0;
+        while (game.victory() == 0 && rounds < this.maxRounds) {
+            game.moveRobots();
+            rounds++;
+        }
+        return new GameResult(first, second, game.victory(), rounds, moves(player1), moves(player2));
+    }
+
+    private int moves(Player player) {
+        int moves = 0;
+        for (Robot robot : player.getRobots()) {
+            moves += robot.getMoves();
+        }
+        return moves;
+    }
+
+    /**
+     * The outcome of one game, added to the statistics once every game has ended.
+     */
+    private class GameResult {
+        private final MoveType first;
+        private final MoveType second;
+        private final int winner;
+        private final int rounds;
+        private final int firstMoves;
+        private final int secondMoves;
+
+        GameResult(MoveType first, MoveType second, int winner, int rounds, int firstMoves, int secondMoves) {
+            this.first = first;
+            this.second = second;
+            this.winner = winner;
+            this.rounds = rounds;
+            this.firstMoves = firstMoves;
+            this.secondMoves = secondMoves;
+        }
+
+        void addTo(StrategyStats[] stats) {
+            int outcome = winner == 1 ? 1 : winner == 2 ? -1 : 0;
+            stats[first.ordinal()].record(outcome, rounds, robotsNumber, firstMoves);
+            stats[second.ordinal()].record(-outcome, rounds, robotsNumber, secondMoves);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package capturetheflag;
+
+import Enums.MoveType;
+
+/**
+ * The statistics of every move type that took part in a {@link Tournament}.
+ */
+public class TournamentResult {
+    private final StrategyStats[] stats;
+    private final int games;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs the result of a tournament.
+     *
+     * @param stats        The statistics of the move types, indexed by their ordinal, null for the move types that
+     *                     did not take part.
+     * @param games        The number of games played.
+     * @param elapsedNanos The time taken to play them, in nanoseconds.
+     */
+    TournamentResult(StrategyStats[] stats, int games, long elapsedNanos) {
+        this.stats = stats;
+        this.games = games;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the statistics of a move type.
+     *
+     * @param moveType The move type.
+     * @return The statistics, or null if the move type did not take part.
+     */
+    public StrategyStats getStats(MoveType moveType) {
+        return this.stats[moveType.ordinal()];
+    }
+
+    /**
+     * Gets the number of games played.
+     *
+     * @return The number of games.
+     */
+    public int getGames() {
+        return this.games;
+    }
+
+    /**
+     * Gets the time taken to play the games.
+     *
+     * @return The time in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return this.elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * Gets the number of games played per second.
+     *
+     * @return The throughput of the tournament.
+     */
+    public double getGamesPerSecond() {
+        return this.elapsedNanos == 0 ? 0 : this.games * 1e9 / this.elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append(String.format("%d games in %d ms (%.0f games/s)%n", this.games, getElapsedMillis(),
+                getGamesPerSecond()));
+        for (StrategyStats strategy : this.stats) {
+            if (strategy != null) {
+                result.append(strategy).append(System.lineSeparator());
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package capturetheflag;
+
+/**
+ * A clock with its own time, which advances at once by the time waited on it. Games played on it never wait, so
+ * thousands of moves can be simulated per second while the time of the game is still kept.
+ */
+public class VirtualClock implements GameClock {
+    private long time;
+
+    /**
+     * Constructs a virtual clock starting at time zero.
+     */
+    public VirtualClock() {
+        this(0);
+    }
+
+    /**
+     * Constructs a virtual clock starting at the given time.
+     *
+     * @param time The starting time in milliseconds.
+     */
+    public VirtualClock(long time) {
+        this.time = time;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return this.time;
+    }
+
+    /**
+     * Advances the time of the clock without waiting.
+     *
+     * @param millis The time to advance in milliseconds.
+     * @throws IllegalArgumentException If the time is negative.
+     */
+    @Override
+    public void sleep(long millis) throws IllegalArgumentException {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Time to wait cannot be negative.");
+        }
+        this.time += millis;
+    }
+}
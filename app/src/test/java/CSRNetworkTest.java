@@ -0,0 +1,228 @@
+import Collections.Graphs.AllPairsShortestPaths;
+import Collections.Graphs.BidirectionalDijkstra;
+import Collections.Graphs.CSRNetwork;
+import Collections.Graphs.DialShortestPath;
+import Collections.Graphs.DistanceField;
+import Collections.Graphs.Heuristic;
+import Collections.Graphs.ShortestPathTree;
+import Collections.Graphs.StronglyConnectedComponents;
+import Collections.Graphs.Network;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CSRNetworkTest {
+
+    private Network<String> network;
+
+    @BeforeEach
+    void setUp() {
+        network = new Network<>();
+        network.addVertex("A");
+        network.addVertex("B");
+        network.addVertex("C");
+        network.addVertex("D");
+        network.addVertex("E");
+        network.addEdge(0, 1, 4);
+        network.addEdge(0, 2, 1);
+        network.addEdge(2, 1, 2);
+        network.addEdge(1, 3, 5);
+        network.addEdge(2, 3, 8);
+        network.addEdge(3, 4, 3);
+    }
+
+    private String join(Iterator<String> it) {
+        String result = "";
+        while (it.hasNext()) {
+            result += it.next();
+        }
+        return result;
+    }
+
+    @Test
+    void testCompressFromNetwork() {
+        CSRNetwork<String> csr = new CSRNetwork<>(network);
+
+        assertEquals(5, csr.size());
+        assertEquals(6, csr.numEdges());
+        assertEquals(2, csr.outDegree(0));
+        assertEquals(1.0, csr.getEdgeWeight(0, 2));
+        assertEquals(Double.POSITIVE_INFINITY, csr.getEdgeWeight(2, 0));
+    }
+
+    @Test
+    void testTraversalsMatchNetwork() {
+        CSRNetwork<String> csr = new CSRNetwork<>(network);
+
+        assertEquals(join(network.iteratorBFS(0)), join(csr.iteratorBFS(0)));
+        assertEquals(join(network.iteratorDFS(0)), join(csr.iteratorDFS(0)));
+        assertEquals("ACBDE", join(csr.iteratorShortestPath(0, 4)));
+        assertEquals(11.0, csr.shortestPathWeight(0, 4));
+        assertEquals("", join(csr.iteratorShortestPath(4, 0)));
+    }
+
+    @Test
+    void testLongestAndRandomPath() {
+        CSRNetwork<String> csr = new CSRNetwork<>(network);
+
+        assertEquals("ABDE", join(csr.iteratorLongestPath(0, 4)));
+
+        String path = join(csr.iteratorRandomPath(0, 4));
+        assertTrue(path.startsWith("A"));
+        assertTrue(path.endsWith("DE"));
+    }
+
+    @Test
+    void testEdgeListConstructorAndMutation() {
+        CSRNetwork<String> csr = new CSRNetwork<>(new String[]{"A", "B", "C"},
+                new int[]{1, 0, 0}, new int[]{2, 1, 2}, new double[]{1, 1, 5});
+
+        assertEquals(2.0, csr.shortestPathWeight(0, 2));
+
+        csr.addVertex("D");
+        csr.addEdge(2, 3, 7);
+        assertEquals(9.0, csr.shortestPathWeight(0, 3));
+
+        csr.removeVertex(1);
+        assertEquals(3, csr.size());
+        assertEquals(12.0, csr.shortestPathWeight(0, 2));
+        assertEquals("ACD", join(csr.iteratorShortestPath(0, 2)));
+    }
+
+    @Test
+    void testBucketQueueSelection() {
+        CSRNetwork<String> csr = new CSRNetwork<>(network);
+        assertTrue(csr.hasSmallIntegerWeights());
+        assertEquals(8, csr.getIntegerWeightBound());
+
+        DialShortestPath search = new DialShortestPath(csr, csr.getIntegerWeightBound());
+        assertTrue(search.search(0, -1));
+        assertEquals(11, search.getDistance(4));
+        assertEquals(2, search.getPredecessor(1));
+
+        csr.addEdge(0, 4, 10.5);
+        assertFalse(csr.hasSmallIntegerWeights());
+        assertEquals(10.5, csr.shortestPathWeight(0, 4));
+    }
+
+    @Test
+    void testShortestPathTree() {
+        CSRNetwork<String> csr = new CSRNetwork<>(network);
+        ShortestPathTree tree = csr.shortestPathTree(0);
+
+        assertEquals(11.0, tree.distanceTo(4));
+        assertEquals(3.0, tree.distanceTo(1));
+        assertFalse(tree.iteratorPathIndices(0).hasNext());
+
+        String path = "";
+        Iterator<Integer> it = tree.iteratorPathIndices(4);
+        while (it.hasNext()) {
+            path += csr.getVertex(it.next());
+        }
+        assertEquals(join(csr.iteratorShortestPath(0, 4)), path);
+
+        ShortestPathTree reverse = csr.shortestPathTree(4);
+        assertFalse(reverse.hasPathTo(0));
+        assertEquals(Double.POSITIVE_INFINITY, reverse.distanceTo(0));
+    }
+
+    @Test
+    void testDistanceField() {
+        CSRNetwork<String> csr = new CSRNetwork<>(network);
+        DistanceField field = new DistanceField(csr, 4);
+
+        assertEquals(11.0, field.getDistance(0));
+        assertEquals(2, field.getNextHop(0));
+        assertEquals(1, field.getNextHop(2));
+        assertEquals(3, field.getNextHop(1));
+        assertEquals(-1, field.getNextHop(4));
+        assertTrue(field.canReachTarget(4));
+
+        DistanceField towardsStart = new DistanceField(csr, 0);
+        assertFalse(towardsStart.canReachTarget(4));
+        assertEquals(-1, towardsStart.getNextHop(4));
+    }
+
+    @Test
+    void testAStarPath() {
+        CSRNetwork<String> csr = new CSRNetwork<>(network);
+        double[] inconsistent = {0, 0, 10, 0, 0};
+        Heuristic heuristic = (from, target) -> inconsistent[from];
+
+        assertEquals("ACBDE", join(csr.iteratorAStarPath(0, 4, Heuristic.ZERO)));
+        assertEquals("ACBDE", join(csr.iteratorAStarPath(0, 4, heuristic)));
+        assertEquals("ACBDE", join(network.iteratorAStarPath("A", "E", heuristic)));
+        assertEquals("", join(csr.iteratorAStarPath(4, 0, Heuristic.ZERO)));
+    }
+
+    @Test
+    void testBidirectionalDijkstra() {
+        network.addEdge(0, 2, 1.5);
+        CSRNetwork<String> csr = new CSRNetwork<>(network);
+        BidirectionalDijkstra search = new BidirectionalDijkstra(csr);
+
+        assertFalse(csr.hasSmallIntegerWeights());
+        assertTrue(search.search(0, 4));
+        assertEquals(11.5, search.getDistance());
+        assertEquals("ACBDE", join(csr.iteratorShortestPath(0, 4)));
+        assertEquals("ACBDE", join(network.iteratorShortestPath(0, 4)));
+
+        assertFalse(search.search(4, 0));
+        assertEquals(Double.POSITIVE_INFINITY, search.getDistance());
+        assertFalse(search.iteratorPathIndices().hasNext());
+        assertTrue(search.search(2, 3));
+        assertEquals(7.0, search.getDistance());
+    }
+
+    @Test
+    void testAllPairsShortestPaths() {
+        CSRNetwork<String> csr = new CSRNetwork<>(network);
+        AllPairsShortestPaths table = new AllPairsShortestPaths(csr, 2, new ForkJoinPool(2));
+
+        for (int i = 0; i < csr.size(); i++) {
+            ShortestPathTree tree = csr.shortestPathTree(i);
+            for (int j = 0; j < csr.size(); j++) {
+                assertEquals(i == j ? 0.0 : tree.distanceTo(j), table.distance(i, j));
+            }
+        }
+        assertEquals(2, table.getNextHop(0, 4));
+        assertEquals(-1, table.getNextHop(4, 0));
+
+        Iterator<Integer> path = table.iteratorPathIndices(0, 4);
+        String result = "";
+        while (path.hasNext()) {
+            result += csr.getVertex(path.next());
+        }
+        assertEquals("ACBDE", result);
+        assertFalse(table.iteratorPathIndices(4, 0).hasNext());
+        assertThrows(IllegalArgumentException.class, () -> new AllPairsShortestPaths(csr, 0, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    void testStronglyConnectedComponents() {
+        StronglyConnectedComponents components = new StronglyConnectedComponents(new CSRNetwork<>(network));
+
+        assertEquals(5, components.count());
+        assertFalse(components.isStronglyConnected());
+        assertFalse(network.isConnected_Network());
+
+        network.addEdge(4, 0, 1);
+        network.addEdge(1, 2, 2);
+        components = new StronglyConnectedComponents(new CSRNetwork<>(network));
+
+        assertEquals(1, components.count());
+        assertEquals(5, components.getComponentSize(0));
+        assertTrue(components.stronglyConnected(1, 4));
+        assertTrue(network.isConnected_Network());
+
+        network.removeEdge(4, 0);
+        components = new StronglyConnectedComponents(new CSRNetwork<>(network));
+        assertEquals(4, components.count());
+        assertTrue(components.stronglyConnected(1, 2));
+        assertTrue(components.getComponent(0) > components.getComponent(4));
+    }
+}
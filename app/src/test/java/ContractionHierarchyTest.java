@@ -0,0 +1,119 @@
+import Collections.Graphs.CSRNetwork;
+import Collections.Graphs.ContractionHierarchy;
+import Collections.Graphs.ShortestPathTree;
+import capturetheflag.Local;
+import capturetheflag.Map;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContractionHierarchyTest {
+
+    private CSRNetwork<Integer> randomNetwork(int n, int m, long seed) {
+        Random random = new Random(seed);
+        Integer[] vertices = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            vertices[i] = i;
+        }
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        for (int e = 0; e < m; e++) {
+            sources[e] = random.nextInt(n);
+            targets[e] = (sources[e] + 1 + random.nextInt(n - 1)) % n;
+            weights[e] = 1 + random.nextInt(20);
+        }
+        CSRNetwork<Integer> network = new CSRNetwork<>();
+        for (Integer vertex : vertices) {
+            network.addVertex(vertex);
+        }
+        for (int e = 0; e < m; e++) {
+            network.addEdge(sources[e], targets[e], weights[e]);
+        }
+        return network;
+    }
+
+    private double pathWeight(CSRNetwork<?> network, Iterator<Integer> path) {
+        double weight = 0;
+        int previous = path.next();
+        while (path.hasNext()) {
+            int next = path.next();
+            weight += network.getEdgeWeight(previous, next);
+            previous = next;
+        }
+        return weight;
+    }
+
+    @Test
+    void testDistancesMatchDijkstra() {
+        CSRNetwork<Integer> network = randomNetwork(80, 240, 1);
+        ContractionHierarchy hierarchy = new ContractionHierarchy(network);
+
+        for (int i = 0; i < network.size(); i++) {
+            ShortestPathTree tree = network.shortestPathTree(i);
+            for (int j = 0; j < network.size(); j++) {
+                if (i == j) {
+                    continue;
+                }
+                assertEquals(tree.distanceTo(j), hierarchy.distance(i, j));
+                if (tree.hasPathTo(j)) {
+                    assertEquals(tree.distanceTo(j), pathWeight(network, hierarchy.iteratorPathIndices(i, j)));
+                } else {
+                    assertFalse(hierarchy.iteratorPathIndices(i, j).hasNext());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSaveAndLoad() throws IOException {
+        CSRNetwork<Integer> network = randomNetwork(50, 150, 2);
+        ContractionHierarchy hierarchy = new ContractionHierarchy(network);
+        File file = File.createTempFile("hierarchy", ".ch");
+        file.deleteOnExit();
+
+        hierarchy.save(file.getPath());
+        ContractionHierarchy loaded = ContractionHierarchy.load(file.getPath());
+
+        assertTrue(loaded.matches(network));
+        assertEquals(hierarchy.numEdges(), loaded.numEdges());
+        for (int j = 1; j < network.size(); j++) {
+            assertEquals(hierarchy.distance(0, j), loaded.distance(0, j));
+            assertEquals(hierarchy.getRank(j), loaded.getRank(j));
+        }
+        assertFalse(loaded.matches(randomNetwork(50, 150, 3)));
+    }
+
+    @Test
+    void testMapUsesHierarchy() {
+        Map map = new Map();
+        for (int i = 0; i < 5; i++) {
+            map.addVertex(new Local(i));
+        }
+        map.addEdge(0, 1, 4);
+        map.addEdge(0, 2, 1);
+        map.addEdge(2, 1, 2);
+        map.addEdge(1, 3, 5);
+        map.addEdge(3, 4, 3);
+
+        ContractionHierarchy hierarchy = map.getContractionHierarchy();
+        assertTrue(map.hasContractionHierarchy());
+        assertEquals(11.0, map.shortestPathWeight(0, 4));
+        Iterator<Local> path = map.iteratorShortestPath(0, 4);
+        int[] expected = {0, 2, 1, 3, 4};
+        for (int id : expected) {
+            assertEquals(id, path.next().getId());
+        }
+        assertFalse(path.hasNext());
+
+        map.addEdge(0, 4, 2);
+        assertFalse(map.hasContractionHierarchy());
+        assertThrows(IllegalArgumentException.class, () -> map.setContractionHierarchy(hierarchy));
+        assertEquals(2.0, map.shortestPathWeight(0, 4));
+    }
+}
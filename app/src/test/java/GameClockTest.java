@@ -0,0 +1,70 @@
+import Enums.MoveType;
+import capturetheflag.Game;
+import capturetheflag.RealTimeClock;
+import capturetheflag.Robot;
+import capturetheflag.VirtualClock;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameClockTest {
+
+    @Test
+    void testVirtualClockAdvancesWithoutWaiting() {
+        VirtualClock clock = new VirtualClock(100);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < 1000; i++) {
+            clock.sleep(3000);
+        }
+
+        assertEquals(100 + 1000 * 3000L, clock.currentTimeMillis());
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+        assertThrows(IllegalArgumentException.class, () -> clock.sleep(-1));
+    }
+
+    @Test
+    void testRealTimeClockWaits() {
+        RealTimeClock clock = new RealTimeClock();
+        long start = clock.currentTimeMillis();
+
+        clock.sleep(20);
+
+        assertTrue(clock.currentTimeMillis() - start >= 20);
+    }
+
+    @Test
+    void testGameOnVirtualClockDoesNotWait() {
+        Game game = new Game(10, true, 1, "Player1", "Player2", 3);
+        VirtualClock clock = new VirtualClock();
+        game.setClock(clock);
+        game.setFlag(0, 9);
+        game.setRobots();
+        game.setOrderRobots();
+        for (Robot robot : game.getRobosMoveOrder()) {
+            robot.setMoveType(MoveType.DIJSKTRA);
+        }
+        game.setPaths();
+
+        long start = System.nanoTime();
+        int rounds = 0;
+        while (game.victory() == 0 && rounds < 100) {
+            game.moveRobots();
+            rounds++;
+        }
+
+        assertTrue(clock.currentTimeMillis() > 0);
+        assertEquals(0, clock.currentTimeMillis() % Game.DEFAULT_MOVE_DELAY);
+        assertTrue(System.nanoTime() - start < Game.DEFAULT_MOVE_DELAY * 1_000_000L);
+    }
+
+    @Test
+    void testClockAndDelayAreValidated() {
+        Game game = new Game(10, true, 1, "Player1", "Player2", 3);
+
+        assertTrue(game.getClock() instanceof RealTimeClock);
+        assertEquals(Game.DEFAULT_MOVE_DELAY, game.getMoveDelay());
+        assertThrows(IllegalArgumentException.class, () -> game.setClock(null));
+        assertThrows(IllegalArgumentException.class, () -> game.setMoveDelay(-1));
+    }
+}
@@ -0,0 +1,64 @@
+import Collections.Exceptions.EmptyCollectionException;
+import Collections.Exceptions.IllegalArgumentException;
+import Collections.Trees.IndexedMinHeap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexedMinHeapTest {
+
+    @Test
+    void testRemoveMinOrder() {
+        IndexedMinHeap heap = new IndexedMinHeap(5);
+
+        heap.insert(0, 3.5);
+        heap.insert(1, 1.0);
+        heap.insert(2, 2.0);
+
+        assertEquals(1, heap.findMin());
+        assertEquals(1, heap.removeMin());
+        assertEquals(2, heap.removeMin());
+        assertEquals(0, heap.removeMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void testDecreaseKey() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+
+        heap.insert(0, 10);
+        heap.insert(1, 20);
+        heap.insert(2, 30);
+        heap.decreaseKey(2, 5);
+
+        assertEquals(5.0, heap.getPriority(2));
+        assertEquals(2, heap.removeMin());
+        assertFalse(heap.contains(2));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(1, 25));
+    }
+
+    @Test
+    void testInsertOrDecrease() {
+        IndexedMinHeap heap = new IndexedMinHeap(3);
+
+        heap.insertOrDecrease(1, 4);
+        heap.insertOrDecrease(1, 6);
+        heap.insertOrDecrease(0, 5);
+
+        assertEquals(2, heap.size());
+        assertEquals(4.0, heap.findMinPriority());
+    }
+
+    @Test
+    void testEmptyAndInvalid() {
+        IndexedMinHeap heap = new IndexedMinHeap(2);
+
+        assertThrows(EmptyCollectionException.class, heap::removeMin);
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(2, 1));
+        heap.insert(0, 1);
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(0, 1));
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(0));
+    }
+}
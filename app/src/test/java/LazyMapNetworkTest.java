@@ -0,0 +1,145 @@
+import Collections.Graphs.CSRNetwork;
+import capturetheflag.GridMapGenerator;
+import capturetheflag.LazyMapNetwork;
+import capturetheflag.Local;
+import capturetheflag.Map;
+import capturetheflag.MappedMapNetwork;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyMapNetworkTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testEdgesMatchTheSavedNetwork() throws IOException {
+        Map map = new Map(90, false, 0.1, 4L);
+        CSRNetwork<Local> network = map.getCompressedNetwork();
+        File file = directory.resolve("map.ctfm").toFile();
+        MappedMapNetwork.save(map, file.getPath());
+
+        try (LazyMapNetwork lazy = LazyMapNetwork.open(file.getPath(), 8, 3)) {
+            assertEquals(network.size(), lazy.size());
+            assertEquals(network.numEdges(), lazy.numEdges());
+            assertFalse(lazy.isBidirectional());
+            for (int i = network.size() - 1; i >= 0; i--) {
+                assertEquals(network.getVertex(i).getId(), lazy.getVertex(i).getId());
+                assertEquals(network.outDegree(i), lazy.outDegree(i));
+                for (int e = network.edgeBegin(i); e < network.edgeEnd(i); e++) {
+                    assertEquals(network.edgeWeight(e), lazy.getEdgeWeight(i, network.edgeTarget(e)));
+                }
+            }
+            assertTrue(lazy.getCachedPages() <= 3);
+        }
+    }
+
+    @Test
+    void testPathsWithASmallCache() throws IOException {
+        CSRNetwork<Local> network = new GridMapGenerator(30, 30, 9).generateNetwork();
+        File file = directory.resolve("map.ctfm").toFile();
+        MappedMapNetwork.save(network, true, 0, file.getPath());
+
+        try (LazyMapNetwork lazy = LazyMapNetwork.open(file.getPath(), 16, 4)) {
+            for (int target = 1; target < 900; target += 97) {
+                assertEquals(network.shortestPathWeight(0, target), lazy.shortestPathWeight(0, target));
+            }
+            assertTrue(lazy.getCachedPages() <= 4);
+            assertTrue(lazy.getPageLoads() > 4);
+
+            Iterator<Local> path = lazy.iteratorShortestPath(899, 0);
+            Local first = path.next();
+            assertSame(lazy.getVertex(899), first);
+            Local last = first;
+            while (path.hasNext()) {
+                last = path.next();
+            }
+            assertEquals(0, last.getId());
+            assertEquals(lazy.getVertex(0).getX(), network.getVertex(0).getX());
+        }
+    }
+
+    @Test
+    void testPathsWithGeneralWeightsAndNoReverse() throws IOException {
+        int n = 200;
+        SplittableRandom random = new SplittableRandom(8);
+        Local[] locals = new Local[n];
+        int[] sources = new int[2 * n];
+        int[] targets = new int[2 * n];
+        double[] weights = new double[2 * n];
+        for (int i = 0; i < n; i++) {
+            locals[i] = new Local(i);
+            sources[2 * i] = i;
+            targets[2 * i] = (i + 1) % n;
+            weights[2 * i] = 1.5;
+            sources[2 * i + 1] = i;
+            targets[2 * i + 1] = (7 * i + 3) % n;
+            weights[2 * i + 1] = random.nextDouble(0.1, 10);
+        }
+        CSRNetwork<Local> network = new CSRNetwork<>(locals, sources, targets, weights);
+        File file = directory.resolve("map.ctfm").toFile();
+        MappedMapNetwork.save(network, false, 0, file.getPath());
+
+        try (LazyMapNetwork lazy = LazyMapNetwork.open(file.getPath(), 8, 2)) {
+            assertFalse(lazy.hasSmallIntegerWeights());
+            assertThrows(UnsupportedOperationException.class, lazy::reverse);
+            for (int target = 1; target < n; target += 13) {
+                assertEquals(network.shortestPathWeight(5, target), lazy.shortestPathWeight(5, target), 1e-9);
+            }
+
+            Local first = lazy.getVertex(0);
+            assertSame(first, lazy.getVertex(0));
+            for (int i = 1; i < n; i++) {
+                lazy.getVertex(i);
+            }
+            assertNotSame(first, lazy.getVertex(0));
+            assertEquals(0, lazy.getVertex(0).getId());
+        }
+    }
+
+    @Test
+    void testIndexOfLocationsNotReadYet() throws IOException {
+        Map map = new Map(40, true, 0.2, 6L);
+        File file = directory.resolve("map.ctfm").toFile();
+        MappedMapNetwork.save(map, file.getPath());
+
+        try (LazyMapNetwork lazy = LazyMapNetwork.open(file.getPath(), 8, 2)) {
+            assertEquals(27, lazy.getIndex(new Local(map.getCompressedNetwork().getVertex(27).getId())));
+            assertEquals(3, lazy.getIndex(lazy.getVertex(3)));
+            assertEquals(-1, lazy.getIndex(new Local(-5)));
+            assertEquals(-1, lazy.getIndex(null));
+            assertEquals(0, lazy.getPageLoads());
+        }
+    }
+
+    @Test
+    void testLazyNetworkIsReadOnly() throws IOException {
+        Map map = new Map(10, true, 0.5, 1L);
+        File file = directory.resolve("map.ctfm").toFile();
+        MappedMapNetwork.save(map, file.getPath());
+
+        try (LazyMapNetwork lazy = LazyMapNetwork.open(file.getPath())) {
+            assertThrows(UnsupportedOperationException.class, () -> lazy.addVertex(new Local(99)));
+            assertThrows(UnsupportedOperationException.class, () -> lazy.addEdge(0, 1, 3));
+            assertThrows(UnsupportedOperationException.class, () -> lazy.removeVertex(0));
+            assertThrows(UnsupportedOperationException.class, lazy::clear);
+        }
+    }
+
+    @Test
+    void testInvalidArguments() throws IOException {
+        File file = Files.createFile(directory.resolve("map.ctfm")).toFile();
+        assertThrows(IllegalArgumentException.class, () -> LazyMapNetwork.open(file.getPath(), 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> LazyMapNetwork.open(file.getPath(), 4, 0));
+        assertThrows(IOException.class, () -> LazyMapNetwork.open(file.getPath()));
+    }
+}
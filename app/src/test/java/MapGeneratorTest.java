@@ -0,0 +1,113 @@
+import Collections.Graphs.CSRNetwork;
+import Collections.Graphs.StronglyConnectedComponents;
+import capturetheflag.GeometricMapGenerator;
+import capturetheflag.GridMapGenerator;
+import capturetheflag.Local;
+import capturetheflag.Map;
+import capturetheflag.MapGenerator;
+import capturetheflag.ScaleFreeMapGenerator;
+import capturetheflag.SmallWorldMapGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MapGeneratorTest {
+
+    private void assertSimpleAndSymmetric(CSRNetwork<Local> network) {
+        int n = network.size();
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, network.getVertex(i).getId());
+            boolean[] seen = new boolean[n];
+            for (int e = network.edgeBegin(i); e < network.edgeEnd(i); e++) {
+                int j = network.edgeTarget(e);
+                assertNotEquals(i, j);
+                assertFalse(seen[j]);
+                seen[j] = true;
+                assertEquals(network.edgeWeight(e), network.getEdgeWeight(j, i));
+            }
+        }
+    }
+
+    @Test
+    void testGrid() {
+        CSRNetwork<Local> network = new GridMapGenerator(20, 30, 1).generateNetwork();
+
+        assertEquals(600, network.size());
+        assertEquals(2 * (20 * 29 + 19 * 30), network.numEdges());
+        assertSimpleAndSymmetric(network);
+        assertTrue(new StronglyConnectedComponents(network).isStronglyConnected());
+        assertEquals(31.0, network.getVertex(31).getX() + network.getVertex(31).getY() * 30);
+    }
+
+    @Test
+    void testSmallWorld() {
+        CSRNetwork<Local> network = new SmallWorldMapGenerator(1000, 6, 0.3, 2).generateNetwork();
+
+        assertEquals(1000, network.size());
+        assertEquals(6000, network.numEdges());
+        assertSimpleAndSymmetric(network);
+        assertTrue(new StronglyConnectedComponents(network).isStronglyConnected());
+        NetworkAssertions.assertSameNetwork(network, new SmallWorldMapGenerator(1000, 6, 0.3, 2).generateNetwork());
+    }
+
+    @Test
+    void testScaleFree() {
+        CSRNetwork<Local> network = new ScaleFreeMapGenerator(2000, 3, 3).generateNetwork();
+
+        assertEquals(2000, network.size());
+        assertEquals(2 * (6 + 3 * (2000 - 4)), network.numEdges());
+        assertSimpleAndSymmetric(network);
+        assertTrue(new StronglyConnectedComponents(network).isStronglyConnected());
+        int maxDegree = 0;
+        for (int i = 0; i < network.size(); i++) {
+            maxDegree = Math.max(maxDegree, network.outDegree(i));
+        }
+        assertTrue(maxDegree > 30);
+    }
+
+    @Test
+    void testGeometric() {
+        CSRNetwork<Local> network = new GeometricMapGenerator(800, 20, 1.5, 4).generateNetwork();
+
+        assertSimpleAndSymmetric(network);
+        int expected = 0;
+        for (int i = 0; i < network.size(); i++) {
+            for (int j = 0; j < network.size(); j++) {
+                Local from = network.getVertex(i);
+                Local to = network.getVertex(j);
+                if (i != j && from.distanceTo(to) <= 1.5) {
+                    expected++;
+                    assertTrue(network.getEdgeWeight(i, j) >= from.distanceTo(to));
+                }
+            }
+        }
+        assertEquals(expected, network.numEdges());
+        NetworkAssertions.assertSameNetwork(network, new GeometricMapGenerator(800, 20, 1.5, 4).generateNetwork());
+    }
+
+    @Test
+    void testGenerateMap() {
+        MapGenerator generator = new ScaleFreeMapGenerator(50, 2, 5);
+        CSRNetwork<Local> network = generator.generateNetwork();
+        Map map = generator.generateMap();
+
+        assertEquals(50, map.getNumLocations());
+        assertTrue(map.isBidirectional());
+        assertEquals(network.numEdges() / 2, map.getNumEdges());
+        assertTrue(map.isConnected());
+        for (int i = 0; i < 50; i++) {
+            for (int j = 0; j < 50; j++) {
+                assertEquals(network.getEdgeWeight(i, j), map.getCompressedNetwork().getEdgeWeight(i, j));
+            }
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new GridMapGenerator(0, 5, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SmallWorldMapGenerator(10, 3, 0.1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SmallWorldMapGenerator(10, 4, 1.5, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ScaleFreeMapGenerator(5, 5, 1));
+        assertThrows(IllegalArgumentException.class, () -> new GeometricMapGenerator(10, 10, 0, 1));
+    }
+}
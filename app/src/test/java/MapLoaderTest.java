@@ -0,0 +1,69 @@
+import capturetheflag.Map;
+import capturetheflag.MapLoader;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MapLoaderTest {
+
+    private File write(String json) throws IOException {
+        File file = File.createTempFile("map", ".json", new File(System.getProperty("user.dir")));
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), json);
+        return file;
+    }
+
+    @Test
+    void testDenseFormatMatchesDomLoader() throws IOException {
+        String matrix = "\"adjacencyMatrix\":[[null,2.0,null],[null,null,3.0],[4.0,null,null]]";
+        String values = "\"vertexValues\":[{\"index\":0,\"value\":\"a\"},{\"index\":1,\"value\":\"b\"},{\"index\":2,\"value\":\"c\"}]";
+        String weights = "\"edgeWeights\":[{\"index\":\"0 to 1\",\"weight\":2.0},{\"index\":\"1 to 2\",\"weight\":3.0}]";
+        String[] documents = {
+                "{" + values + "," + matrix + "," + weights + "}",
+                "{" + weights + "," + matrix + "," + values + "}",
+                "{" + matrix + ",\n " + weights + ", " + values + "}"
+        };
+
+        for (String document : documents) {
+            File file = write(document);
+            Map expected = new Map();
+            expected.loadFromJsonFile(file.getPath());
+            Map loaded = MapLoader.loadMapFromJson(file.getName());
+
+            NetworkAssertions.assertSameNetwork(expected.getCompressedNetwork(), loaded.getCompressedNetwork());
+            assertEquals(3, loaded.getNumLocations());
+            assertEquals(2.0, loaded.getCompressedNetwork().getEdgeWeight(1, 0));
+        }
+    }
+
+    @Test
+    void testSparseFormat() throws IOException {
+        File file = write("{\"version\":2,\"bidirectional\":false,\"density\":0.5,\"symmetric\":false,"
+                + "\"numLocations\":3,\"numEdges\":3,\"locations\":[{\"id\":0,\"x\":1.5,\"y\":-2},{\"id\":1},{\"id\":2}],"
+                + "\"extra\":{\"ignored\":[1,2,{\"a\":null}]},\"edges\":[[0,1,2],[1,2,3.5],[2,0,1e1]]}");
+
+        Map loaded = MapLoader.loadMapFromJson(file.getName());
+
+        assertEquals(3, loaded.getNumLocations());
+        assertEquals(3, loaded.getNumEdges());
+        assertEquals(0.5, loaded.getDensity());
+        assertEquals(-2.0, loaded.getCompressedNetwork().getVertex(0).getY());
+        assertFalse(loaded.getCompressedNetwork().getVertex(1).hasCoordinates());
+        assertEquals(3.5, loaded.getCompressedNetwork().getEdgeWeight(1, 2));
+        assertEquals(10.0, loaded.getCompressedNetwork().getEdgeWeight(2, 0));
+        assertEquals(Double.POSITIVE_INFINITY, loaded.getCompressedNetwork().getEdgeWeight(1, 0));
+    }
+
+    @Test
+    void testInvalidMaps() throws IOException {
+        File unknownVersion = write("{\"version\":3,\"locations\":[],\"edges\":[]}");
+        File missingLocation = write("{\"version\":2,\"locations\":[{\"id\":0}],\"edges\":[[0,1,2]]}");
+
+        assertThrows(IllegalArgumentException.class, () -> MapLoader.loadMapFromJson(unknownVersion.getName()));
+        assertThrows(IllegalArgumentException.class, () -> MapLoader.loadMapFromJson(missingLocation.getName()));
+    }
+}
@@ -1,7 +1,14 @@
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import Collections.Graphs.ShortestPathTree;
+import capturetheflag.Game;
+import capturetheflag.Local;
 import capturetheflag.Map;
+import capturetheflag.Player;
+
+import java.util.Iterator;
+import java.util.SplittableRandom;
 public class MapTest {
 
     @Test
@@ -18,4 +25,205 @@ public class MapTest {
         assertThrows(IllegalArgumentException.class, () -> new Map(10, true, 1.5));
         assertThrows(IllegalArgumentException.class, () -> new Map(10, true, -0.5));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testRandomMapIsAlwaysConnected() {
+        for (int i = 0; i < 50; i++) {
+            Map directed = new Map(12, false, 1.0 / 11);
+            Map bidirectional = new Map(12, true, 2.0 / 11);
+
+            assertTrue(directed.isConnected());
+            assertTrue(bidirectional.isConnected());
+            assertTrue(directed.getNumEdges() >= 11);
+            assertTrue(bidirectional.getNumEdges() >= 11);
+        }
+    }
+
+    @Test
+    void testMapLargerThanTheDoublingLimit() {
+        Map map = new Map(40961, true, 0.0001, false, new SplittableRandom(2));
+
+        assertEquals(40961, map.size());
+        assertEquals(83888, map.getNumEdges());
+        assertTrue(map.isSymmetric());
+        assertNotNull(map.getLocal(40960));
+    }
+
+    @Test
+    void testSeededMapIsReproducible() {
+        Map first = new Map(40, false, 0.2, 5L);
+        Map second = new Map(40, false, 0.2, 5L);
+
+        assertTrue(first.isConnected());
+        assertEquals(first.getNumEdges(), second.getNumEdges());
+        for (int i = 0; i < 40; i++) {
+            for (int j = 0; j < 40; j++) {
+                assertEquals(first.getCompressedNetwork().getEdgeWeight(i, j), second.getCompressedNetwork().getEdgeWeight(i, j));
+            }
+        }
+    }
+
+    @Test
+    void testRandomGeneratorReproducesMapAndRandomPaths() {
+        for (boolean geometric : new boolean[]{false, true}) {
+            Map first = new Map(30, true, 0.3, geometric, new SplittableRandom(11));
+            Map second = new Map(30, true, 0.3, geometric, new SplittableRandom(11));
+
+            assertEquals(first.getNumEdges(), second.getNumEdges());
+            for (int i = 0; i < 30; i++) {
+                for (int j = 0; j < 30; j++) {
+                    assertEquals(first.getCompressedNetwork().getEdgeWeight(i, j), second.getCompressedNetwork().getEdgeWeight(i, j));
+                }
+            }
+            for (int run = 0; run < 5; run++) {
+                Iterator<Local> firstPath = first.iteratorRandomPath(0, 29);
+                Iterator<Local> secondPath = second.iteratorRandomPath(0, 29);
+                while (firstPath.hasNext()) {
+                    assertEquals(firstPath.next().getId(), secondPath.next().getId());
+                }
+                assertFalse(secondPath.hasNext());
+            }
+        }
+    }
+
+    @Test
+    void testGameKeepsTheRandomGeneratorOfASharedMap() {
+        Map map = new Map(30, true, 0.3, 11L);
+        SplittableRandom mapRandom = map.getRandom();
+
+        new Game(map, new Player("First"), new Player("Second"), 3, new SplittableRandom(4));
+        assertSame(mapRandom, map.getRandom());
+
+        Iterator<Local> firstPath = map.iteratorRandomPath(0, 29, new SplittableRandom(6));
+        Iterator<Local> secondPath = map.iteratorRandomPath(0, 29, new SplittableRandom(6));
+        while (firstPath.hasNext()) {
+            assertEquals(firstPath.next().getId(), secondPath.next().getId());
+        }
+        assertFalse(secondPath.hasNext());
+        assertSame(mapRandom, map.getRandom());
+    }
+
+    @Test
+    void testBidirectionalMapKeepsOneTriangle() {
+        Map map = new Map(40, true, 0.2, 5L);
+        assertTrue(map.isSymmetric());
+        assertTrue(map.isConnected());
+        assertFalse(new Map(40, false, 0.2, 5L).isSymmetric());
+
+        map.setBidirectional(false);
+        assertFalse(map.isSymmetric());
+        map.addEdge(0, 39, 4);
+        map.removeEdge(1, 38);
+        map.addEdge(38, 1, 6);
+        assertEquals(4, map.getCompressedNetwork().getEdgeWeight(0, 39));
+        map.setBidirectional(true);
+        assertFalse(map.isSymmetric());
+    }
+
+    @Test
+    void testGetLocalFollowsChanges() {
+        Map map = new Map();
+        for (int i = 0; i < 6; i++) {
+            map.addVertex(new Local(10 + i));
+        }
+        assertEquals(12, map.getLocal(12).getId());
+        assertNull(map.getLocal(99));
+        assertThrows(IllegalArgumentException.class, () -> map.getLocal(-1));
+
+        Local duplicate = new Local(12);
+        Local added = new Local(42);
+        map.addVertex(duplicate);
+        map.addVertex(added);
+        assertNotSame(duplicate, map.getLocal(12));
+        assertSame(added, map.getLocal(42));
+
+        Local first = map.getLocal(12);
+        map.removeVertex(2);
+        assertSame(duplicate, map.getLocal(12));
+        assertNotSame(first, map.getLocal(12));
+        assertSame(added, map.getLocal(42));
+
+        map.clear();
+        assertNull(map.getLocal(42));
+    }
+
+    @Test
+    void testShortestPathTreeCache() {
+        Map map = new Map();
+        for (int i = 0; i < 4; i++) {
+            map.addVertex(new Local(i));
+        }
+        map.addEdge(0, 1, 2);
+        map.addEdge(1, 2, 2);
+        map.addEdge(0, 2, 5);
+        map.addEdge(2, 3, 1);
+
+        ShortestPathTree tree = map.getShortestPathTree(0);
+        assertSame(tree, map.getShortestPathTree(0));
+        assertEquals(5.0, tree.distanceTo(3));
+
+        map.addEdge(0, 3, 1);
+        assertNotSame(tree, map.getShortestPathTree(0));
+        assertEquals(1.0, map.getShortestPathTree(0).distanceTo(3));
+    }
+
+    @Test
+    void testGeometricAStarPath() {
+        Map map = new Map(30, true, 0.2, true);
+
+        assertTrue(map.isConnected());
+        for (int target = 1; target < map.getNumLocations(); target++) {
+            Iterator<Local> path = map.iteratorAStarPath(0, target);
+            double weight = 0;
+            Local previous = path.next();
+            while (path.hasNext()) {
+                Local next = path.next();
+                assertTrue(map.getEuclideanHeuristic().estimate(previous.getId(), next.getId()) <=
+                        map.getCompressedNetwork().getEdgeWeight(previous.getId(), next.getId()));
+                weight += map.getCompressedNetwork().getEdgeWeight(previous.getId(), next.getId());
+                previous = next;
+            }
+            assertEquals(target, previous.getId());
+            assertEquals(map.shortestPathWeight(0, target), weight);
+        }
+    }
+
+    @Test
+    void testDistanceTable() {
+        Map map = new Map(40, false, 0.3, true);
+        double[][] expected = new double[40][40];
+        for (int i = 0; i < 40; i++) {
+            for (int j = 0; j < 40; j++) {
+                expected[i][j] = map.shortestPathWeight(i, j);
+            }
+        }
+
+        assertFalse(map.hasDistanceTable());
+        map.computeDistanceTable();
+        assertTrue(map.hasDistanceTable());
+        for (int i = 0; i < 40; i++) {
+            for (int j = 0; j < 40; j++) {
+                assertEquals(expected[i][j], map.shortestPathWeight(i, j), 1e-9);
+            }
+        }
+
+        map.addEdge(0, 1, 1);
+        assertFalse(map.hasDistanceTable());
+    }
+
+    @Test
+    void testDirectedMapMustBeStronglyConnected() {
+        Map map = new Map();
+        for (int i = 0; i < 3; i++) {
+            map.addVertex(new Local(i));
+        }
+        map.addEdge(0, 1, 1);
+        map.addEdge(1, 2, 1);
+
+        assertFalse(map.isConnected());
+        assertEquals(3, map.getStronglyConnectedComponents().count());
+
+        map.addEdge(2, 0, 1);
+        assertTrue(map.isConnected());
+    }
+}
@@ -0,0 +1,73 @@
+import Collections.Graphs.Network;
+import capturetheflag.GeometricMapGenerator;
+import capturetheflag.Local;
+import capturetheflag.Map;
+import capturetheflag.MapLoader;
+import capturetheflag.MapWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MapWriterTest {
+
+    private File tempFile() throws IOException {
+        File file = File.createTempFile("map", ".json", new File(System.getProperty("user.dir")));
+        file.deleteOnExit();
+        return file;
+    }
+
+    @Test
+    void testDirectedRoundTrip() throws IOException {
+        Map map = new Map(60, false, 0.1, 3L);
+        File file = tempFile();
+
+        MapWriter.saveMapToJson(map, file.getPath());
+        Map loaded = MapLoader.loadMapFromJson(file.getName());
+
+        NetworkAssertions.assertSameNetwork(map.getCompressedNetwork(), loaded.getCompressedNetwork());
+        assertFalse(loaded.isBidirectional());
+        assertEquals(60, loaded.getNumLocations());
+        assertEquals(map.getCompressedNetwork().numEdges(), loaded.getNumEdges());
+    }
+
+    @Test
+    void testSymmetricMapStoresEachEdgeOnce() throws IOException {
+        Map map = new GeometricMapGenerator(80, 10, 2.5, 7).generateMap();
+        StringWriter writer = new StringWriter();
+        MapWriter.writeMap(map, writer);
+        String json = writer.toString();
+
+        assertTrue(json.startsWith("{\"version\":2,"));
+        assertTrue(json.contains("\"symmetric\":true"));
+        assertTrue(json.contains("\"numEdges\":" + map.getCompressedNetwork().numEdges() / 2 + ","));
+
+        File file = tempFile();
+        MapWriter.saveMapToJson(map, file.getPath());
+        Map loaded = MapLoader.loadMapFromJson(file.getName());
+        NetworkAssertions.assertSameNetwork(map.getCompressedNetwork(), loaded.getCompressedNetwork());
+        assertTrue(loaded.isBidirectional());
+    }
+
+    @Test
+    void testDenseFormatStillLoads() throws IOException {
+        Network<Local> network = new Network<>();
+        for (int i = 0; i < 3; i++) {
+            network.addVertex(new Local(i));
+        }
+        network.addEdge(0, 1, 2);
+        network.addEdge(1, 2, 3);
+        network.addEdge(2, 0, 4);
+        File file = tempFile();
+        String name = file.getName().substring(0, file.getName().length() - 5);
+        network.saveToJsonFile(file.getParent() + "/" + name);
+
+        Map loaded = MapLoader.loadMapFromJson(file.getName());
+
+        assertEquals(3, loaded.size());
+        assertTrue(loaded.isConnected());
+    }
+}
@@ -0,0 +1,97 @@
+import Collections.Graphs.CSRNetwork;
+import capturetheflag.GridMapGenerator;
+import capturetheflag.Local;
+import capturetheflag.Map;
+import capturetheflag.MappedMapNetwork;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedMapNetworkTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTripKeepsEdgesAndPaths() throws IOException {
+        Map map = new Map(80, false, 0.1, 5L);
+        File file = directory.resolve("map.ctfm").toFile();
+
+        MappedMapNetwork.save(map, file.getPath());
+        MappedMapNetwork mapped = MappedMapNetwork.open(file.getPath());
+
+        NetworkAssertions.assertSameNetwork(map.getCompressedNetwork(), mapped);
+        assertEquals(1, mapped.getWeightBytes());
+        assertFalse(mapped.isBidirectional());
+        for (int target = 1; target < 80; target += 7) {
+            assertEquals(map.getCompressedNetwork().shortestPathWeight(0, target), mapped.shortestPathWeight(0, target));
+        }
+    }
+
+    @Test
+    void testCoordinatesAndWideWeightsAreKept() throws IOException {
+        CSRNetwork<Local> network = new GridMapGenerator(6, 7, 3).generateNetwork();
+        File file = directory.resolve("map.ctfm").toFile();
+
+        MappedMapNetwork.save(network, true, 0.1, file.getPath());
+        MappedMapNetwork mapped = MappedMapNetwork.open(file.getPath());
+
+        NetworkAssertions.assertSameNetwork(network, mapped);
+        assertTrue(mapped.isBidirectional());
+        for (int i = 0; i < network.size(); i++) {
+            assertEquals(network.getVertex(i).getX(), mapped.getVertex(i).getX());
+            assertEquals(network.getVertex(i).getY(), mapped.getVertex(i).getY());
+        }
+
+        Local[] locals = {new Local(1), new Local(2)};
+        CSRNetwork<Local> wide = new CSRNetwork<>(locals, new int[]{0, 1}, new int[]{1, 0}, new double[]{300, 2.5});
+        MappedMapNetwork.save(wide, false, 1, file.getPath());
+        MappedMapNetwork mappedWide = MappedMapNetwork.open(file.getPath());
+        assertEquals(8, mappedWide.getWeightBytes());
+        assertEquals(300, mappedWide.getEdgeWeight(0, 1));
+        assertEquals(2.5, mappedWide.getEdgeWeight(1, 0));
+    }
+
+    @Test
+    void testLocationsAreStable() throws IOException {
+        Map map = new Map(20, true, 0.3, 2L);
+        File file = directory.resolve("map.ctfm").toFile();
+        MappedMapNetwork.save(map, file.getPath());
+        MappedMapNetwork mapped = MappedMapNetwork.open(file.getPath());
+
+        assertSame(mapped.getVertex(3), mapped.getVertex(3));
+        assertEquals(3, mapped.getIndex(mapped.getVertex(3)));
+        assertNull(mapped.getVertex(20));
+
+        Map copy = mapped.toMap();
+        NetworkAssertions.assertSameNetwork(map.getCompressedNetwork(), copy.getCompressedNetwork());
+        assertTrue(copy.isBidirectional());
+    }
+
+    @Test
+    void testMappedNetworkIsReadOnly() throws IOException {
+        Map map = new Map(10, true, 0.5, 1L);
+        File file = directory.resolve("map.ctfm").toFile();
+        MappedMapNetwork.save(map, file.getPath());
+        MappedMapNetwork mapped = MappedMapNetwork.open(file.getPath());
+
+        assertThrows(UnsupportedOperationException.class, () -> mapped.addVertex(new Local(99)));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.addEdge(0, 1, 3));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.removeEdge(0, 1));
+        assertThrows(UnsupportedOperationException.class, () -> mapped.removeVertex(0));
+        assertThrows(UnsupportedOperationException.class, mapped::clear);
+    }
+
+    @Test
+    void testOpenRejectsOtherFiles() throws IOException {
+        File file = directory.resolve("map.ctfm").toFile();
+        Files.write(file.toPath(), new byte[100]);
+        assertThrows(IOException.class, () -> MappedMapNetwork.open(file.getPath()));
+    }
+}
@@ -0,0 +1,39 @@
+import Collections.Graphs.CSRNetwork;
+import capturetheflag.Local;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Assertions shared by the tests that check a map survives being saved, loaded or generated again.
+ */
+final class NetworkAssertions {
+
+    private NetworkAssertions() {
+    }
+
+    /**
+     * Asserts that two networks hold the same locations at the same indices, with the same coordinates, and the
+     * same edges with the same weights. The edges of a location may be stored in a different order.
+     *
+     * @param expected the network to compare against
+     * @param actual   the network checked
+     */
+    static void assertSameNetwork(CSRNetwork<Local> expected, CSRNetwork<Local> actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.numEdges(), actual.numEdges());
+        for (int i = 0; i < expected.size(); i++) {
+            Local first = expected.getVertex(i);
+            Local second = actual.getVertex(i);
+            assertEquals(first.getId(), second.getId());
+            assertEquals(first.hasCoordinates(), second.hasCoordinates());
+            if (first.hasCoordinates()) {
+                assertEquals(first.getX(), second.getX());
+                assertEquals(first.getY(), second.getY());
+            }
+            assertEquals(expected.outDegree(i), actual.outDegree(i));
+            for (int e = expected.edgeBegin(i); e < expected.edgeEnd(i); e++) {
+                assertEquals(expected.edgeWeight(e), actual.getEdgeWeight(i, expected.edgeTarget(e)));
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+import Collections.HashTables.LRUCache;
+import Collections.Queues.QueueADT;
+import Enums.MoveType;
+import capturetheflag.Local;
+import capturetheflag.Map;
+import capturetheflag.PathCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PathCacheTest {
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        LRUCache<String, Integer> cache = new LRUCache<>(2);
+
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertEquals(1, cache.get("a"));
+        cache.put("c", 3);
+
+        assertTrue(cache.containsKey("a"));
+        assertFalse(cache.containsKey("b"));
+        assertTrue(cache.containsKey("c"));
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testVersionIncreasesOnMutation() {
+        Map map = new Map();
+        long version = map.getVersion();
+
+        map.addVertex(new Local(0));
+        map.addVertex(new Local(1));
+        assertTrue(map.getVersion() > version);
+
+        version = map.getVersion();
+        map.addEdge(0, 1, 3);
+        assertTrue(map.getVersion() > version);
+
+        version = map.getVersion();
+        map.removeEdge(0, 1);
+        assertTrue(map.getVersion() > version);
+
+        version = map.getVersion();
+        map.iteratorShortestPath(0, 1);
+        assertEquals(version, map.getVersion());
+    }
+
+    @Test
+    void testPathsAreKeyedByVersion() {
+        Map map = new Map();
+        for (int i = 0; i < 3; i++) {
+            map.addVertex(new Local(i));
+        }
+        map.addEdge(0, 1, 1);
+        map.addEdge(1, 2, 1);
+        PathCache cache = new PathCache(4);
+        long version = map.getVersion();
+
+        assertNull(cache.get(0, 2, MoveType.DIJSKTRA, version));
+        QueueADT<Local> planned = cache.put(0, 2, MoveType.DIJSKTRA, version, map.iteratorShortestPath(0, 2));
+        assertEquals(3, planned.size());
+
+        QueueADT<Local> cached = cache.get(0, 2, MoveType.DIJSKTRA, version);
+        assertNotSame(planned, cached);
+        assertEquals(0, cached.dequeue().getId());
+        assertEquals(2, cached.size());
+        assertEquals(3, planned.size());
+        assertEquals(3, cache.get(0, 2, MoveType.DIJSKTRA, version).size());
+        assertThrows(Collections.Exceptions.UnsupportedOperationException.class, () -> cached.enqueue(new Local(3)));
+        assertNull(cache.get(0, 2, MoveType.LONGEST_PATH, version));
+
+        map.addEdge(0, 2, 1);
+        assertNull(cache.get(0, 2, MoveType.DIJSKTRA, map.getVersion()));
+        assertThrows(IllegalArgumentException.class, () -> new PathCache(0));
+    }
+}
@@ -41,4 +41,23 @@ public class PlayerTest {
         assertEquals(1, player.getRobots().size());
         assertEquals(robot, player.getRobots().first());
     }
+
+    @Test
+    void testIdsAreAllocatedPerGame() {
+        IdAllocator ids = new IdAllocator();
+        Player first = new Player("First", ids);
+        Player second = new Player("Second", ids);
+        Robot firstRobot = new Robot(first);
+        Robot secondRobot = new Robot(second);
+
+        assertEquals(0, first.getId());
+        assertEquals(1, second.getId());
+        assertEquals(2, firstRobot.getId());
+        assertEquals(3, secondRobot.getId());
+
+        Player other = new Player("Other", new IdAllocator());
+        assertEquals(0, other.getId());
+        assertEquals(1, new Robot(other).getId());
+        assertThrows(IllegalArgumentException.class, () -> new Player("None", null));
+    }
 }
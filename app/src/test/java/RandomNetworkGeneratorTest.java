@@ -0,0 +1,140 @@
+import Collections.Graphs.CSRNetwork;
+import Collections.Graphs.RandomNetworkGenerator;
+import Collections.Graphs.StronglyConnectedComponents;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RandomNetworkGeneratorTest {
+
+    private Integer[] vertices(int n) {
+        Integer[] vertices = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            vertices[i] = i;
+        }
+        return vertices;
+    }
+
+    private RandomNetworkGenerator generate(int n, boolean bidirectional, double density, long seed) {
+        RandomNetworkGenerator generator = new RandomNetworkGenerator(n, bidirectional, density);
+        generator.generate(new Random(seed));
+        return generator;
+    }
+
+    @Test
+    void testGeneratedNetworkIsConnectedAndSimple() {
+        for (int seed = 0; seed < 20; seed++) {
+            boolean bidirectional = seed % 2 == 0;
+            RandomNetworkGenerator generator = generate(200, bidirectional, 0.05, seed);
+            CSRNetwork<Integer> network = generator.toCompressedNetwork(vertices(200));
+
+            assertTrue(new StronglyConnectedComponents(network).isStronglyConnected());
+            boolean[][] seen = new boolean[200][200];
+            for (int e = 0; e < generator.numEdges(); e++) {
+                int source = generator.edgeSource(e);
+                int target = generator.edgeTarget(e);
+                assertNotEquals(source, target);
+                assertFalse(seen[source][target]);
+                seen[source][target] = true;
+                assertTrue(generator.edgeWeight(e) >= 1 && generator.edgeWeight(e) <= 15);
+                if (bidirectional) {
+                    assertEquals(generator.edgeWeight(e), network.getEdgeWeight(target, source));
+                }
+            }
+            assertEquals(995, generator.numPairs());
+        }
+    }
+
+    @Test
+    void testNumberOfPairsIsExact() {
+        int[] sizes = {2, 3, 7, 50, 120};
+        double[] densities = {0, 0.1, 0.5, 0.99, 1};
+        for (int n : sizes) {
+            for (double density : densities) {
+                long wanted = Math.max(n - 1, (long) (density * n * (n - 1) / 2));
+                for (int seed = 0; seed < 5; seed++) {
+                    RandomNetworkGenerator generator = generate(n, seed % 2 == 0, density, seed);
+                    assertEquals(wanted, generator.numPairs());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testPairsAreChosenUniformly() {
+        int n = 40;
+        int bins = 4;
+        long total = n * (n - 1) / 2;
+        int[] connected = new int[bins];
+        int[] candidates = new int[bins];
+        for (int seed = 0; seed < 200; seed++) {
+            RandomNetworkGenerator generator = generate(n, true, 0.3, seed);
+            boolean[][] seen = new boolean[n][n];
+            for (int e = 0; e < generator.numEdges(); e++) {
+                seen[generator.edgeSource(e)][generator.edgeTarget(e)] = true;
+            }
+            int k = 0;
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++, k++) {
+                    int bin = (int) (k * bins / total);
+                    candidates[bin]++;
+                    if (seen[i][j]) {
+                        connected[bin]++;
+                    }
+                }
+            }
+        }
+        for (int bin = 0; bin < bins; bin++) {
+            assertEquals(0.3, (double) connected[bin] / candidates[bin], 0.02);
+        }
+    }
+
+    @Test
+    void testSameSeedGivesSameNetwork() {
+        RandomNetworkGenerator first = generate(500, false, 0.01, 7);
+        RandomNetworkGenerator second = generate(500, false, 0.01, 7);
+
+        assertEquals(first.numEdges(), second.numEdges());
+        for (int e = 0; e < first.numEdges(); e++) {
+            assertEquals(first.edgeSource(e), second.edgeSource(e));
+            assertEquals(first.edgeTarget(e), second.edgeTarget(e));
+            assertEquals(first.edgeWeight(e), second.edgeWeight(e));
+        }
+    }
+
+    @Test
+    void testParallelGenerationIsReproducible() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            for (boolean bidirectional : new boolean[]{true, false}) {
+                RandomNetworkGenerator first = new RandomNetworkGenerator(3000, bidirectional, 0.002);
+                RandomNetworkGenerator second = new RandomNetworkGenerator(3000, bidirectional, 0.002);
+                first.generateParallel(11, single);
+                second.generateParallel(11, several);
+
+                assertEquals(first.numEdges(), second.numEdges());
+                for (int e = 0; e < first.numEdges(); e++) {
+                    assertEquals(first.edgeSource(e), second.edgeSource(e));
+                    assertEquals(first.edgeTarget(e), second.edgeTarget(e));
+                    assertEquals(first.edgeWeight(e), second.edgeWeight(e));
+                }
+                assertTrue(Math.abs(first.numPairs() - 8997) < 500);
+                assertTrue(new StronglyConnectedComponents(first.toCompressedNetwork(vertices(3000))).isStronglyConnected());
+            }
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new RandomNetworkGenerator(-1, true, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new RandomNetworkGenerator(10, true, 1.5));
+        assertThrows(IllegalStateException.class, () -> new RandomNetworkGenerator(10, true, 0.5).numEdges());
+    }
+}
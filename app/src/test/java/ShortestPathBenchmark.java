@@ -0,0 +1,96 @@
+import Collections.Graphs.CSRNetwork;
+import Collections.Graphs.Heuristic;
+
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * Compares the point to point shortest path searches on a large road like grid. Not run by the test task,
+ * start it with {@code main}: the optional arguments are the grid side and the number of queries.
+ * <p>
+ * The one sided search is Dijkstra with an indexed heap (A* with the zero heuristic), which is what
+ * {@code iteratorShortestPath} used for fractional weights before the bidirectional search.
+ * </p>
+ */
+public class ShortestPathBenchmark {
+
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        Random random = new Random(42);
+
+        CSRNetwork<Integer> fractional = grid(side, random, false);
+        CSRNetwork<Integer> integer = grid(side, random, true);
+        int n = side * side;
+        int[] starts = new int[queries];
+        int[] targets = new int[queries];
+        for (int q = 0; q < queries; q++) {
+            starts[q] = random.nextInt(n);
+            targets[q] = random.nextInt(n);
+        }
+
+        // warm up the JIT and the cached reversed networks
+        run("warm up", fractional, starts, targets, false);
+        run("warm up", integer, starts, targets, false);
+
+        System.out.println(n + " vertices, " + fractional.numEdges() + " edges, " + queries + " queries");
+        run("one sided Dijkstra, fractional weights", fractional, starts, targets, true);
+        run("bidirectional Dijkstra, fractional weights", fractional, starts, targets, false);
+        run("one sided Dijkstra, integer weights", integer, starts, targets, true);
+        run("Dial bucket queue, integer weights", integer, starts, targets, false);
+    }
+
+    private static void run(String name, CSRNetwork<Integer> network, int[] starts, int[] targets, boolean oneSided) {
+        long checksum = 0;
+        long begin = System.nanoTime();
+        for (int q = 0; q < starts.length; q++) {
+            Iterator<Integer> path = oneSided
+                    ? network.iteratorAStarPath(starts[q], targets[q], Heuristic.ZERO)
+                    : network.iteratorShortestPath(starts[q], targets[q]);
+            while (path.hasNext()) {
+                checksum += path.next();
+            }
+        }
+        long elapsed = System.nanoTime() - begin;
+        if (!name.equals("warm up")) {
+            System.out.printf("%-45s %8.2f ms/query (checksum %d)%n", name, elapsed / 1e6 / starts.length, checksum);
+        }
+    }
+
+    private static CSRNetwork<Integer> grid(int side, Random random, boolean integerWeights) {
+        int n = side * side;
+        Integer[] vertices = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            vertices[i] = i;
+        }
+        int m = 4 * side * (side - 1);
+        int[] sources = new int[m];
+        int[] destinations = new int[m];
+        double[] weights = new double[m];
+        int e = 0;
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int v = r * side + c;
+                if (c + 1 < side) {
+                    double weight = integerWeights ? 1 + random.nextInt(15) : 1 + random.nextDouble() * 14;
+                    e = addBoth(sources, destinations, weights, e, v, v + 1, weight);
+                }
+                if (r + 1 < side) {
+                    double weight = integerWeights ? 1 + random.nextInt(15) : 1 + random.nextDouble() * 14;
+                    e = addBoth(sources, destinations, weights, e, v, v + side, weight);
+                }
+            }
+        }
+        return new CSRNetwork<>(vertices, sources, destinations, weights);
+    }
+
+    private static int addBoth(int[] sources, int[] destinations, double[] weights, int e, int u, int v, double weight) {
+        sources[e] = u;
+        destinations[e] = v;
+        weights[e] = weight;
+        sources[e + 1] = v;
+        destinations[e + 1] = u;
+        weights[e + 1] = weight;
+        return e + 2;
+    }
+}
@@ -0,0 +1,101 @@
+import Enums.MoveType;
+import capturetheflag.Local;
+import capturetheflag.Map;
+import capturetheflag.StrategyStats;
+import capturetheflag.Tournament;
+import capturetheflag.TournamentResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentTest {
+
+    @Test
+    void testEveryPairingIsPlayed() {
+        Map map = new Map(30, true, 0.3);
+        MoveType[] moveTypes = {MoveType.DIJSKTRA, MoveType.DISTANCE_FIELD, MoveType.RANDOM_PATH};
+        Tournament tournament = new Tournament(map::copy, moveTypes, 3, 4);
+        tournament.setParallelism(2);
+
+        TournamentResult result = tournament.run();
+
+        assertEquals(3 * 2 * 4, result.getGames());
+        int wins = 0;
+        int losses = 0;
+        for (MoveType moveType : moveTypes) {
+            StrategyStats stats = result.getStats(moveType);
+            assertEquals(2 * 2 * 4, stats.getGames());
+            assertEquals(stats.getGames(), stats.getWins() + stats.getLosses() + stats.getDraws());
+            assertTrue(stats.getAverageRounds() >= 1);
+            wins += stats.getWins();
+            losses += stats.getLosses();
+        }
+        assertEquals(wins, losses);
+        assertNull(result.getStats(MoveType.LONGEST_PATH));
+    }
+
+    @Test
+    void testShortestPathBeatsLongestPath() {
+        Map map = new Map(40, true, 0.2, 7L);
+        Tournament tournament = new Tournament(map::copy,
+                new MoveType[]{MoveType.DIJSKTRA, MoveType.LONGEST_PATH}, 3, 5);
+        tournament.setSeed(7);
+
+        TournamentResult result = tournament.run();
+
+        StrategyStats shortest = result.getStats(MoveType.DIJSKTRA);
+        StrategyStats longest = result.getStats(MoveType.LONGEST_PATH);
+        assertTrue(shortest.getWins() >= longest.getWins());
+        assertTrue(shortest.getAveragePathLength() <= longest.getAveragePathLength());
+    }
+
+    @Test
+    void testCopyHasNewLocationsAndSameEdges() {
+        Map map = new Map(20, true, 0.5);
+        Map copy = map.copy();
+
+        assertEquals(map.size(), copy.size());
+        assertEquals(map.isBidirectional(), copy.isBidirectional());
+        assertEquals(map.isSymmetric(), copy.isSymmetric());
+        assertEquals(map.getNumEdges(), copy.getNumEdges());
+        for (int i = 0; i < map.size(); i++) {
+            Local local = map.getLocal(i);
+            assertNotSame(local, copy.getLocal(i));
+            assertEquals(local.getId(), copy.getLocal(i).getId());
+            assertEquals(map.shortestPathWeight(0, i), copy.shortestPathWeight(0, i));
+        }
+    }
+
+    @Test
+    void testSameSeedGivesSameResults() {
+        Map map = new Map(30, true, 0.3);
+        MoveType[] moveTypes = {MoveType.RANDOM_PATH, MoveType.DIJSKTRA, MoveType.LONGEST_PATH};
+        TournamentResult[] results = new TournamentResult[2];
+        for (int run = 0; run < 2; run++) {
+            Tournament tournament = new Tournament(map::copy, moveTypes, 3, 5);
+            tournament.setSeed(42);
+            tournament.setParallelism(run + 1);
+            results[run] = tournament.run();
+        }
+
+        for (MoveType moveType : moveTypes) {
+            StrategyStats first = results[0].getStats(moveType);
+            StrategyStats second = results[1].getStats(moveType);
+            assertEquals(first.getWins(), second.getWins());
+            assertEquals(first.getLosses(), second.getLosses());
+            assertEquals(first.getAverageRounds(), second.getAverageRounds());
+            assertEquals(first.getAveragePathLength(), second.getAveragePathLength());
+        }
+    }
+
+    @Test
+    void testInvalidTournamentsAreRejected() {
+        Map map = new Map(10, true, 1);
+        assertThrows(IllegalArgumentException.class,
+                () -> new Tournament(map::copy, new MoveType[]{MoveType.DIJSKTRA}, 3, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Tournament(map::copy, new MoveType[]{MoveType.ASTAR, MoveType.ASTAR}, 3, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Tournament(null, new MoveType[]{MoveType.ASTAR, MoveType.DIJSKTRA}, 3, 1));
+    }
+}
@@ -0,0 +1,154 @@
+import Collections.Graphs.Network;
+import Collections.Graphs.WeightMatrix;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeightMatrixTest {
+
+    @Test
+    void testSmallWeightsUseOneByte() {
+        WeightMatrix matrix = WeightMatrix.create(4);
+        assertEquals(1, matrix.getWeightBytes());
+        assertSame(matrix, matrix.fitting(0));
+        assertSame(matrix, matrix.fitting(254));
+        assertSame(matrix, matrix.fitting(Double.POSITIVE_INFINITY));
+
+        matrix.set(0, 1, 15);
+        matrix.set(1, 0, 0);
+        matrix.set(2, 3, Double.POSITIVE_INFINITY);
+        assertEquals(15, matrix.get(0, 1));
+        assertEquals(0, matrix.get(1, 0));
+        assertTrue(matrix.hasEdge(1, 0));
+        assertEquals(Double.POSITIVE_INFINITY, matrix.get(2, 3));
+        assertFalse(matrix.hasEdge(2, 3));
+    }
+
+    @Test
+    void testMatrixWidensAndKeepsWeights() {
+        WeightMatrix matrix = WeightMatrix.create(3);
+        matrix.set(0, 1, 7);
+        matrix.set(1, 2, Double.POSITIVE_INFINITY);
+
+        matrix = matrix.fitting(1000);
+        assertEquals(2, matrix.getWeightBytes());
+        matrix.set(2, 0, 1000);
+        assertEquals(7, matrix.get(0, 1));
+        assertFalse(matrix.hasEdge(1, 2));
+
+        matrix = matrix.fitting(2.5);
+        assertEquals(8, matrix.getWeightBytes());
+        matrix.set(0, 2, 2.5);
+        assertEquals(7, matrix.get(0, 1));
+        assertEquals(1000, matrix.get(2, 0));
+        assertEquals(2.5, matrix.get(0, 2));
+        assertFalse(matrix.hasEdge(1, 2));
+
+        assertEquals(8, WeightMatrix.create(2).fitting(-1).getWeightBytes());
+        assertEquals(8, WeightMatrix.create(2).fitting(70000).getWeightBytes());
+    }
+
+    @Test
+    void testResizeKeepsTypeAndWeights() {
+        WeightMatrix matrix = WeightMatrix.create(2).fitting(300);
+        matrix.set(0, 1, 300);
+        matrix.set(1, 0, Double.POSITIVE_INFINITY);
+        WeightMatrix larger = matrix.resize(8, 2);
+        assertEquals(8, larger.getCapacity());
+        assertEquals(2, larger.getWeightBytes());
+        assertEquals(300, larger.get(0, 1));
+        assertFalse(larger.hasEdge(1, 0));
+    }
+
+    @Test
+    void testNetworkWidensOnlyWhenNeeded() {
+        Network<String> network = new Network<>();
+        for (int i = 0; i < 30; i++) {
+            network.addVertex("v" + i);
+        }
+        for (int i = 0; i < 29; i++) {
+            network.addEdge(i, i + 1, i % 16);
+        }
+        assertEquals(1, network.getWeightBytes());
+        assertEquals(198, network.shortestPathWeight(0, 29));
+
+        network.addEdge(0, 29, 0.5);
+        assertEquals(8, network.getWeightBytes());
+        assertEquals(0.5, network.shortestPathWeight(0, 29));
+        assertEquals(14, network.getCompressedNetwork().getEdgeWeight(14, 15));
+
+        network.removeVertex(3);
+        assertEquals(29, network.size());
+        assertEquals(4, network.getCompressedNetwork().getEdgeWeight(3, 4));
+        assertEquals(Double.POSITIVE_INFINITY, network.getCompressedNetwork().getEdgeWeight(2, 3));
+    }
+
+    @Test
+    void testSymmetricNetworkKeepsOneWeightPerPair() {
+        Network<String> network = new Network<>();
+        for (int i = 0; i < 12; i++) {
+            network.addVertex("v" + i);
+        }
+        network.addEdge(0, 1, 3);
+        network.addEdge(1, 0, 3);
+        network.setSymmetric(true);
+        assertTrue(network.isSymmetric());
+
+        network.addEdge(5, 2, 7);
+        network.addEdge(11, 11, 1);
+        for (int i = 12; i < 40; i++) {
+            network.addVertex("v" + i);
+            network.addEdge(i - 1, i, i);
+        }
+        assertEquals(7, network.getCompressedNetwork().getEdgeWeight(2, 5));
+        assertEquals(7, network.getCompressedNetwork().getEdgeWeight(5, 2));
+        assertEquals(3, network.getCompressedNetwork().getEdgeWeight(1, 0));
+        assertEquals(1, network.getCompressedNetwork().getEdgeWeight(11, 11));
+        assertEquals(39, network.getCompressedNetwork().getEdgeWeight(39, 38));
+
+        network.addEdge(20, 21, 1000.5);
+        assertEquals(8, network.getWeightBytes());
+        assertTrue(network.isSymmetric());
+        assertEquals(1000.5, network.getCompressedNetwork().getEdgeWeight(21, 20));
+        assertEquals(3, network.getCompressedNetwork().getEdgeWeight(0, 1));
+    }
+
+    @Test
+    void testRemoveVertexMatchesBothLayouts() {
+        Network<String> full = new Network<>();
+        Network<String> packed = new Network<>();
+        packed.setSymmetric(true);
+        for (int i = 0; i < 15; i++) {
+            full.addVertex("v" + i);
+            packed.addVertex("v" + i);
+        }
+        for (int i = 0; i < 15; i++) {
+            for (int j = 0; j < i; j += 3) {
+                full.addEdge(i, j, i + j);
+                full.addEdge(j, i, i + j);
+                packed.addEdge(i, j, i + j);
+            }
+        }
+        full.removeVertex(4);
+        packed.removeVertex(4);
+        for (int i = 0; i < 14; i++) {
+            for (int j = 0; j < 14; j++) {
+                assertEquals(full.getCompressedNetwork().getEdgeWeight(i, j), packed.getCompressedNetwork().getEdgeWeight(i, j));
+            }
+        }
+        full.setSymmetric(true);
+        assertTrue(full.isSymmetric());
+        packed.setSymmetric(false);
+        assertEquals(full.getCompressedNetwork().numEdges(), packed.getCompressedNetwork().numEdges());
+    }
+
+    @Test
+    void testAsymmetricNetworkCannotBeSymmetric() {
+        Network<String> network = new Network<>();
+        network.addVertex("a");
+        network.addVertex("b");
+        network.addEdge(0, 1, 2);
+        assertThrows(IllegalStateException.class, () -> network.setSymmetric(true));
+        assertFalse(network.isSymmetric());
+    }
+}